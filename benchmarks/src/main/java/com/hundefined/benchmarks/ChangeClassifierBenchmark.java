@@ -0,0 +1,66 @@
+package com.hundefined.benchmarks;
+
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.StatChange;
+import com.hundefined.services.StatChangeParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying every labelled change once, with the old regex classifier and the polarity table.
+ *
+ * tableClassifier is the production path: the extractor has already parsed the stat changes,
+ * and the classifier skips the lines they came from by their line index without scanning any
+ * text for numbers. tableClassifierWithParse also pays for that parse, for a like-for-like
+ * comparison with the regex classifier, which reads the numbers out of the text itself.
+ * Accuracy on the same fixtures is reported by ClassifierAccuracy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChangeClassifierBenchmark {
+
+    private List<PatchFixtures.LabelledChange> changes;
+    private List<List<StatChange>> stats;
+
+    private final LegacyChangeClassifier legacyClassifier = new LegacyChangeClassifier();
+    private final ChangeClassifier tableClassifier = new ChangeClassifier();
+
+    @Setup
+    public void setUp() {
+        changes = PatchFixtures.labelledChanges();
+        stats = new ArrayList<>(changes.size());
+        for (PatchFixtures.LabelledChange change : changes) {
+            stats.add(StatChangeParser.parseAll(change.name, change.lines));
+        }
+    }
+
+    @Benchmark
+    public void legacyClassifier(Blackhole bh) {
+        for (PatchFixtures.LabelledChange change : changes) {
+            bh.consume(legacyClassifier.classify(change.name, change.lines));
+        }
+    }
+
+    @Benchmark
+    public void tableClassifier(Blackhole bh) {
+        for (int i = 0; i < changes.size(); i++) {
+            PatchFixtures.LabelledChange change = changes.get(i);
+            bh.consume(tableClassifier.classify(change.lines, stats.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void tableClassifierWithParse(Blackhole bh) {
+        for (PatchFixtures.LabelledChange change : changes) {
+            bh.consume(tableClassifier.classify(change.lines, StatChangeParser.parseAll(change.name, change.lines)));
+        }
+    }
+}
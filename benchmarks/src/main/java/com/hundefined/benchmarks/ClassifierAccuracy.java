@@ -0,0 +1,53 @@
+package com.hundefined.benchmarks;
+
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.StatChangeParser;
+
+import java.util.List;
+
+/**
+ * Scores the old regex classifier and the polarity-table classifier against the hand-labelled
+ * changes in {@code fixtures/classifier-labels.json} and lists every change either gets wrong.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.hundefined.benchmarks.ClassifierAccuracy
+ * </pre>
+ * Exits with 1 when the table classifier is less accurate than the old one.
+ */
+public class ClassifierAccuracy {
+
+    public static void main(String[] args) {
+        List<PatchFixtures.LabelledChange> changes = PatchFixtures.labelledChanges();
+        LegacyChangeClassifier legacyClassifier = new LegacyChangeClassifier();
+        ChangeClassifier tableClassifier = new ChangeClassifier();
+
+        int legacyCorrect = 0;
+        int tableCorrect = 0;
+        System.out.printf("%-22s %-11s %-11s %-11s%n", "change", "expected", "legacy", "table");
+        for (PatchFixtures.LabelledChange change : changes) {
+            String legacy = legacyClassifier.classify(change.name, change.lines);
+            String table = tableClassifier.classify(change.lines,
+                    StatChangeParser.parseAll(change.name, change.lines));
+
+            if (legacy.equals(change.expected)) legacyCorrect++;
+            if (table.equals(change.expected)) tableCorrect++;
+            if (!legacy.equals(change.expected) || !table.equals(change.expected)) {
+                System.out.printf("%-22s %-11s %-11s %-11s%n", change.name, change.expected,
+                        mark(legacy, change.expected), mark(table, change.expected));
+            }
+        }
+
+        System.out.printf("%nlegacy: %d/%d correct (%.1f%%)%n", legacyCorrect, changes.size(),
+                100.0 * legacyCorrect / changes.size());
+        System.out.printf("table:  %d/%d correct (%.1f%%)%n", tableCorrect, changes.size(),
+                100.0 * tableCorrect / changes.size());
+
+        if (tableCorrect < legacyCorrect) {
+            System.exit(1);
+        }
+    }
+
+    private static String mark(String actual, String expected) {
+        return actual.equals(expected) ? actual : actual + "*";
+    }
+}
@@ -0,0 +1,98 @@
+package com.hundefined.benchmarks;
+
+import com.hundefined.services.BugFixExtractor;
+import com.hundefined.services.ChampionExtractor;
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.ItemExtractor;
+import com.hundefined.services.PatchDocument;
+import com.hundefined.services.RiotApiService;
+import com.hundefined.services.StreamingPages;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hot parse path of a patch page, one stage per benchmark, over the bundled fixtures.
+ *
+ * Throughput and sampled latency (p50/p90/p99 in the SampleTime rows) are reported by
+ * default; add {@code -prof gc} for allocation per operation:
+ * <pre>java -jar benchmarks/target/benchmarks.jar ExtractionBenchmark -prof gc</pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtractionBenchmark {
+
+    @Param({PatchFixtures.SMALL, PatchFixtures.TYPICAL, PatchFixtures.LARGE})
+    public String fixture;
+
+    private String html;
+    private PatchDocument patchDoc;
+    private List<ChampionExtractor.ChampionChange> championChanges;
+
+    private final ChampionExtractor championExtractor = new ChampionExtractor();
+    private final ItemExtractor itemExtractor = new ItemExtractor();
+    private final BugFixExtractor bugFixExtractor = new BugFixExtractor();
+    private final ChangeClassifier changeClassifier = new ChangeClassifier();
+    private RiotApiService riotApi;
+
+    @Setup
+    public void setUp() {
+        html = PatchFixtures.load(fixture);
+        patchDoc = PatchDocument.index(Jsoup.parse(html, PatchFixtures.baseUri(fixture)));
+        championChanges = championExtractor.extractChampionChanges(patchDoc);
+        riotApi = RiotApiService.getInstance();
+    }
+
+    // Parsing and indexing are paid once per page; every extractor below shares the result
+    @Benchmark
+    public PatchDocument parseAndIndex() {
+        Document doc = Jsoup.parse(html, PatchFixtures.baseUri(fixture));
+        return PatchDocument.index(doc);
+    }
+
+    // The production path: stream-parse only up to the end of the notes container
+    @Benchmark
+    public PatchDocument streamAndIndex() throws IOException {
+        Document doc = StreamingPages.parsePatchNotes(new StringReader(html), PatchFixtures.baseUri(fixture));
+        return PatchDocument.index(doc);
+    }
+
+    @Benchmark
+    public List<ChampionExtractor.ChampionChange> championChanges() {
+        return championExtractor.extractChampionChanges(patchDoc);
+    }
+
+    @Benchmark
+    public List<ItemExtractor.ItemChange> itemChanges() {
+        return itemExtractor.extractItemChanges(patchDoc);
+    }
+
+    @Benchmark
+    public List<String> bugFixes() {
+        return bugFixExtractor.extractBugFixes(patchDoc);
+    }
+
+    @Benchmark
+    public void overviewAndSystemChanges(Blackhole bh) {
+        bh.consume(riotApi.extractOverview(patchDoc));
+        bh.consume(riotApi.extractSystemChanges(patchDoc));
+    }
+
+    // What /latestpatch does per champion when rendering the summary
+    @Benchmark
+    public void classifyChampions(Blackhole bh) {
+        for (ChampionExtractor.ChampionChange change : championChanges) {
+            bh.consume(changeClassifier.classify(change.changes, change.stats));
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.hundefined.benchmarks;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The buff/nerf classifier as it was before the polarity table: the change lines joined,
+ * lowercased and scanned by one regex per stat family, with Double.parseDouble per value.
+ * Kept only as the baseline for ChangeClassifierBenchmark and ClassifierAccuracy.
+ */
+class LegacyChangeClassifier {
+    static final String BUFF = "BUFF";
+    static final String NERF = "NERF";
+    static final String ADJUSTMENT = "ADJUSTMENT";
+
+    private static final Pattern VALUE_ARROW = Pattern.compile(
+            "(\\d+(?:\\.\\d+|/\\d+)*)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+|/\\d+)*)");
+    private static final Pattern SIMPLE_NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?");
+    private static final Pattern SLASH = Pattern.compile("/");
+    private static final Pattern DAMAGE_CHANGE = Pattern.compile(
+            "damage.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern COOLDOWN_CHANGE = Pattern.compile(
+            "cooldown.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern RANGE_CHANGE = Pattern.compile(
+            "range.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern BASE_STAT_CHANGE = Pattern.compile(
+            "(base\\s+(?:ad|ap|health|hp|armor|mr|magic\\s+resist)).*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern COST_CHANGE = Pattern.compile(
+            "(?:mana\\s+)?cost.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern DURATION_CHANGE = Pattern.compile(
+            "(?:shield|heal|duration).*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
+
+    // Developer intent behind a change (applied to lowercased reasoning text)
+    private static final Pattern REASONING_BUFF = Pattern.compile(
+            "weak|underperform|struggling|needs.*help|buff|strengthen");
+    private static final Pattern REASONING_NERF = Pattern.compile(
+            "strong|overperform|dominat|nerf|too.*powerful|oppressive");
+    private static final Pattern REASONING_INDICATORS = Pattern.compile(
+            "is|has|we|this|currently|perform|weak|strong|domina|overpow|underpow|struggling|too|very|quite|" +
+                    "rather|fairly|popular|unpopular|missing|absent|statistically|pro play|regular play|" +
+                    "high mmr|low mmr|coordinated|teams");
+
+    String classify(String name, List<String> changes) {
+        if (changes == null || changes.isEmpty()) return ADJUSTMENT;
+
+        String allChanges = String.join(" ", changes).toLowerCase();
+
+        // Detailed analysis for better classification
+        int buffScore = 0;
+        int nerfScore = 0;
+
+        // 1. Look for explicit buff/nerf language (highest priority)
+        if (allChanges.contains("buff")) buffScore += 3;
+        if (allChanges.contains("nerf")) nerfScore += 3;
+
+        // 2. Analyze stat arrows for direction of change
+        Matcher matcher = VALUE_ARROW.matcher(allChanges);
+
+        while (matcher.find()) {
+            String oldValueStr = matcher.group(1);
+            String newValueStr = matcher.group(2);
+
+            try {
+                // Handle simple numbers (like "68 → 63")
+                if (SIMPLE_NUMBER.matcher(oldValueStr).matches() &&
+                        SIMPLE_NUMBER.matcher(newValueStr).matches()) {
+                    double oldValue = Double.parseDouble(oldValueStr);
+                    double newValue = Double.parseDouble(newValueStr);
+
+                    if (newValue > oldValue) {
+                        buffScore += 2;
+                    } else if (newValue < oldValue) {
+                        nerfScore += 2;
+                    }
+                }
+                // Handle ability scalings (like "55/80/105/130/155 → 50/75/100/125/150")
+                else if (oldValueStr.contains("/") && newValueStr.contains("/")) {
+                    String[] oldValues = SLASH.split(oldValueStr);
+                    String[] newValues = SLASH.split(newValueStr);
+
+                    if (oldValues.length == newValues.length) {
+                        int increases = 0;
+                        int decreases = 0;
+
+                        for (int i = 0; i < oldValues.length; i++) {
+                            try {
+                                double oldVal = Double.parseDouble(oldValues[i].trim());
+                                double newVal = Double.parseDouble(newValues[i].trim());
+
+                                if (newVal > oldVal) increases++;
+                                else if (newVal < oldVal) decreases++;
+                            } catch (NumberFormatException e) {
+                                // Skip non-numeric values
+                            }
+                        }
+
+                        if (increases > decreases) {
+                            buffScore += 2;
+                        } else if (decreases > increases) {
+                            nerfScore += 2;
+                        }
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // Skip if we can't parse the numbers
+            }
+        }
+
+        // 3. Look for positive/negative change language
+        String[] positiveWords = {"increase", "increased", "improve", "improved", "enhance", "enhanced",
+                "boost", "boosted", "strengthen", "strengthened", "raise", "raised", "higher"};
+        String[] negativeWords = {"decrease", "decreased", "reduce", "reduced", "lower", "lowered",
+                "weaken", "weakened", "nerf", "nerfed", "diminish", "diminished"};
+
+        for (String word : positiveWords) {
+            if (allChanges.contains(word)) buffScore += 1;
+        }
+
+        for (String word : negativeWords) {
+            if (allChanges.contains(word)) nerfScore += 1;
+        }
+
+        // 4. Context-based analysis for specific stat types
+        // Damage increases are usually buffs
+        Matcher damageMatcher = DAMAGE_CHANGE.matcher(allChanges);
+        if (damageMatcher.find()) {
+            try {
+                double oldDmg = Double.parseDouble(damageMatcher.group(1));
+                double newDmg = Double.parseDouble(damageMatcher.group(2));
+
+                if (newDmg > oldDmg) {
+                    buffScore += 2; // Damage increase is usually a buff
+                } else if (newDmg < oldDmg) {
+                    nerfScore += 2; // Damage decrease is usually a nerf
+                }
+            } catch (NumberFormatException e) {
+                // Skip if parsing fails
+            }
+        }
+
+        // 5. Cooldown analysis (cooldown decreases are buffs, increases are nerfs)
+        Matcher cooldownMatcher = COOLDOWN_CHANGE.matcher(allChanges);
+        if (cooldownMatcher.find()) {
+            try {
+                double oldCd = Double.parseDouble(cooldownMatcher.group(1));
+                double newCd = Double.parseDouble(cooldownMatcher.group(2));
+
+                if (newCd < oldCd) {
+                    buffScore += 2; // Cooldown reduction is a buff
+                } else if (newCd > oldCd) {
+                    nerfScore += 2; // Cooldown increase is a nerf
+                }
+            } catch (NumberFormatException e) {
+                // Skip if parsing fails
+            }
+        }
+
+        // 6. Range analysis (range increases are usually buffs)
+        Matcher rangeMatcher = RANGE_CHANGE.matcher(allChanges);
+        if (rangeMatcher.find()) {
+            try {
+                double oldRange = Double.parseDouble(rangeMatcher.group(1));
+                double newRange = Double.parseDouble(rangeMatcher.group(2));
+
+                if (newRange > oldRange) {
+                    buffScore += 1; // Range increase is usually a buff
+                } else if (newRange < oldRange) {
+                    nerfScore += 1; // Range decrease is usually a nerf
+                }
+            } catch (NumberFormatException e) {
+                // Skip if parsing fails
+            }
+        }
+
+        // 7. Base stat analysis (health, AD, AP, armor, MR increases are usually buffs)
+        Matcher baseStatMatcher = BASE_STAT_CHANGE.matcher(allChanges);
+        while (baseStatMatcher.find()) {
+            try {
+                double oldStat = Double.parseDouble(baseStatMatcher.group(2));
+                double newStat = Double.parseDouble(baseStatMatcher.group(3));
+
+                if (newStat > oldStat) {
+                    buffScore += 2; // Base stat increase is usually a buff
+                } else if (newStat < oldStat) {
+                    nerfScore += 2; // Base stat decrease is usually a nerf
+                }
+            } catch (NumberFormatException e) {
+                // Skip if parsing fails
+            }
+        }
+
+        // 8. Cost analysis (mana cost decreases are buffs, increases are nerfs)
+        Matcher costMatcher = COST_CHANGE.matcher(allChanges);
+        if (costMatcher.find()) {
+            try {
+                double oldCost = Double.parseDouble(costMatcher.group(1));
+                double newCost = Double.parseDouble(costMatcher.group(2));
+
+                if (newCost < oldCost) {
+                    buffScore += 1; // Cost reduction is a buff
+                } else if (newCost > oldCost) {
+                    nerfScore += 1; // Cost increase is a nerf
+                }
+            } catch (NumberFormatException e) {
+                // Skip if parsing fails
+            }
+        }
+
+        // 9. Duration analysis for beneficial effects (shield, heal, buff durations)
+        Matcher durationMatcher = DURATION_CHANGE.matcher(allChanges);
+        if (durationMatcher.find() &&
+                !allChanges.contains("cooldown")) { // Exclude cooldown durations
+            try {
+                double oldDuration = Double.parseDouble(durationMatcher.group(1));
+                double newDuration = Double.parseDouble(durationMatcher.group(2));
+
+                if (newDuration > oldDuration) {
+                    buffScore += 1; // Longer beneficial effect is usually a buff
+                } else if (newDuration < oldDuration) {
+                    nerfScore += 1; // Shorter beneficial effect is usually a nerf
+                }
+            } catch (NumberFormatException e) {
+                // Skip if parsing fails
+            }
+        }
+
+        // 10. Champion-specific context analysis
+        // Look for champion reasoning text that might indicate intent
+        String championReasoning = getChampionReasoningText(name, changes);
+        if (!championReasoning.isEmpty()) {
+            String reasoning = championReasoning.toLowerCase();
+
+            // Positive reasoning indicators
+            if (REASONING_BUFF.matcher(reasoning).find()) {
+                buffScore += 2;
+            }
+            // Negative reasoning indicators
+            if (REASONING_NERF.matcher(reasoning).find()) {
+                nerfScore += 2;
+            }
+            // Power-neutral indicators (adjust, rework, clarity, quality of life) add to neither score
+        }
+
+        // 11. Final scoring with thresholds
+        int scoreDifference = buffScore - nerfScore;
+
+        // Use a threshold system for more accurate classification
+        if (scoreDifference >= 3) {
+            return BUFF;
+        } else if (scoreDifference <= -3) {
+            return NERF;
+        } else if (Math.abs(scoreDifference) <= 2 && (buffScore > 0 || nerfScore > 0)) {
+            return ADJUSTMENT; // Minor changes or mixed changes
+        } else {
+            return ADJUSTMENT; // No clear direction
+        }
+    }
+
+    /**
+     * Extract champion reasoning text (usually the first change that explains why changes were made)
+     */
+    private String getChampionReasoningText(String name, List<String> changes) {
+        if (changes.isEmpty()) return "";
+
+        // Filter out Veigar Doom game mode references
+        if ("Veigar".equalsIgnoreCase(name)) {
+            for (String change : changes) {
+                if (change.toLowerCase().contains("veigar's doom") ||
+                        change.toLowerCase().contains("veigar doom") ||
+                        change.toLowerCase().contains("doom bots") ||
+                        change.toLowerCase().contains("trial of doom")) {
+                    continue; // Skip game mode related content
+                }
+
+                // Return the first non-game mode change as reasoning
+                if (change.length() > 50 && containsReasoningIndicators(change)) {
+                    return change.toLowerCase();
+                }
+            }
+        }
+
+        // For other champions, look for the reasoning text
+        for (String change : changes) {
+            String lowerChange = change.toLowerCase();
+
+            // Check if it looks like reasoning text (longer, contains explanation words)
+            if (containsReasoningIndicators(change)) {
+                return lowerChange;
+            }
+        }
+
+        return "";
+    }
+
+    /**
+     * Check if a change text contains reasoning indicators
+     */
+    private boolean containsReasoningIndicators(String change) {
+        if (change.length() < 50) return false;
+
+        String lowerChange = change.toLowerCase();
+
+        // Look for reasoning patterns commonly used in patch notes
+        return REASONING_INDICATORS.matcher(lowerChange).find();
+    }
+}
@@ -0,0 +1,60 @@
+package com.hundefined.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Patch note pages bundled under {@code fixtures/} on the benchmark classpath.
+ *
+ * The pages are written in the markup of the live patch notes (champion h3 blocks with
+ * ability h4 and stat lists, item blocks linking to /items/, a bugfix list) at three sizes,
+ * so results can be compared across a small, typical and large patch.
+ *
+ * {@code fixtures/classifier-labels.json} holds champion and item changes written like the
+ * extractor's output, each labelled BUFF, NERF or ADJUSTMENT by hand.
+ */
+public final class PatchFixtures {
+    public static final String SMALL = "patch-25-17";
+    public static final String TYPICAL = "patch-25-18";
+    public static final String LARGE = "patch-25-19";
+
+    private PatchFixtures() {
+    }
+
+    public static String load(String name) {
+        return loadResource("/fixtures/" + name + ".html");
+    }
+
+    public static List<LabelledChange> labelledChanges() {
+        return new Gson().fromJson(loadResource("/fixtures/classifier-labels.json"),
+                new TypeToken<List<LabelledChange>>() {}.getType());
+    }
+
+    private static String loadResource(String resource) {
+        try (InputStream in = PatchFixtures.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + resource, e);
+        }
+    }
+
+    /** Base URI of the live page the fixture stands in for, so relative links resolve the same way */
+    public static String baseUri(String name) {
+        return "https://www.leagueoflegends.com/en-us/news/game-updates/" + name + "-notes/";
+    }
+
+    public static class LabelledChange {
+        public String name;
+        public String expected;
+        public List<String> lines;
+    }
+}
@@ -0,0 +1,139 @@
+package com.hundefined.benchmarks;
+
+import com.hundefined.services.PatchPatterns;
+import com.hundefined.services.StatChange;
+import com.hundefined.services.StatChangeParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-document cost of the regex work the extractors and classifier do, comparing the old
+ * inline String.matches / Pattern.compile calls with the shared PatchPatterns registry.
+ *
+ * The champion* pair isolates building the three roster patterns once per document;
+ * the sentenceChecks* pair runs the same per-sentence validation checks over one document,
+ * as String.matches calls and as the precompiled patterns the extractors use;
+ * the statValues* pair reads the per-rank values of every stat arrow.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatchPatternsBenchmark {
+
+    private static final String[] SAMPLE_SENTENCES = {
+            "Q - Sonic Wave Damage: 55/80/105/130/155 → 50/75/100/125/150",
+            "Base AD: 68 → 63",
+            "We're toning down Lee Sin's early game since he has been dominating pro play for several patches",
+            "W - Cooldown: 14/13/12/11/10 seconds ⇒ 12/11.5/11/10.5/10 seconds",
+            "Passive - Shield: 40-200 (based on level) → 50-220 (based on level)",
+            "Mana cost increased from 50 to 60 at all ranks",
+            "Fixed a bug where Seraphine's Encore would not knockup targets hit at the edge of its range",
+            "Ability Haste: 20 ⇒ 15",
+            "Health Regen: 8 → 9",
+            "This item has been performing a little too well in the hands of bruisers",
+            "R - Range: 1000 → 1200",
+            "Healing done to allies reduced by 10%",
+            "Attack damage growth increased",
+            "Magic Resist: 32 ⇒ 30"
+    };
+
+    private static final Pattern VALUE_ARROW = Pattern.compile(
+            "(\\d+(?:\\.\\d+|/\\d+)*)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+|/\\d+)*)");
+
+    @Param({"400"})
+    public int sentencesPerDocument;
+
+    private List<String> document;
+    private final String statLine = "Lee Sin Base AD: 68 → 63";
+
+    @Setup
+    public void setUp() {
+        document = new ArrayList<>(sentencesPerDocument);
+        for (int i = 0; i < sentencesPerDocument; i++) {
+            document.add(SAMPLE_SENTENCES[i % SAMPLE_SENTENCES.length]);
+        }
+    }
+
+    @Benchmark
+    public void championPatternsInline(Blackhole bh) {
+        // The stat-focused strategy rebuilt and compiled the roster alternation three times per document
+        bh.consume(Pattern.compile("(" + PatchPatterns.CHAMPION_ALTERNATION + ")\\s+(?:Base\\s+)?([A-Za-z\\s]+?)\\s*:?\\s*(\\d+(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+)?)",
+                Pattern.CASE_INSENSITIVE | Pattern.MULTILINE).matcher(statLine).find());
+        bh.consume(Pattern.compile("(" + PatchPatterns.CHAMPION_ALTERNATION + ")\\s+([QWER]|Passive)\\s*[-–—:]+\\s*([^\\n]+?)\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)",
+                Pattern.CASE_INSENSITIVE | Pattern.MULTILINE).matcher(statLine).find());
+        bh.consume(Pattern.compile("(" + PatchPatterns.CHAMPION_ALTERNATION + ")\\s+([A-Za-z\\s]+?)\\s*(increased|decreased|reduced|improved|lowered|raised)\\s+(?:from\\s+)?(\\d+(?:\\.\\d+)?)\\s*(?:to\\s+)?(\\d+(?:\\.\\d+)?)",
+                Pattern.CASE_INSENSITIVE | Pattern.MULTILINE).matcher(statLine).find());
+    }
+
+    @Benchmark
+    public void championPatternsShared(Blackhole bh) {
+        bh.consume(PatchPatterns.CHAMPION_STAT_ARROW.matcher(statLine).find());
+        bh.consume(PatchPatterns.CHAMPION_ABILITY_STAT.matcher(statLine).find());
+        bh.consume(PatchPatterns.CHAMPION_STAT_CHANGE.matcher(statLine).find());
+    }
+
+    @Benchmark
+    public void sentenceChecksInline(Blackhole bh) {
+        for (String sentence : document) {
+            String lower = sentence.toLowerCase();
+            bh.consume(lower.matches(".*\\b[qwer]\\s*[-–—:].*"));
+            bh.consume(lower.matches(".*base\\s+(stats?|ad|ap|health|hp|armor|mr|damage).*"));
+            bh.consume(lower.matches(".*\\d+.*⇒.*\\d+.*") || lower.matches(".*\\d+.*→.*\\d+.*"));
+            bh.consume(lower.matches(".*(damage|cooldown|range|cost|health|mana|shield|heal).*:.*\\d+.*"));
+            bh.consume(lower.matches(".*(buff|nerf|increas|decreas|improv|adjust|reduc|strengthen|weaken).*"));
+            bh.consume(lower.matches(".*(damage|heal|shield|cooldown|range|mana|cost|health|armor).*\\d+.*"));
+            bh.consume(sentence.matches(".*(Damage|Cooldown|Heal|Range|Cost|CD|Health|Shield|AD|AP|Armor|MR).*:.*"));
+            bh.consume(sentence.matches(".*from\\s+\\d+.*to\\s+\\d+.*"));
+            bh.consume(sentence.trim().replaceAll("\\s+", " ").replaceAll("[\\r\\n]+", " ").trim());
+        }
+    }
+
+    @Benchmark
+    public void sentenceChecksPrecompiled(Blackhole bh) {
+        for (String sentence : document) {
+            String lower = sentence.toLowerCase();
+            bh.consume(PatchPatterns.ABILITY_LABEL.matcher(lower).find());
+            bh.consume(PatchPatterns.BASE_STAT.matcher(lower).find());
+            bh.consume(PatchPatterns.NUMBER_ARROW_NUMBER.matcher(lower).find());
+            bh.consume(PatchPatterns.STAT_LABEL_WITH_NUMBER.matcher(lower).find());
+            bh.consume(PatchPatterns.CHANGE_LANGUAGE.matcher(lower).find());
+            bh.consume(PatchPatterns.STAT_KEYWORD_WITH_NUMBER.matcher(lower).find());
+            bh.consume(PatchPatterns.ITEM_STAT_LABEL.matcher(sentence).find());
+            bh.consume(PatchPatterns.FROM_TO_NUMBERS.matcher(sentence).find());
+            bh.consume(PatchPatterns.collapseWhitespace(sentence));
+        }
+    }
+
+    @Benchmark
+    public void statValuesRegex(Blackhole bh) {
+        // What the classifier did per arrow: regex over the lowercased line, then split and parse each rank
+        for (String sentence : document) {
+            Matcher matcher = VALUE_ARROW.matcher(sentence.toLowerCase());
+            while (matcher.find()) {
+                String[] oldValues = matcher.group(1).split("/");
+                String[] newValues = matcher.group(2).split("/");
+                for (int i = 0; i < Math.min(oldValues.length, newValues.length); i++) {
+                    bh.consume(Double.compare(Double.parseDouble(newValues[i]), Double.parseDouble(oldValues[i])));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void statValuesScanner(Blackhole bh) {
+        for (String sentence : document) {
+            for (StatChange change : StatChangeParser.parse(null, sentence)) {
+                bh.consume(change.direction());
+            }
+        }
+    }
+}
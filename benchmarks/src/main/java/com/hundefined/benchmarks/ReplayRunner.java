@@ -0,0 +1,262 @@
+package com.hundefined.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.HttpService;
+import com.hundefined.services.PatchPatterns;
+import com.hundefined.services.RiotApiService;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.stream.Stream;
+
+/**
+ * Pushes every recorded patch page through fetch, extraction and classification with no network.
+ *
+ * All HTTP goes through HttpService with {@code http.replay.dir} pointing at the recording
+ * directory (see ReplayInterceptor), so the same code path as the live bot is exercised.
+ * Reports wall time and allocation per patch, writes the extracted results as JSON and,
+ * given a baseline from an earlier run, lists every patch whose results differ.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.hundefined.benchmarks.ReplayRunner \
+ *     benchmarks/replay [--warmup 2] [--out replay-results.json] [--baseline old-results.json]
+ * </pre>
+ * Exits with 1 when the results differ from the baseline.
+ */
+public class ReplayRunner {
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <replay-dir> [--warmup n] [--out file] [--baseline file]");
+            System.exit(2);
+        }
+
+        Path replayDir = Path.of(args[0]);
+        int warmup = 1;
+        Path out = Path.of("replay-results.json");
+        Path baseline = null;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--warmup" -> warmup = Integer.parseInt(args[i + 1]);
+                case "--out" -> out = Path.of(args[i + 1]);
+                case "--baseline" -> baseline = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        // Must be set before HttpService builds its client
+        System.setProperty("http.replay.dir", replayDir.toAbsolutePath().toString());
+
+        List<RecordedPatch> patches = findPatches(replayDir);
+        if (patches.isEmpty()) {
+            System.err.println("No recorded patch pages under " + replayDir);
+            System.exit(2);
+        }
+
+        RiotApiService riotApi = RiotApiService.getInstance();
+        ChangeClassifier classifier = new ChangeClassifier();
+
+        System.out.printf("Replaying %d patches from %s (%d warmup passes)%n", patches.size(), replayDir, warmup);
+        System.out.printf("Current patch version: %s, latest Data Dragon version: %s%n",
+                riotApi.getCurrentPatchVersion(), riotApi.getLatestVersion());
+
+        for (int pass = 0; pass < warmup; pass++) {
+            for (RecordedPatch patch : patches) {
+                run(riotApi, classifier, patch);
+            }
+        }
+
+        List<PatchResult> results = new ArrayList<>();
+        long totalStart = System.nanoTime();
+        for (RecordedPatch patch : patches) {
+            results.add(run(riotApi, classifier, patch));
+        }
+        double totalMillis = (System.nanoTime() - totalStart) / 1_000_000.0;
+
+        printReport(results, totalMillis);
+        Files.writeString(out, gson.toJson(results));
+        System.out.println("Results written to " + out);
+
+        int exitCode = 0;
+        if (baseline != null) {
+            List<PatchResult> expected = gson.fromJson(Files.readString(baseline), new TypeToken<List<PatchResult>>() {}.getType());
+            List<String> diffs = diff(expected, results);
+            if (diffs.isEmpty()) {
+                System.out.println("No differences from " + baseline);
+            } else {
+                System.out.println(diffs.size() + " differences from " + baseline + ":");
+                diffs.forEach(line -> System.out.println("  " + line));
+                exitCode = 1;
+            }
+        }
+
+        HttpService.getInstance().shutdown();
+        System.exit(exitCode);
+    }
+
+    // Patch pages are recorded as .../patch-NN-NN-notes/index.html
+    private static List<RecordedPatch> findPatches(Path replayDir) throws IOException {
+        List<RecordedPatch> patches = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(replayDir)) {
+            files.filter(file -> file.getFileName().toString().equals("index.html")).forEach(file -> {
+                Matcher matcher = PatchPatterns.PATCH_URL_VERSION.matcher(file.getParent().getFileName().toString());
+                if (matcher.find()) {
+                    Path relative = replayDir.relativize(file.getParent());
+                    String url = "https://" + relative.toString().replace('\\', '/') + "/";
+                    patches.add(new RecordedPatch(matcher.group(1) + "." + matcher.group(2), url));
+                }
+            });
+        }
+        patches.sort(Comparator.comparing((RecordedPatch patch) -> Integer.parseInt(patch.version.split("\\.")[0]))
+                .thenComparing(patch -> Integer.parseInt(patch.version.split("\\.")[1])));
+        return patches;
+    }
+
+    private static PatchResult run(RiotApiService riotApi, ChangeClassifier classifier, RecordedPatch patch) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        RiotApiService.PatchContent content = riotApi.fetchPatchContent(patch.version, patch.url);
+        PatchResult result = new PatchResult();
+        result.version = patch.version;
+        if (content != null) {
+            for (RiotApiService.ChampionChange champion : content.championChanges) {
+                result.champions.put(champion.name, classifier.classify(champion));
+            }
+            for (RiotApiService.ItemChange item : content.itemChanges) {
+                result.items.put(item.name, item.changes.size());
+            }
+            result.bugFixes = content.bugFixes.size();
+            result.systemChanges = content.systemChanges.size();
+        } else {
+            result.failed = true;
+        }
+
+        result.millis = (System.nanoTime() - start) / 1_000_000.0;
+        result.allocatedBytes = allocatedBytes() - allocatedBefore;
+        return result;
+    }
+
+    // Extraction fans out to the pool, so count allocation on every live thread; approximate
+    private static long allocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)) {
+            return 0;
+        }
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    private static void printReport(List<PatchResult> results, double totalMillis) {
+        System.out.printf("%n%-8s %10s %12s %7s %6s %5s %8s %5s %5s %6s%n",
+                "patch", "ms", "alloc KB", "champs", "items", "bugs", "systems", "buffs", "nerfs", "adjust");
+        long totalAllocated = 0;
+        for (PatchResult result : results) {
+            totalAllocated += result.allocatedBytes;
+            if (result.failed) {
+                System.out.printf("%-8s %10.2f %12d  FAILED%n", result.version, result.millis, result.allocatedBytes / 1024);
+                continue;
+            }
+            System.out.printf("%-8s %10.2f %12d %7d %6d %5d %8d %5d %5d %6d%n",
+                    result.version, result.millis, result.allocatedBytes / 1024,
+                    result.champions.size(), result.items.size(), result.bugFixes, result.systemChanges,
+                    count(result, ChangeClassifier.BUFF), count(result, ChangeClassifier.NERF),
+                    count(result, ChangeClassifier.ADJUSTMENT));
+        }
+        System.out.printf("%nTotal: %.1f ms wall, %.1f ms per patch, %d KB allocated%n",
+                totalMillis, totalMillis / results.size(), totalAllocated / 1024);
+    }
+
+    private static long count(PatchResult result, String changeType) {
+        return result.champions.values().stream().filter(changeType::equals).count();
+    }
+
+    // Timing is expected to move; only the extracted content is compared
+    private static List<String> diff(List<PatchResult> expected, List<PatchResult> actual) {
+        Map<String, PatchResult> byVersion = new LinkedHashMap<>();
+        for (PatchResult result : actual) {
+            byVersion.put(result.version, result);
+        }
+
+        List<String> diffs = new ArrayList<>();
+        for (PatchResult before : expected) {
+            PatchResult after = byVersion.remove(before.version);
+            if (after == null) {
+                diffs.add(before.version + ": missing from this run");
+                continue;
+            }
+            if (before.failed != after.failed) {
+                diffs.add(before.version + ": " + (after.failed ? "now fails" : "no longer fails"));
+            }
+            diffMap(before.version + " champion", before.champions, after.champions, diffs);
+            diffMap(before.version + " item", before.items, after.items, diffs);
+            if (before.bugFixes != after.bugFixes) {
+                diffs.add(before.version + ": bug fixes " + before.bugFixes + " -> " + after.bugFixes);
+            }
+            if (before.systemChanges != after.systemChanges) {
+                diffs.add(before.version + ": system changes " + before.systemChanges + " -> " + after.systemChanges);
+            }
+        }
+        for (String version : byVersion.keySet()) {
+            diffs.add(version + ": not in baseline");
+        }
+        return diffs;
+    }
+
+    private static <V> void diffMap(String label, Map<String, V> before, Map<String, V> after, List<String> diffs) {
+        for (Map.Entry<String, V> entry : before.entrySet()) {
+            V now = after.get(entry.getKey());
+            if (now == null) {
+                diffs.add(label + " " + entry.getKey() + ": removed");
+            } else if (!Objects.equals(entry.getValue(), now)) {
+                diffs.add(label + " " + entry.getKey() + ": " + entry.getValue() + " -> " + now);
+            }
+        }
+        for (String name : after.keySet()) {
+            if (!before.containsKey(name)) {
+                diffs.add(label + " " + name + ": added (" + after.get(name) + ")");
+            }
+        }
+    }
+
+    private static class RecordedPatch {
+        final String version;
+        final String url;
+
+        RecordedPatch(String version, String url) {
+            this.version = version;
+            this.url = url;
+        }
+    }
+
+    // Serialized as-is to the results file
+    public static class PatchResult {
+        public String version;
+        public boolean failed;
+        public double millis;
+        public long allocatedBytes;
+        // Champion name -> BUFF / NERF / ADJUSTMENT
+        public Map<String, String> champions = new LinkedHashMap<>();
+        // Item name -> number of changes
+        public Map<String, Integer> items = new LinkedHashMap<>();
+        public int bugFixes;
+        public int systemChanges;
+    }
+}
@@ -2,10 +2,29 @@ package com.hundefined.Commands;
 
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 public interface Command {
     String getName();
 
     String getDescription();
 
     void executeSlash(SlashCommandInteractionEvent event);
-}
\ No newline at end of file
+
+    // Commands that wait on the network override this to return before the reply is sent
+    default CompletableFuture<Void> executeAsync(SlashCommandInteractionEvent event) {
+        executeSlash(event);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // How long one execution may run before it is cancelled and the user is told
+    default Duration getTimeout() {
+        return Duration.ofSeconds(30);
+    }
+
+    // Executions allowed at once; further invocations are turned away until one finishes
+    default int getMaxConcurrency() {
+        return 8;
+    }
+}
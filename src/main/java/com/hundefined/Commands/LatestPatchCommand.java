@@ -1,8 +1,11 @@
 package com.hundefined.Commands;
 
 import com.hundefined.Database.DatabaseManager;
+import com.hundefined.listeners.DetailButtonId;
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.PatchContentCache;
+import com.hundefined.services.PatchSnapshotStore;
 import com.hundefined.services.RiotApiService;
-import com.hundefined.listeners.ButtonInteractionHandler;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
@@ -11,9 +14,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.Color;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
 
 public class LatestPatchCommand implements Command {
     private static final Logger logger = LoggerFactory.getLogger(LatestPatchCommand.class);
@@ -21,10 +25,16 @@ public class LatestPatchCommand implements Command {
 
     private final DatabaseManager dbManager;
     private final RiotApiService riotApi;
+    private final PatchSnapshotStore snapshotStore;
+    private final PatchContentCache contentCache;
+    private final ChangeClassifier changeClassifier;
 
     public LatestPatchCommand() {
         this.dbManager = DatabaseManager.getInstance();
-        this.riotApi = new RiotApiService();
+        this.riotApi = RiotApiService.getInstance();
+        this.snapshotStore = PatchSnapshotStore.getInstance();
+        this.contentCache = PatchContentCache.getInstance();
+        this.changeClassifier = new ChangeClassifier();
     }
 
     @Override
@@ -32,6 +42,18 @@ public class LatestPatchCommand implements Command {
         return "latestpatch";
     }
 
+    // A cold start scrapes and extracts the patch, which can take a while
+    @Override
+    public Duration getTimeout() {
+        return Duration.ofSeconds(90);
+    }
+
+    // Mostly served from the snapshot, so a burst after a patch drop is cheap
+    @Override
+    public int getMaxConcurrency() {
+        return 32;
+    }
+
     @Override
     public String getDescription() {
         return "Shows information about the latest League of Legends patch";
@@ -39,33 +61,70 @@ public class LatestPatchCommand implements Command {
 
     @Override
     public void executeSlash(SlashCommandInteractionEvent event) {
+        executeAsync(event).join();
+    }
+
+    // Stored copies are answered right away; a live scrape is composed fetch -> extract -> reply
+    // without holding a thread while the patch page downloads
+    @Override
+    public CompletableFuture<Void> executeAsync(SlashCommandInteractionEvent event) {
         // Defer reply immediately to prevent timeout
         event.deferReply().queue();
         logger.info("LatestPatchCommand executed by {}", event.getUser().getAsTag());
 
         try {
-            String patchVersion = riotApi.getCurrentPatchVersion();
+            // Serve the stored snapshot; the patch notification task keeps it current
+            RiotApiService.PatchContent snapshot = snapshotStore.getLatest();
+            if (snapshot != null && hasContent(snapshot)) {
+                logger.info("Serving patch {} from snapshot", snapshot.version);
+                sendCompactPatchSummary(event, snapshot);
+                return CompletableFuture.completedFuture(null);
+            }
 
-            if (patchVersion == null) {
-                event.getHook().editOriginal("❌ Unable to fetch the latest patch information. Please try again later.").queue();
-                return;
+            // Then the normalized copy in patch_notes, which survives a lost snapshot directory
+            List<DatabaseManager.PatchInfo> latestPatches = dbManager.getLatestPatches(1);
+            if (!latestPatches.isEmpty()) {
+                RiotApiService.PatchContent stored = dbManager.loadPatchContent(latestPatches.get(0).version);
+                if (stored != null && hasContent(stored)) {
+                    logger.info("Serving patch {} from patch_notes", stored.version);
+                    snapshotStore.saveLatest(stored);
+                    sendCompactPatchSummary(event, stored);
+                    return CompletableFuture.completedFuture(null);
+                }
             }
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(reportFailure(event, e));
+        }
 
-            logger.info("Retrieved current patch version: {}", patchVersion);
+        return riotApi.getCurrentPatchVersionAsync()
+                .thenCompose(patchVersion -> {
+                    if (patchVersion == null) {
+                        event.getHook().editOriginal("❌ Unable to fetch the latest patch information. Please try again later.").queue();
+                        return CompletableFuture.completedFuture(null);
+                    }
 
-            // Fetch patch content
-            RiotApiService.PatchContent content = riotApi.fetchPatchContent(patchVersion);
+                    logger.info("No snapshot available, retrieved current patch version: {}", patchVersion);
 
-            if (content != null && hasContent(content)) {
-                sendCompactPatchSummary(event, content);
-            } else {
-                sendBasicPatchInfo(event, patchVersion);
-            }
+                    // Fetch patch content once and keep it for later invocations
+                    return riotApi.fetchPatchContentAsync(patchVersion).thenAccept(content -> {
+                        if (content != null && hasContent(content)) {
+                            // Partial content is shown but not kept, so the next request extracts it again
+                            if (!content.isPartial()) {
+                                snapshotStore.saveLatest(content);
+                            }
+                            sendCompactPatchSummary(event, content);
+                        } else {
+                            sendBasicPatchInfo(event, patchVersion);
+                        }
+                    });
+                })
+                .exceptionally(e -> reportFailure(event, e));
+    }
 
-        } catch (Exception e) {
-            logger.error("Error executing latest patch command", e);
-            event.getHook().editOriginal("❌ An error occurred while fetching patch information. Please try again later.").queue();
-        }
+    private Void reportFailure(SlashCommandInteractionEvent event, Throwable e) {
+        logger.error("Error executing latest patch command", e);
+        event.getHook().editOriginal("❌ An error occurred while fetching patch information. Please try again later.").queue();
+        return null;
     }
 
     private String preprocessPatchNotes(String patchNotes) {
@@ -99,18 +158,18 @@ public class LatestPatchCommand implements Command {
                 List<String> adjustedChamps = new ArrayList<>();
 
                 for (RiotApiService.ChampionChange champion : content.championChanges) {
-                    String changeType = determineChangeType(champion);
-                    String champName = champion.name;
+                    String changeType = changeClassifier.classify(champion);
+                    String champName = ChangeClassifier.icon(changeType) + " " + champion.name;
 
                     switch (changeType) {
-                        case "BUFF":
-                            buffedChamps.add("📈 " + champName);
+                        case ChangeClassifier.BUFF:
+                            buffedChamps.add(champName);
                             break;
-                        case "NERF":
-                            nerfedChamps.add("📉 " + champName);
+                        case ChangeClassifier.NERF:
+                            nerfedChamps.add(champName);
                             break;
                         default:
-                            adjustedChamps.add("⚖️ " + champName);
+                            adjustedChamps.add(champName);
                             break;
                     }
                 }
@@ -134,8 +193,8 @@ public class LatestPatchCommand implements Command {
 
                 List<String> itemNames = new ArrayList<>();
                 for (RiotApiService.ItemChange item : content.itemChanges) {
-                    itemNames.add("• " + item.name);
-                    if (itemNames.size() >= 10) {
+                    itemNames.add("• " + ChangeClassifier.icon(changeClassifier.classify(item)) + " " + item.name);
+                    if (itemNames.size() >= 10 && content.itemChanges.size() > 10) {
                         itemNames.add("• ... and " + (content.itemChanges.size() - 10) + " more items");
                         break;
                     }
@@ -159,23 +218,23 @@ public class LatestPatchCommand implements Command {
             event.getHook().editOriginal(message.toString()).queue();
 
             // Cache the content for button interactions
-            ButtonInteractionHandler.cachePatchContent(content.version, content);
+            contentCache.putLatest(content);
 
             // Send detailed embed with buttons
             EmbedBuilder detailEmbed = createDetailedEmbed(content);
 
             List<Button> buttons = new ArrayList<>();
             if (content.championChanges != null && !content.championChanges.isEmpty()) {
-                buttons.add(Button.primary("champ_details", "Champion Details"));
+                buttons.add(Button.primary(DetailButtonId.of(DetailButtonId.Section.CHAMPIONS, content.version, 0), "Champion Details"));
             }
             if (content.itemChanges != null && !content.itemChanges.isEmpty()) {
-                buttons.add(Button.secondary("item_details", "Item Details"));
+                buttons.add(Button.secondary(DetailButtonId.of(DetailButtonId.Section.ITEMS, content.version, 0), "Item Details"));
             }
             if (content.bugFixes != null && !content.bugFixes.isEmpty()) {
-                buttons.add(Button.secondary("bug_details", "Bug Fixes"));
+                buttons.add(Button.secondary(DetailButtonId.of(DetailButtonId.Section.BUG_FIXES, content.version, 0), "Bug Fixes"));
             }
             if (content.systemChanges != null && !content.systemChanges.isEmpty()) {
-                buttons.add(Button.secondary("system_details", "System Changes"));
+                buttons.add(Button.secondary(DetailButtonId.of(DetailButtonId.Section.SYSTEM, content.version, 0), "System Changes"));
             }
             if (content.url != null) {
                 buttons.add(Button.link(content.url, "📖 Full Patch Notes"));
@@ -203,292 +262,6 @@ public class LatestPatchCommand implements Command {
         }
     }
 
-    /**
-     * Enhanced buff/nerf classification with comprehensive stat analysis
-     */
-    private String determineChangeType(RiotApiService.ChampionChange champion) {
-        if (champion.changes.isEmpty()) return "ADJUSTMENT";
-
-        String allChanges = String.join(" ", champion.changes).toLowerCase();
-
-        // Detailed analysis for better classification
-        int buffScore = 0;
-        int nerfScore = 0;
-
-        // 1. Look for explicit buff/nerf language (highest priority)
-        if (allChanges.contains("buff")) buffScore += 3;
-        if (allChanges.contains("nerf")) nerfScore += 3;
-
-        // 2. Analyze stat arrows for direction of change
-        Pattern arrowPattern = Pattern.compile("(\\d+(?:\\.\\d+|/\\d+)*)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+|/\\d+)*)");
-        java.util.regex.Matcher matcher = arrowPattern.matcher(allChanges);
-
-        while (matcher.find()) {
-            String oldValueStr = matcher.group(1);
-            String newValueStr = matcher.group(2);
-
-            try {
-                // Handle simple numbers (like "68 → 63")
-                if (oldValueStr.matches("\\d+(?:\\.\\d+)?") && newValueStr.matches("\\d+(?:\\.\\d+)?")) {
-                    double oldValue = Double.parseDouble(oldValueStr);
-                    double newValue = Double.parseDouble(newValueStr);
-
-                    if (newValue > oldValue) {
-                        buffScore += 2;
-                    } else if (newValue < oldValue) {
-                        nerfScore += 2;
-                    }
-                }
-                // Handle ability scalings (like "55/80/105/130/155 → 50/75/100/125/150")
-                else if (oldValueStr.contains("/") && newValueStr.contains("/")) {
-                    String[] oldValues = oldValueStr.split("/");
-                    String[] newValues = newValueStr.split("/");
-
-                    if (oldValues.length == newValues.length) {
-                        int increases = 0;
-                        int decreases = 0;
-
-                        for (int i = 0; i < oldValues.length; i++) {
-                            try {
-                                double oldVal = Double.parseDouble(oldValues[i].trim());
-                                double newVal = Double.parseDouble(newValues[i].trim());
-
-                                if (newVal > oldVal) increases++;
-                                else if (newVal < oldVal) decreases++;
-                            } catch (NumberFormatException e) {
-                                // Skip non-numeric values
-                            }
-                        }
-
-                        if (increases > decreases) {
-                            buffScore += 2;
-                        } else if (decreases > increases) {
-                            nerfScore += 2;
-                        }
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Skip if we can't parse the numbers
-            }
-        }
-
-        // 3. Look for positive/negative change language
-        String[] positiveWords = {"increase", "increased", "improve", "improved", "enhance", "enhanced",
-                "boost", "boosted", "strengthen", "strengthened", "raise", "raised", "higher"};
-        String[] negativeWords = {"decrease", "decreased", "reduce", "reduced", "lower", "lowered",
-                "weaken", "weakened", "nerf", "nerfed", "diminish", "diminished"};
-
-        for (String word : positiveWords) {
-            if (allChanges.contains(word)) buffScore += 1;
-        }
-
-        for (String word : negativeWords) {
-            if (allChanges.contains(word)) nerfScore += 1;
-        }
-
-        // 4. Context-based analysis for specific stat types
-        // Damage increases are usually buffs
-        if (allChanges.matches(".*damage.*\\d+.*[→⇒].*\\d+.*")) {
-            Pattern damagePattern = Pattern.compile("damage.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
-            java.util.regex.Matcher damageMatcher = damagePattern.matcher(allChanges);
-            if (damageMatcher.find()) {
-                try {
-                    double oldDmg = Double.parseDouble(damageMatcher.group(1));
-                    double newDmg = Double.parseDouble(damageMatcher.group(2));
-
-                    if (newDmg > oldDmg) {
-                        buffScore += 2; // Damage increase is usually a buff
-                    } else if (newDmg < oldDmg) {
-                        nerfScore += 2; // Damage decrease is usually a nerf
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip if parsing fails
-                }
-            }
-        }
-
-        // 5. Cooldown analysis (cooldown decreases are buffs, increases are nerfs)
-        if (allChanges.matches(".*cooldown.*\\d+.*[→⇒].*\\d+.*")) {
-            Pattern cooldownPattern = Pattern.compile("cooldown.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
-            java.util.regex.Matcher cooldownMatcher = cooldownPattern.matcher(allChanges);
-            if (cooldownMatcher.find()) {
-                try {
-                    double oldCd = Double.parseDouble(cooldownMatcher.group(1));
-                    double newCd = Double.parseDouble(cooldownMatcher.group(2));
-
-                    if (newCd < oldCd) {
-                        buffScore += 2; // Cooldown reduction is a buff
-                    } else if (newCd > oldCd) {
-                        nerfScore += 2; // Cooldown increase is a nerf
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip if parsing fails
-                }
-            }
-        }
-
-        // 6. Range analysis (range increases are usually buffs)
-        if (allChanges.matches(".*range.*\\d+.*[→⇒].*\\d+.*")) {
-            Pattern rangePattern = Pattern.compile("range.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
-            java.util.regex.Matcher rangeMatcher = rangePattern.matcher(allChanges);
-            if (rangeMatcher.find()) {
-                try {
-                    double oldRange = Double.parseDouble(rangeMatcher.group(1));
-                    double newRange = Double.parseDouble(rangeMatcher.group(2));
-
-                    if (newRange > oldRange) {
-                        buffScore += 1; // Range increase is usually a buff
-                    } else if (newRange < oldRange) {
-                        nerfScore += 1; // Range decrease is usually a nerf
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip if parsing fails
-                }
-            }
-        }
-
-        // 7. Base stat analysis (health, AD, AP, armor, MR increases are usually buffs)
-        Pattern baseStatPattern = Pattern.compile("(base\\s+(?:ad|ap|health|hp|armor|mr|magic\\s+resist)).*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
-        java.util.regex.Matcher baseStatMatcher = baseStatPattern.matcher(allChanges);
-        while (baseStatMatcher.find()) {
-            try {
-                double oldStat = Double.parseDouble(baseStatMatcher.group(2));
-                double newStat = Double.parseDouble(baseStatMatcher.group(3));
-
-                if (newStat > oldStat) {
-                    buffScore += 2; // Base stat increase is usually a buff
-                } else if (newStat < oldStat) {
-                    nerfScore += 2; // Base stat decrease is usually a nerf
-                }
-            } catch (NumberFormatException e) {
-                // Skip if parsing fails
-            }
-        }
-
-        // 8. Cost analysis (mana cost decreases are buffs, increases are nerfs)
-        if (allChanges.matches(".*(mana\\s+)?cost.*\\d+.*[→⇒].*\\d+.*")) {
-            Pattern costPattern = Pattern.compile("(?:mana\\s+)?cost.*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
-            java.util.regex.Matcher costMatcher = costPattern.matcher(allChanges);
-            if (costMatcher.find()) {
-                try {
-                    double oldCost = Double.parseDouble(costMatcher.group(1));
-                    double newCost = Double.parseDouble(costMatcher.group(2));
-
-                    if (newCost < oldCost) {
-                        buffScore += 1; // Cost reduction is a buff
-                    } else if (newCost > oldCost) {
-                        nerfScore += 1; // Cost increase is a nerf
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip if parsing fails
-                }
-            }
-        }
-
-        // 9. Duration analysis for beneficial effects (shield, heal, buff durations)
-        if (allChanges.matches(".*(shield|heal|duration).*\\d+.*[→⇒].*\\d+.*") &&
-                !allChanges.contains("cooldown")) { // Exclude cooldown durations
-            Pattern durationPattern = Pattern.compile("(?:shield|heal|duration).*?(\\d+(?:\\.\\d+)?)\\s*[→⇒]\\s*(\\d+(?:\\.\\d+)?)");
-            java.util.regex.Matcher durationMatcher = durationPattern.matcher(allChanges);
-            if (durationMatcher.find()) {
-                try {
-                    double oldDuration = Double.parseDouble(durationMatcher.group(1));
-                    double newDuration = Double.parseDouble(durationMatcher.group(2));
-
-                    if (newDuration > oldDuration) {
-                        buffScore += 1; // Longer beneficial effect is usually a buff
-                    } else if (newDuration < oldDuration) {
-                        nerfScore += 1; // Shorter beneficial effect is usually a nerf
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip if parsing fails
-                }
-            }
-        }
-
-        // 10. Champion-specific context analysis
-        // Look for champion reasoning text that might indicate intent
-        String championReasoning = getChampionReasoningText(champion);
-        if (!championReasoning.isEmpty()) {
-            String reasoning = championReasoning.toLowerCase();
-
-            // Positive reasoning indicators
-            if (reasoning.matches(".*(weak|underperform|struggling|needs.*help|buff|strengthen).*")) {
-                buffScore += 2;
-            }
-            // Negative reasoning indicators
-            if (reasoning.matches(".*(strong|overperform|dominat|nerf|too.*powerful|oppressive).*")) {
-                nerfScore += 2;
-            }
-            // Power-neutral indicators
-            if (reasoning.matches(".*(adjust|rework|clarity|quality.*life|neutral).*")) {
-                // Don't add to either score - these are adjustments
-            }
-        }
-
-        // 11. Final scoring with thresholds
-        int scoreDifference = buffScore - nerfScore;
-
-        // Use a threshold system for more accurate classification
-        if (scoreDifference >= 3) {
-            return "BUFF";
-        } else if (scoreDifference <= -3) {
-            return "NERF";
-        } else if (Math.abs(scoreDifference) <= 2 && (buffScore > 0 || nerfScore > 0)) {
-            return "ADJUSTMENT"; // Minor changes or mixed changes
-        } else {
-            return "ADJUSTMENT"; // No clear direction
-        }
-    }
-
-    /**
-     * Extract champion reasoning text (usually the first change that explains why changes were made)
-     */
-    private String getChampionReasoningText(RiotApiService.ChampionChange champion) {
-        if (champion.changes.isEmpty()) return "";
-
-        // Filter out Veigar Doom game mode references
-        if (champion.name.equalsIgnoreCase("Veigar")) {
-            for (String change : champion.changes) {
-                if (change.toLowerCase().contains("veigar's doom") ||
-                        change.toLowerCase().contains("veigar doom") ||
-                        change.toLowerCase().contains("doom bots") ||
-                        change.toLowerCase().contains("trial of doom")) {
-                    continue; // Skip game mode related content
-                }
-
-                // Return the first non-game mode change as reasoning
-                if (change.length() > 50 && containsReasoningIndicators(change)) {
-                    return change.toLowerCase();
-                }
-            }
-        }
-
-        // For other champions, look for the reasoning text
-        for (String change : champion.changes) {
-            String lowerChange = change.toLowerCase();
-
-            // Check if it looks like reasoning text (longer, contains explanation words)
-            if (containsReasoningIndicators(change)) {
-                return lowerChange;
-            }
-        }
-
-        return "";
-    }
-
-    /**
-     * Check if a change text contains reasoning indicators
-     */
-    private boolean containsReasoningIndicators(String change) {
-        if (change.length() < 50) return false;
-
-        String lowerChange = change.toLowerCase();
-
-        // Look for reasoning patterns commonly used in patch notes
-        return lowerChange.matches(".*(is|has|we|this|currently|perform|weak|strong|domina|overpow|underpow|struggling|too|very|quite|rather|fairly|popular|unpopular|missing|absent|statistically|pro play|regular play|high mmr|low mmr|coordinated|teams).*");
-    }
-
     private EmbedBuilder createDetailedEmbed(RiotApiService.PatchContent content) {
         EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("📊 Patch " + content.version + " Summary")
@@ -1,21 +1,51 @@
 package com.hundefined.Database;
 
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hundefined.config.BotConfig;
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.MetricsService;
+import com.hundefined.services.RiotApiService;
+import com.hundefined.services.StatChange;
+import com.hundefined.services.StatChangeParser;
+import java.lang.reflect.Type;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class DatabaseManager{
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
     private static DatabaseManager instance;
     private HikariDataSource dataSource;
 
+    // patch_notes categories
+    public static final String CATEGORY_OVERVIEW = "OVERVIEW";
+    public static final String CATEGORY_CHAMPION = "CHAMPION";
+    public static final String CATEGORY_ITEM = "ITEM";
+    public static final String CATEGORY_SYSTEM = "SYSTEM";
+    public static final String CATEGORY_BUG_FIX = "BUG_FIX";
+
+    // Rows per multi-row INSERT when recording notification history
+    private static final int NOTIFICATION_INSERT_CHUNK = 500;
+
+    // patch_notes.stats_json holds the StatChange records read from a champion or item line
+    private static final Gson gson = new Gson();
+    private static final Type STAT_LIST = new TypeToken<List<StatChange>>() {}.getType();
+
+    private final MetricsService metrics = MetricsService.getInstance();
+
     private DatabaseManager() {
         initializeDataSource();
         createTablesIfNotExists();
@@ -47,6 +77,12 @@ public class DatabaseManager{
             config.setConnectionTimeout(30000); // 30 seconds
             config.setLeakDetectionThreshold(60000); // 1 minute
 
+            // Let the driver send a JDBC batch as multi-row inserts instead of one round trip per row
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+            // Pool usage, wait and connection times as hikaricp.* meters
+            config.setMetricRegistry(metrics.registry());
+
             dataSource = new HikariDataSource(config);
             logger.info("Database connection pool initialized successfully!");
         } catch (Exception e) {
@@ -77,6 +113,7 @@ public class DatabaseManager{
                 subject VARCHAR(255) NOT NULL,
                 change_type VARCHAR(50) NOT NULL,
                 description TEXT NOT NULL,
+                stats_json TEXT,
                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                 FOREIGN KEY (patch_id) REFERENCES patches(id) ON DELETE CASCADE
             )
@@ -100,6 +137,32 @@ public class DatabaseManager{
                 FOREIGN KEY (patch_id) REFERENCES patches(id) ON DELETE CASCADE,
                 UNIQUE KEY unique_guild_patch (guild_id, patch_id)
             )
+            """,
+                """
+            CREATE TABLE IF NOT EXISTS notification_bundles (
+                patch_id INT PRIMARY KEY,
+                bundle_json MEDIUMTEXT NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY (patch_id) REFERENCES patches(id) ON DELETE CASCADE
+            )
+            """,
+                """
+            CREATE TABLE IF NOT EXISTS notification_outbox (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                patch_id INT NOT NULL,
+                guild_id VARCHAR(20) NOT NULL,
+                channel_id VARCHAR(20) NOT NULL,
+                part_index INT NOT NULL,
+                status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+                attempts INT NOT NULL DEFAULT 0,
+                next_attempt_at DATETIME NOT NULL,
+                last_error VARCHAR(500),
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                FOREIGN KEY (patch_id) REFERENCES patches(id) ON DELETE CASCADE,
+                UNIQUE KEY unique_channel_part (patch_id, channel_id, part_index),
+                INDEX idx_outbox_status (status, patch_id, channel_id, part_index)
+            )
             """
         };
 
@@ -109,6 +172,10 @@ public class DatabaseManager{
                     stmt.execute(query);
                 }
             }
+            // CREATE TABLE IF NOT EXISTS leaves existing tables alone; later columns and indexes are added here
+            addColumnIfMissing(conn, "patch_notes", "stats_json", "TEXT");
+            // loadPatchContent reads one patch's notes in id order
+            addIndexIfMissing(conn, "patch_notes", "idx_patch_notes_patch", "(patch_id, id)");
             logger.info("Database tables created/verified successfully!");
         } catch (SQLException e) {
             logger.error("Failed to create database tables", e);
@@ -116,10 +183,71 @@ public class DatabaseManager{
         }
     }
 
+    private void addColumnIfMissing(Connection conn, String table, String column, String definition) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) return;
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+        logger.info("Added column {}.{}", table, column);
+    }
+
+    private void addIndexIfMissing(Connection conn, String table, String index, String columns) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, index);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) return;
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX " + index + " ON " + table + " " + columns);
+        }
+        logger.info("Added index {} on {}", index, table);
+    }
+
     public Connection getConnection() throws SQLException {
         return dataSource.getConnection();
     }
 
+    // db.query times statement execution only, tagged with the calling method; how long connections
+    // are waited for and held is already reported by Hikari as hikaricp.connections.*
+    private ResultSet executeQuery(String query, PreparedStatement stmt) throws SQLException {
+        Timer.Sample sample = Timer.start(metrics.registry());
+        try {
+            return stmt.executeQuery();
+        } finally {
+            sample.stop(metrics.timer("db.query", "query", query));
+        }
+    }
+
+    private int executeUpdate(String query, PreparedStatement stmt) throws SQLException {
+        Timer.Sample sample = Timer.start(metrics.registry());
+        try {
+            return stmt.executeUpdate();
+        } finally {
+            sample.stop(metrics.timer("db.query", "query", query));
+        }
+    }
+
+    private int[] executeBatch(String query, PreparedStatement stmt) throws SQLException {
+        Timer.Sample sample = Timer.start(metrics.registry());
+        try {
+            return stmt.executeBatch();
+        } finally {
+            sample.stop(metrics.timer("db.query", "query", query));
+        }
+    }
+
     // Method to save a new patch to database
     public boolean savePatch(String version, String title, LocalDateTime releaseDate, String url, String summary) {
         String sql = "INSERT INTO patches (patch_version, title, release_date, patch_url, summary) VALUES (?, ?, ?, ?, ?)";
@@ -133,7 +261,7 @@ public class DatabaseManager{
             stmt.setString(4, url);
             stmt.setString(5, summary);
 
-            int affectedRows = stmt.executeUpdate();
+            int affectedRows = executeUpdate("savePatch", stmt);
 
             if (affectedRows > 0) {
                 logger.info("Successfully saved patch: {}", version);
@@ -158,7 +286,7 @@ public class DatabaseManager{
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, version);
-            ResultSet rs = stmt.executeQuery();
+            ResultSet rs = executeQuery("getPatch", stmt);
 
             if (rs.next()) {
                 return new PatchInfo(
@@ -186,7 +314,7 @@ public class DatabaseManager{
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, limit);
-            ResultSet rs = stmt.executeQuery();
+            ResultSet rs = executeQuery("getLatestPatches", stmt);
 
             while (rs.next()) {
                 patches.add(new PatchInfo(
@@ -205,6 +333,186 @@ public class DatabaseManager{
         return patches;
     }
 
+    // Method to store every change line of a patch in patch_notes, replacing any earlier rows
+    public boolean savePatchNotes(int patchId, RiotApiService.PatchContent content) {
+        String deleteSql = "DELETE FROM patch_notes WHERE patch_id = ?";
+        String insertSql = "INSERT INTO patch_notes (patch_id, category, subject, change_type, description, stats_json) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        ChangeClassifier classifier = new ChangeClassifier();
+
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                 PreparedStatement insert = conn.prepareStatement(insertSql)) {
+
+                delete.setInt(1, patchId);
+                executeUpdate("savePatchNotes", delete);
+
+                int rows = 0;
+                if (content.overview != null && !content.overview.isBlank()) {
+                    addPatchNote(insert, patchId, CATEGORY_OVERVIEW, "Overview", "INFO", content.overview, null);
+                    rows++;
+                }
+
+                for (RiotApiService.ChampionChange champion : content.championChanges) {
+                    rows += addChangeNotes(insert, patchId, CATEGORY_CHAMPION, champion.name,
+                            classifier.classify(champion), champion.changes, champion.stats);
+                }
+
+                for (RiotApiService.ItemChange item : content.itemChanges) {
+                    rows += addChangeNotes(insert, patchId, CATEGORY_ITEM, item.name,
+                            classifier.classify(item), item.changes, item.stats);
+                }
+
+                for (String change : content.systemChanges) {
+                    addPatchNote(insert, patchId, CATEGORY_SYSTEM, "System", CATEGORY_SYSTEM, change, null);
+                    rows++;
+                }
+
+                for (String fix : content.bugFixes) {
+                    addPatchNote(insert, patchId, CATEGORY_BUG_FIX, "Bug Fix", CATEGORY_BUG_FIX, fix, null);
+                    rows++;
+                }
+
+                executeBatch("savePatchNotes", insert);
+                conn.commit();
+                logger.info("Saved {} patch notes for patch id {}", rows, patchId);
+                return true;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error saving patch notes for patch id {}", patchId, e);
+        }
+        return false;
+    }
+
+    // One row per note line, each with the stat records read from that line (stats are in line order)
+    private int addChangeNotes(PreparedStatement stmt, int patchId, String category, String subject, String changeType,
+                               List<String> changes, List<StatChange> stats) throws SQLException {
+        int statCount = stats != null ? stats.size() : 0;
+        int next = 0;
+        for (int line = 0; line < changes.size(); line++) {
+            int first = next;
+            while (next < statCount && stats.get(next).line() <= line) next++;
+            addPatchNote(stmt, patchId, category, subject, changeType, changes.get(line),
+                    gson.toJson(stats != null ? stats.subList(first, next) : List.of()));
+        }
+        return changes.size();
+    }
+
+    private void addPatchNote(PreparedStatement stmt, int patchId, String category, String subject,
+                              String changeType, String description, String statsJson) throws SQLException {
+        stmt.setInt(1, patchId);
+        stmt.setString(2, category);
+        stmt.setString(3, subject.length() > 255 ? subject.substring(0, 255) : subject);
+        stmt.setString(4, changeType);
+        stmt.setString(5, description);
+        stmt.setString(6, statsJson);
+        stmt.addBatch();
+    }
+
+    // Add a stored champion or item line with its stat records; rows written before stats_json
+    // existed have it NULL and are scanned instead
+    private static void addStoredLine(List<String> changes, List<StatChange> stats, String subject,
+                                      String description, String statsJson) {
+        int line = changes.size();
+        changes.add(description);
+        List<StatChange> stored = statsJson != null
+                ? gson.fromJson(statsJson, STAT_LIST)
+                : StatChangeParser.parse(subject, description);
+        for (StatChange stat : stored) {
+            stats.add(stat.line() == line ? stat : stat.withLine(line));
+        }
+    }
+
+    // Method to rebuild a patch's content from patches + patch_notes in one query
+    public RiotApiService.PatchContent loadPatchContent(String version) {
+        String sql = "SELECT p.patch_version, p.title, p.patch_url, p.summary, " +
+                "n.category, n.subject, n.description, n.stats_json " +
+                "FROM patches p LEFT JOIN patch_notes n ON n.patch_id = p.id " +
+                "WHERE p.patch_version = ? ORDER BY n.id";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, version);
+            ResultSet rs = executeQuery("loadPatchContent", stmt);
+
+            RiotApiService.PatchContent content = null;
+            Map<String, RiotApiService.ChampionChange> champions = new LinkedHashMap<>();
+            Map<String, RiotApiService.ItemChange> items = new LinkedHashMap<>();
+            boolean hasNotes = false;
+
+            while (rs.next()) {
+                if (content == null) {
+                    content = new RiotApiService.PatchContent();
+                    content.version = rs.getString("patch_version");
+                    content.title = rs.getString("title");
+                    content.url = rs.getString("patch_url");
+                    content.overview = rs.getString("summary");
+                }
+
+                String category = rs.getString("category");
+                if (category == null) continue; // patch without stored notes
+                hasNotes = true;
+
+                String subject = rs.getString("subject");
+                String description = rs.getString("description");
+
+                switch (category) {
+                    case CATEGORY_OVERVIEW:
+                        content.overview = description;
+                        break;
+                    case CATEGORY_CHAMPION:
+                        RiotApiService.ChampionChange champion = champions.computeIfAbsent(subject, name -> {
+                            RiotApiService.ChampionChange change = new RiotApiService.ChampionChange();
+                            change.name = name;
+                            return change;
+                        });
+                        addStoredLine(champion.changes, champion.stats, subject, description, rs.getString("stats_json"));
+                        break;
+                    case CATEGORY_ITEM:
+                        RiotApiService.ItemChange item = items.computeIfAbsent(subject, name -> {
+                            RiotApiService.ItemChange change = new RiotApiService.ItemChange();
+                            change.name = name;
+                            return change;
+                        });
+                        addStoredLine(item.changes, item.stats, subject, description, rs.getString("stats_json"));
+                        break;
+                    case CATEGORY_SYSTEM:
+                        content.systemChanges.add(description);
+                        break;
+                    case CATEGORY_BUG_FIX:
+                        content.bugFixes.add(description);
+                        break;
+                    default:
+                        logger.debug("Skipping patch note with unknown category: {}", category);
+                        break;
+                }
+            }
+
+            if (content == null || !hasNotes) {
+                return null;
+            }
+
+            content.championChanges.addAll(champions.values());
+            content.itemChanges.addAll(items.values());
+            return content;
+
+        } catch (SQLException e) {
+            logger.error("Error loading patch content for version: {}", version, e);
+        }
+        return null;
+    }
+
     // Method to subscribe a server to patch notifications
     public boolean subscribeServer(String guildId, String channelId) {
         String sql = "INSERT INTO server_subscriptions (guild_id, channel_id) VALUES (?, ?) " +
@@ -216,7 +524,7 @@ public class DatabaseManager{
             stmt.setString(1, guildId);
             stmt.setString(2, channelId);
 
-            int affectedRows = stmt.executeUpdate();
+            int affectedRows = executeUpdate("subscribeServer", stmt);
             if (affectedRows > 0) {
                 logger.info("Server {} subscribed to patch notifications in channel {}", guildId, channelId);
                 return true;
@@ -238,7 +546,7 @@ public class DatabaseManager{
             stmt.setString(1, guildId);
             stmt.setString(2, channelId);
 
-            int affectedRows = stmt.executeUpdate();
+            int affectedRows = executeUpdate("unsubscribeServer", stmt);
             if (affectedRows > 0) {
                 logger.info("Server {} unsubscribed from patch notifications in channel {}", guildId, channelId);
                 return true;
@@ -256,8 +564,8 @@ public class DatabaseManager{
         List<ServerSubscription> subscriptions = new ArrayList<>();
 
         try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = executeQuery("getSubscribedServers", stmt)) {
 
             while (rs.next()) {
                 subscriptions.add(new ServerSubscription(
@@ -282,7 +590,7 @@ public class DatabaseManager{
             stmt.setString(1, guildId);
             stmt.setInt(2, patchId);
 
-            ResultSet rs = stmt.executeQuery();
+            ResultSet rs = executeQuery("wasNotificationSent", stmt);
             return rs.next();
 
         } catch (SQLException e) {
@@ -301,7 +609,7 @@ public class DatabaseManager{
             stmt.setString(1, guildId);
             stmt.setInt(2, patchId);
 
-            int affectedRows = stmt.executeUpdate();
+            int affectedRows = executeUpdate("markNotificationSent", stmt);
             return affectedRows > 0;
 
         } catch (SQLException e) {
@@ -310,6 +618,256 @@ public class DatabaseManager{
         return false;
     }
 
+    // Method to load every guild already notified about a patch in one query
+    public Set<String> getNotifiedGuilds(int patchId) {
+        String sql = "SELECT guild_id FROM notification_history WHERE patch_id = ?";
+        Set<String> guilds = new HashSet<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, patchId);
+            ResultSet rs = executeQuery("getNotifiedGuilds", stmt);
+
+            while (rs.next()) {
+                guilds.add(rs.getString("guild_id"));
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error loading notification history for patch id {}", patchId, e);
+        }
+        return guilds;
+    }
+
+    // Method to mark many guilds as notified with multi-row inserts; already-recorded guilds are skipped
+    public int markNotificationsSent(Collection<String> guildIds, int patchId) {
+        if (guildIds.isEmpty()) return 0;
+
+        List<String> pending = new ArrayList<>(new HashSet<>(guildIds));
+        int inserted = 0;
+
+        try (Connection conn = getConnection()) {
+            for (int from = 0; from < pending.size(); from += NOTIFICATION_INSERT_CHUNK) {
+                List<String> chunk = pending.subList(from, Math.min(pending.size(), from + NOTIFICATION_INSERT_CHUNK));
+
+                StringBuilder sql = new StringBuilder("INSERT IGNORE INTO notification_history (guild_id, patch_id) VALUES ");
+                for (int i = 0; i < chunk.size(); i++) {
+                    sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    int index = 1;
+                    for (String guildId : chunk) {
+                        stmt.setString(index++, guildId);
+                        stmt.setInt(index++, patchId);
+                    }
+                    inserted += executeUpdate("markNotificationsSent", stmt);
+                }
+            }
+
+            logger.debug("Recorded {} notifications for patch id {}", inserted, patchId);
+
+        } catch (SQLException e) {
+            logger.error("Error marking notifications as sent for patch id {}", patchId, e);
+        }
+        return inserted;
+    }
+
+    // Method to store the pre-rendered notification bundle for a patch (kept on re-render)
+    public boolean saveNotificationBundle(int patchId, String bundleJson) {
+        String sql = "INSERT INTO notification_bundles (patch_id, bundle_json) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE patch_id = patch_id";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, patchId);
+            stmt.setString(2, bundleJson);
+            executeUpdate("saveNotificationBundle", stmt);
+            return true;
+
+        } catch (SQLException e) {
+            logger.error("Error saving notification bundle for patch id {}", patchId, e);
+        }
+        return false;
+    }
+
+    // Method to load the stored notification bundle for a patch
+    public String getNotificationBundle(int patchId) {
+        String sql = "SELECT bundle_json FROM notification_bundles WHERE patch_id = ?";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, patchId);
+            ResultSet rs = executeQuery("getNotificationBundle", stmt);
+            if (rs.next()) {
+                return rs.getString("bundle_json");
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error loading notification bundle for patch id {}", patchId, e);
+        }
+        return null;
+    }
+
+    // Method to queue one outbox row per channel and message part; rows that already exist are kept
+    public int enqueueNotifications(int patchId, List<ServerSubscription> subscriptions, int partCount) {
+        String sql = "INSERT IGNORE INTO notification_outbox (patch_id, guild_id, channel_id, part_index, next_attempt_at) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        int queued = 0;
+
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (ServerSubscription subscription : subscriptions) {
+                    for (int part = 0; part < partCount; part++) {
+                        stmt.setInt(1, patchId);
+                        stmt.setString(2, subscription.guildId);
+                        stmt.setString(3, subscription.channelId);
+                        stmt.setInt(4, part);
+                        stmt.setTimestamp(5, now);
+                        stmt.addBatch();
+                    }
+                }
+
+                for (int count : executeBatch("enqueueNotifications", stmt)) {
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) queued++;
+                }
+                conn.commit();
+                logger.info("Queued {} notification parts for patch id {}", queued, patchId);
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error queueing notifications for patch id {}", patchId, e);
+        }
+        return queued;
+    }
+
+    // Method to check whether a patch's notifications were ever queued (the bundle is written last)
+    public boolean hasNotificationBundle(int patchId) {
+        String sql = "SELECT 1 FROM notification_bundles WHERE patch_id = ?";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, patchId);
+            return executeQuery("hasNotificationBundle", stmt).next();
+
+        } catch (SQLException e) {
+            logger.error("Error checking notification bundle for patch id {}", patchId, e);
+        }
+        return false;
+    }
+
+    // Method to load pending outbox rows of channels that are due, in delivery order (patch, channel, part).
+    // A channel is due when its first unsent part is; rows waiting out a backoff are never returned,
+    // so they cannot fill the page and hide due channels behind them.
+    public List<OutboxEntry> getPendingNotifications(int limit) {
+        String sql = "SELECT o.id, o.patch_id, o.guild_id, o.channel_id, o.part_index, o.attempts, o.next_attempt_at " +
+                "FROM notification_outbox o " +
+                "JOIN (SELECT patch_id, channel_id, MIN(part_index) AS first_part FROM notification_outbox " +
+                "      WHERE status = 'PENDING' GROUP BY patch_id, channel_id) f " +
+                "  ON f.patch_id = o.patch_id AND f.channel_id = o.channel_id " +
+                "JOIN notification_outbox h " +
+                "  ON h.patch_id = f.patch_id AND h.channel_id = f.channel_id AND h.part_index = f.first_part " +
+                "WHERE o.status = 'PENDING' AND h.next_attempt_at <= ? " +
+                "ORDER BY o.patch_id, o.channel_id, o.part_index LIMIT ?";
+        List<OutboxEntry> entries = new ArrayList<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setInt(2, limit);
+            ResultSet rs = executeQuery("getPendingNotifications", stmt);
+
+            while (rs.next()) {
+                entries.add(new OutboxEntry(
+                        rs.getLong("id"),
+                        rs.getInt("patch_id"),
+                        rs.getString("guild_id"),
+                        rs.getString("channel_id"),
+                        rs.getInt("part_index"),
+                        rs.getInt("attempts"),
+                        rs.getTimestamp("next_attempt_at").toLocalDateTime()
+                ));
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error loading pending notifications", e);
+        }
+        return entries;
+    }
+
+    // Method to mark a delivered outbox row
+    public boolean markOutboxSent(long entryId) {
+        String sql = "UPDATE notification_outbox SET status = 'SENT', last_error = NULL WHERE id = ?";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, entryId);
+            return executeUpdate("markOutboxSent", stmt) > 0;
+
+        } catch (SQLException e) {
+            logger.error("Error marking outbox entry {} as sent", entryId, e);
+        }
+        return false;
+    }
+
+    // Method to push an outbox row back for a later retry
+    public boolean rescheduleOutbox(long entryId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        String sql = "UPDATE notification_outbox SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, attempts);
+            stmt.setTimestamp(2, Timestamp.valueOf(nextAttemptAt));
+            stmt.setString(3, truncateError(error));
+            stmt.setLong(4, entryId);
+            return executeUpdate("rescheduleOutbox", stmt) > 0;
+
+        } catch (SQLException e) {
+            logger.error("Error rescheduling outbox entry {}", entryId, e);
+        }
+        return false;
+    }
+
+    // Method to give up on every remaining part for a channel
+    public int failOutboxChannel(int patchId, String channelId, String error) {
+        String sql = "UPDATE notification_outbox SET status = 'FAILED', last_error = ? " +
+                "WHERE patch_id = ? AND channel_id = ? AND status = 'PENDING'";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, truncateError(error));
+            stmt.setInt(2, patchId);
+            stmt.setString(3, channelId);
+            return executeUpdate("failOutboxChannel", stmt);
+
+        } catch (SQLException e) {
+            logger.error("Error failing outbox entries for channel {}", channelId, e);
+        }
+        return 0;
+    }
+
+    private static String truncateError(String error) {
+        if (error == null) return null;
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
     public void close() {
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
@@ -336,6 +894,27 @@ public class DatabaseManager{
         }
     }
 
+    public static class OutboxEntry {
+        public final long id;
+        public final int patchId;
+        public final String guildId;
+        public final String channelId;
+        public final int partIndex;
+        public final int attempts;
+        public final LocalDateTime nextAttemptAt;
+
+        public OutboxEntry(long id, int patchId, String guildId, String channelId, int partIndex,
+                           int attempts, LocalDateTime nextAttemptAt) {
+            this.id = id;
+            this.patchId = patchId;
+            this.guildId = guildId;
+            this.channelId = channelId;
+            this.partIndex = partIndex;
+            this.attempts = attempts;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+    }
+
     public static class ServerSubscription {
         public final String guildId;
         public final String channelId;
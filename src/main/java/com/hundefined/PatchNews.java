@@ -2,6 +2,7 @@ package com.hundefined;
 
 import com.hundefined.config.BotConfig;
 import com.hundefined.Database.DatabaseManager;
+import com.hundefined.listeners.CommandExecutionEngine;
 import com.hundefined.listeners.CommandListener;
 import com.hundefined.listeners.ButtonInteractionHandler; // ADD THIS LINE
 import net.dv8tion.jda.api.JDA;
@@ -18,6 +19,10 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import com.hundefined.services.HttpService;
+import com.hundefined.services.MetricsService;
+import com.hundefined.tasks.AdaptivePollScheduler;
+import com.hundefined.tasks.NotificationOutboxWorker;
 import com.hundefined.tasks.PatchNotificationTask;
 
 public class PatchNews {
@@ -26,6 +31,8 @@ public class PatchNews {
     private static DatabaseManager dbManager;
     private static ScheduledExecutorService scheduler;
     private static PatchNotificationTask patchTask;
+    private static AdaptivePollScheduler pollScheduler;
+    private static CommandExecutionEngine commandEngine;
 
     public static void main(String[] args) {
         String botToken = BotConfig.getBotToken();
@@ -38,17 +45,23 @@ public class PatchNews {
         }
 
         try {
+            // Metrics backends come up first so every later component registers against them
+            MetricsService.getInstance();
+
             // Initialize database first
             logger.info("Initializing database...");
             dbManager = DatabaseManager.getInstance();
             logger.info("Database initialized successfully!");
 
+            // Commands and buttons run here instead of on the JDA event thread
+            commandEngine = new CommandExecutionEngine();
+
             // Build JDA instance
             logger.info("Starting Discord bot...");
             jda = JDABuilder.createDefault(botToken)
                     .enableIntents(EnumSet.allOf(GatewayIntent.class))
-                    .addEventListeners(new CommandListener())
-                    .addEventListeners(new ButtonInteractionHandler()) // ADD THIS LINE
+                    .addEventListeners(new CommandListener(commandEngine))
+                    .addEventListeners(new ButtonInteractionHandler(commandEngine)) // ADD THIS LINE
                     .setActivity(Activity.playing("How to search things up"))
                     .build();
 
@@ -104,20 +117,29 @@ public class PatchNews {
     private static void startPatchNotificationTask() {
         logger.info("Starting patch notification task...");
 
-        scheduler = Executors.newScheduledThreadPool(1);
-        patchTask = new PatchNotificationTask(jda, dbManager);
+        scheduler = Executors.newScheduledThreadPool(2);
+        NotificationOutboxWorker outbox = new NotificationOutboxWorker(jda, dbManager);
+        patchTask = new PatchNotificationTask(jda, dbManager, outbox);
 
-        // Check for new patches every 30 minutes
-        scheduler.scheduleAtFixedRate(patchTask, 0, 30, TimeUnit.MINUTES);
+        // Check for new patches, every minute around the expected release and backing off in between
+        pollScheduler = new AdaptivePollScheduler(scheduler, patchTask, dbManager);
+        pollScheduler.start();
 
-        logger.info("Patch notification task started - checking every 30 minutes");
+        // Deliver what the patch check queued, resume deliveries left over from a restart and retry
+        // failed channels once they are due; a long delivery holds this thread, not the patch checks
+        scheduler.scheduleWithFixedDelay(outbox, 15, 15, TimeUnit.SECONDS);
+
+        logger.info("Patch notification task started - adaptive polling");
     }
 
     private static void cleanup() {
         logger.info("Performing cleanup...");
 
         try {
-            // Shutdown patch notification task
+            // Stop scheduling patch checks, then shut down the task
+            if (pollScheduler != null) {
+                pollScheduler.shutdown();
+            }
             if (patchTask != null) {
                 patchTask.shutdown();
             }
@@ -134,11 +156,22 @@ public class PatchNews {
                 }
             }
 
+            // Let running commands finish before their dependencies go away
+            if (commandEngine != null) {
+                commandEngine.shutdown();
+            }
+
+            // Release pooled HTTP connections
+            HttpService.getInstance().shutdown();
+
             // Close database connections
             if (dbManager != null) {
                 dbManager.close();
             }
 
+            // Stop the metrics endpoint and flush the last log dump
+            MetricsService.getInstance().shutdown();
+
             // Shutdown JDA
             if (jda != null) {
                 jda.shutdown();
@@ -39,4 +39,54 @@ public class BotConfig {
     public static String getDatabasePassword() {
         return properties.getProperty("DATA BASE PASS", "");
     }
-}
\ No newline at end of file
+
+    // Per-phase timeout for parallel patch extraction
+    public static long getExtractionTimeoutMillis() {
+        return Long.parseLong(properties.getProperty("extraction.timeout.millis", "20000"));
+    }
+
+    // Where parsed patch snapshots are stored between restarts
+    public static String getSnapshotDirectory() {
+        return properties.getProperty("snapshot.directory", "data/patch-snapshots");
+    }
+
+    // Fastest patch check interval, used inside the expected release window
+    public static long getPollMinSeconds() {
+        return Long.parseLong(properties.getProperty("poll.min.seconds", "60"));
+    }
+
+    // Slowest patch check interval between releases
+    public static long getPollMaxMinutes() {
+        return Long.parseLong(properties.getProperty("poll.max.minutes", "60"));
+    }
+
+    // "auto" uses virtual threads when available, "pool" forces the bounded pool
+    public static String getCommandExecutor() {
+        return properties.getProperty("command.executor", "auto");
+    }
+
+    public static int getCommandPoolSize() {
+        return Integer.parseInt(properties.getProperty("command.pool.size", "8"));
+    }
+
+    // Directory of recorded responses to serve instead of the network; empty means live.
+    // A -Dhttp.replay.dir flag wins, so offline runs need no config change
+    public static String getHttpReplayDirectory() {
+        return System.getProperty("http.replay.dir", properties.getProperty("http.replay.dir", ""));
+    }
+
+    // Port for the Prometheus text endpoint at /metrics; 0 disables it
+    public static int getMetricsPrometheusPort() {
+        return Integer.parseInt(properties.getProperty("metrics.prometheus.port", "0"));
+    }
+
+    // Only local scrapers by default
+    public static String getMetricsPrometheusHost() {
+        return properties.getProperty("metrics.prometheus.host", "127.0.0.1");
+    }
+
+    // Interval of the metrics log dump; 0 disables it
+    public static long getMetricsLogMinutes() {
+        return Long.parseLong(properties.getProperty("metrics.log.minutes", "0"));
+    }
+}
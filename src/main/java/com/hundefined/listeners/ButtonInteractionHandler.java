@@ -1,363 +1,186 @@
 package com.hundefined.listeners;
 
+import com.hundefined.services.PatchContentCache;
+import com.hundefined.services.PatchPatterns;
+import com.hundefined.services.PatchSnapshotStore;
 import com.hundefined.services.RiotApiService;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
+import net.dv8tion.jda.api.utils.messages.MessageEditBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageEditData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class ButtonInteractionHandler extends ListenerAdapter {
     private static final Logger logger = LoggerFactory.getLogger(ButtonInteractionHandler.class);
-    private static final int MAX_MESSAGE_LENGTH = 2000;
 
-    // Cache patch content temporarily with longer retention
-    private static final ConcurrentHashMap<String, RiotApiService.PatchContent> contentCache = new ConcurrentHashMap<>();
-    private static volatile String lastCachedVersion = null; // Track the most recent version
+    private static final Duration DETAIL_TIMEOUT = Duration.ofSeconds(60);
+    private static final int MAX_CONCURRENT_DETAILS = 16;
+
+    private final PatchContentCache contentCache = PatchContentCache.getInstance();
+    private final PatchDetailPages detailPages = PatchDetailPages.getInstance();
+    private final CommandExecutionEngine engine;
+
+    public ButtonInteractionHandler(CommandExecutionEngine engine) {
+        this.engine = engine;
+    }
 
     @Override
     public void onButtonInteraction(ButtonInteractionEvent event) {
         String buttonId = event.getComponentId();
         logger.info("Button interaction received: {} from user: {}", buttonId, event.getUser().getAsTag());
 
-        switch (buttonId) {
-            case "champ_details":
-                handleChampionDetails(event);
-                break;
-            case "item_details":
-                handleItemDetails(event);
-                break;
-            case "bug_details":
-                handleBugDetails(event);
-                break;
-            case "system_details":
-                handleSystemDetails(event);
-                break;
-            default:
-                logger.debug("Unknown button interaction: {}", buttonId);
-                event.reply("Unknown button interaction. Please try again.").setEphemeral(true).queue();
-                break;
+        DetailButtonId button = DetailButtonId.parse(buttonId);
+        if (button == null) {
+            logger.debug("Unknown button interaction: {}", buttonId);
+            event.reply("Unknown button interaction. Please try again.").setEphemeral(true).queue();
+            return;
         }
-    }
-
-    private void handleChampionDetails(ButtonInteractionEvent event) {
-        logger.info("Handling champion details button click");
-        event.deferReply(true).queue(); // Ephemeral reply
 
-        try {
-            RiotApiService.PatchContent content = getPatchContentFromContext(event);
-
-            if (content == null) {
-                logger.warn("No patch content found for champion details");
-                event.getHook().editOriginal("❌ Could not load champion details. Please try running `/latestpatch` again to refresh the data.").queue();
-                return;
-            }
-
-            if (content.championChanges == null || content.championChanges.isEmpty()) {
-                logger.info("No champion changes found in content");
-                event.getHook().editOriginal("No champion changes found for this patch.").queue();
-                return;
-            }
-
-            logger.info("Found {} champion changes, formatting details", content.championChanges.size());
-            List<String> messages = formatChampionDetails(content.championChanges);
-
-            if (messages.isEmpty()) {
-                event.getHook().editOriginal("No detailed champion changes available.").queue();
+        // Turning to an already rendered page is a list lookup and stays on the event thread
+        if (button.navigation) {
+            List<String> pages = detailPages.getIfRendered(button.version, button.section);
+            if (pages != null) {
+                handlePageTurn(event, button, pages);
                 return;
             }
+        }
 
-            // Send the first message as edit
-            event.getHook().editOriginal(messages.get(0)).queue();
-
-            // Send additional messages if needed
-            for (int i = 1; i < messages.size(); i++) {
-                final String msg = messages.get(i);
-                event.getHook().sendMessage(msg).setEphemeral(true).queue();
-                try {
-                    Thread.sleep(100); // Small delay to maintain order
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
+        // Anything that may load or scrape content runs on the engine
+        engine.submit("button:" + button.section.getKey(), DETAIL_TIMEOUT, MAX_CONCURRENT_DETAILS, event, () -> {
+            if (button.navigation) {
+                handlePageTurn(event, button, detailPages.getIfRendered(button.version, button.section));
+            } else {
+                handleDetails(event, button);
             }
-
-            logger.info("Successfully sent {} champion detail messages", messages.size());
-
-        } catch (Exception e) {
-            logger.error("Error handling champion details button", e);
-            event.getHook().editOriginal("❌ Error loading champion details: " + e.getMessage() + ". Please try again.").queue();
-        }
+        });
     }
 
-    private void handleItemDetails(ButtonInteractionEvent event) {
-        event.deferReply(true).queue();
+    private void handleDetails(ButtonInteractionEvent event, DetailButtonId button) {
+        logger.info("Handling {} details button click", describe(button.section));
+        event.deferReply(true).queue(); // Ephemeral reply
 
         try {
-            RiotApiService.PatchContent content = getPatchContentFromContext(event);
+            RiotApiService.PatchContent content = getPatchContent(event, button);
 
-            if (content == null || content.itemChanges == null || content.itemChanges.isEmpty()) {
-                event.getHook().editOriginal("No item changes found for this patch.").queue();
+            if (content == null) {
+                logger.warn("No patch content found for {}", describe(button.section));
+                event.getHook().editOriginal("❌ Could not load " + describe(button.section) + ". Please try running `/latestpatch` again to refresh the data.").queue();
                 return;
             }
 
-            List<String> messages = formatItemDetails(content.itemChanges);
-            event.getHook().editOriginal(messages.get(0)).queue();
-
-            for (int i = 1; i < messages.size(); i++) {
-                final String msg = messages.get(i);
-                event.getHook().sendMessage(msg).setEphemeral(true).queue();
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-
-        } catch (Exception e) {
-            logger.error("Error handling item details button", e);
-            event.getHook().editOriginal("Error loading item details. Please try again.").queue();
-        }
-    }
-
-    private void handleBugDetails(ButtonInteractionEvent event) {
-        event.deferReply(true).queue();
-
-        try {
-            RiotApiService.PatchContent content = getPatchContentFromContext(event);
-
-            if (content == null || content.bugFixes == null || content.bugFixes.isEmpty()) {
-                event.getHook().editOriginal("No bug fixes found for this patch.").queue();
+            if (!hasChanges(content, button.section)) {
+                event.getHook().editOriginal("No " + describe(button.section) + " found for this patch.").queue();
                 return;
             }
 
-            List<String> messages = formatBugFixDetails(content.bugFixes);
-            event.getHook().editOriginal(messages.get(0)).queue();
-
-            for (int i = 1; i < messages.size(); i++) {
-                final String msg = messages.get(i);
-                event.getHook().sendMessage(msg).setEphemeral(true).queue();
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
+            List<String> pages = detailPages.pages(content, button.section);
+            event.getHook().editOriginal(renderPage(button.section, content.version, pages, button.page)).queue();
 
         } catch (Exception e) {
-            logger.error("Error handling bug fix details button", e);
-            event.getHook().editOriginal("Error loading bug fix details. Please try again.").queue();
+            logger.error("Error handling {} button", describe(button.section), e);
+            event.getHook().editOriginal("❌ Error loading " + describe(button.section) + ". Please try again.").queue();
         }
     }
 
-    private void handleSystemDetails(ButtonInteractionEvent event) {
-        event.deferReply(true).queue();
+    // Previous/next swaps the page in place; with the pages already rendered (non-null) this is a list lookup
+    private void handlePageTurn(ButtonInteractionEvent event, DetailButtonId button, List<String> pages) {
+        if (pages != null) {
+            event.editMessage(renderPage(button.section, button.version, pages, button.page)).queue();
+            return;
+        }
 
+        // Rendered pages were evicted; acknowledge first, then render them again
+        event.deferEdit().queue();
         try {
-            RiotApiService.PatchContent content = getPatchContentFromContext(event);
-
-            if (content == null || content.systemChanges == null || content.systemChanges.isEmpty()) {
-                event.getHook().editOriginal("No system changes found for this patch.").queue();
+            RiotApiService.PatchContent content = getPatchContent(event, button);
+            if (content == null || !hasChanges(content, button.section)) {
+                event.getHook().editOriginal("❌ Could not load " + describe(button.section) + ". Please try running `/latestpatch` again.").queue();
                 return;
             }
 
-            List<String> messages = formatSystemDetails(content.systemChanges);
-            event.getHook().editOriginal(messages.get(0)).queue();
-
-            for (int i = 1; i < messages.size(); i++) {
-                final String msg = messages.get(i);
-                event.getHook().sendMessage(msg).setEphemeral(true).queue();
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
+            pages = detailPages.pages(content, button.section);
+            event.getHook().editOriginal(renderPage(button.section, content.version, pages, button.page)).queue();
 
         } catch (Exception e) {
-            logger.error("Error handling system details button", e);
-            event.getHook().editOriginal("Error loading system details. Please try again.").queue();
+            logger.error("Error turning {} page", describe(button.section), e);
+            event.getHook().editOriginal("❌ Error loading " + describe(button.section) + ". Please try again.").queue();
         }
     }
 
-    private List<String> formatChampionDetails(List<RiotApiService.ChampionChange> championChanges) {
-        List<String> messages = new ArrayList<>();
-        StringBuilder currentMessage = new StringBuilder();
-
-        currentMessage.append("**⚔️ DETAILED CHAMPION CHANGES**\n");
-        currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-
-        for (RiotApiService.ChampionChange champion : championChanges) {
-            StringBuilder championSection = new StringBuilder();
-
-            championSection.append("**").append(champion.name).append("**\n");
-            championSection.append("────────────────────────────────\n");
-
-            if (champion.changes.isEmpty()) {
-                championSection.append("• No specific changes listed\n\n");
-            } else {
-                for (String change : champion.changes) {
-                    String cleanChange = cleanAndTruncateChange(change, 150);
-                    championSection.append("• ").append(cleanChange).append("\n");
-                }
-                championSection.append("\n");
-            }
-
-            // Check if adding this champion would exceed message limit
-            if (currentMessage.length() + championSection.length() > MAX_MESSAGE_LENGTH - 100) {
-                messages.add(currentMessage.toString().trim());
-                currentMessage = new StringBuilder();
-                currentMessage.append("**⚔️ CHAMPION CHANGES (continued)**\n");
-                currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-            }
-
-            currentMessage.append(championSection);
-        }
-
-        if (currentMessage.length() > 0) {
-            messages.add(currentMessage.toString().trim());
-        }
-
-        // Limit to prevent spam
-        if (messages.size() > 5) {
-            messages = messages.subList(0, 5);
-            messages.set(4, messages.get(4) + "\n\n*[Results truncated - too many changes to display]*");
+    private MessageEditData renderPage(DetailButtonId.Section section, String version, List<String> pages, int page) {
+        int current = Math.max(0, Math.min(page, pages.size() - 1));
+        MessageEditBuilder message = new MessageEditBuilder()
+                .setContent(PatchDetailPages.withFooter(pages, current));
+
+        if (pages.size() > 1) {
+            message.setActionRow(
+                    Button.secondary(DetailButtonId.page(section, version, Math.max(0, current - 1)), "◀ Previous")
+                            .withDisabled(current == 0),
+                    Button.secondary(DetailButtonId.page(section, version, Math.min(pages.size() - 1, current + 1)), "Next ▶")
+                            .withDisabled(current == pages.size() - 1));
         }
-
-        return messages;
+        return message.build();
     }
 
-    private List<String> formatItemDetails(List<RiotApiService.ItemChange> itemChanges) {
-        List<String> messages = new ArrayList<>();
-        StringBuilder currentMessage = new StringBuilder();
-
-        currentMessage.append("**🗡️ DETAILED ITEM CHANGES**\n");
-        currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-
-        for (RiotApiService.ItemChange item : itemChanges) {
-            StringBuilder itemSection = new StringBuilder();
-
-            itemSection.append("**").append(item.name).append("**\n");
-            itemSection.append("────────────────────────────────\n");
-
-            if (item.changes.isEmpty()) {
-                itemSection.append("• No specific changes listed\n\n");
-            } else {
-                for (String change : item.changes) {
-                    String cleanChange = cleanAndTruncateChange(change, 120);
-                    itemSection.append("• ").append(cleanChange).append("\n");
-                }
-                itemSection.append("\n");
-            }
-
-            // Check message length
-            if (currentMessage.length() + itemSection.length() > MAX_MESSAGE_LENGTH - 100) {
-                messages.add(currentMessage.toString().trim());
-                currentMessage = new StringBuilder();
-                currentMessage.append("**🗡️ ITEM CHANGES (continued)**\n");
-                currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-            }
-
-            currentMessage.append(itemSection);
-        }
-
-        if (currentMessage.length() > 0) {
-            messages.add(currentMessage.toString().trim());
-        }
-
-        if (messages.size() > 3) {
-            messages = messages.subList(0, 3);
-            messages.set(2, messages.get(2) + "\n\n*[Results truncated]*");
+    private static boolean hasChanges(RiotApiService.PatchContent content, DetailButtonId.Section section) {
+        switch (section) {
+            case CHAMPIONS:
+                return content.championChanges != null && !content.championChanges.isEmpty();
+            case ITEMS:
+                return content.itemChanges != null && !content.itemChanges.isEmpty();
+            case BUG_FIXES:
+                return content.bugFixes != null && !content.bugFixes.isEmpty();
+            default:
+                return content.systemChanges != null && !content.systemChanges.isEmpty();
         }
-
-        return messages;
     }
 
-    private List<String> formatBugFixDetails(List<String> bugFixes) {
-        List<String> messages = new ArrayList<>();
-        StringBuilder currentMessage = new StringBuilder();
-
-        currentMessage.append("**🐛 DETAILED BUG FIXES**\n");
-        currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-
-        for (int i = 0; i < Math.min(bugFixes.size(), 20); i++) {
-            String bugFix = cleanAndTruncateChange(bugFixes.get(i), 200);
-            String bugLine = "• " + bugFix + "\n\n";
-
-            if (currentMessage.length() + bugLine.length() > MAX_MESSAGE_LENGTH - 100) {
-                messages.add(currentMessage.toString().trim());
-                currentMessage = new StringBuilder();
-                currentMessage.append("**🐛 BUG FIXES (continued)**\n");
-                currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-            }
-
-            currentMessage.append(bugLine);
-        }
-
-        if (bugFixes.size() > 20) {
-            currentMessage.append("*... and ").append(bugFixes.size() - 20).append(" more bug fixes*\n");
-        }
-
-        if (currentMessage.length() > 0) {
-            messages.add(currentMessage.toString().trim());
+    private static String describe(DetailButtonId.Section section) {
+        switch (section) {
+            case CHAMPIONS:
+                return "champion changes";
+            case ITEMS:
+                return "item changes";
+            case BUG_FIXES:
+                return "bug fixes";
+            default:
+                return "system changes";
         }
-
-        return messages;
     }
 
-    private List<String> formatSystemDetails(List<String> systemChanges) {
-        List<String> messages = new ArrayList<>();
-        StringBuilder currentMessage = new StringBuilder();
-
-        currentMessage.append("**🔧 DETAILED SYSTEM CHANGES**\n");
-        currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-
-        for (String systemChange : systemChanges) {
-            String cleanChange = cleanAndTruncateChange(systemChange, 180);
-            String changeLine = "• " + cleanChange + "\n\n";
-
-            if (currentMessage.length() + changeLine.length() > MAX_MESSAGE_LENGTH - 100) {
-                messages.add(currentMessage.toString().trim());
-                currentMessage = new StringBuilder();
-                currentMessage.append("**🔧 SYSTEM CHANGES (continued)**\n");
-                currentMessage.append("═══════════════════════════════════════════════════════\n\n");
-            }
-
-            currentMessage.append(changeLine);
+    // The version comes straight from the button ID; only legacy buttons need the message guessed at
+    private RiotApiService.PatchContent getPatchContent(ButtonInteractionEvent event, DetailButtonId button) {
+        if (button.isLegacy()) {
+            return getPatchContentFromContext(event);
         }
 
-        if (currentMessage.length() > 0) {
-            messages.add(currentMessage.toString().trim());
+        RiotApiService.PatchContent content = contentCache.get(button.version);
+        if (content != null) {
+            return content;
         }
 
-        return messages;
-    }
-
-    private String cleanAndTruncateChange(String change, int maxLength) {
-        if (change == null) return "No details available";
-
-        String cleaned = change.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("[\\r\\n]+", " ");
-
-        if (cleaned.length() <= maxLength) return cleaned;
-        return cleaned.substring(0, maxLength - 3) + "...";
+        // Neither cached nor stored (e.g. a fresh install): extract exactly the patch the button belongs to
+        logger.info("Patch {} not stored, fetching it for button {}", button.version, button);
+        content = RiotApiService.getInstance().fetchPatchContent(button.version);
+        if (content != null && !content.isPartial()) {
+            PatchSnapshotStore.getInstance().save(content);
+            contentCache.put(content);
+        }
+        return content;
     }
 
+    // Buttons posted before the version was part of the ID
     private RiotApiService.PatchContent getPatchContentFromContext(ButtonInteractionEvent event) {
         // First try to get from cache using the last cached version
-        if (lastCachedVersion != null) {
-            RiotApiService.PatchContent cached = contentCache.get(lastCachedVersion);
-            if (cached != null) {
-                logger.info("Using cached content for latest version: {}", lastCachedVersion);
-                return cached;
-            }
+        RiotApiService.PatchContent latest = contentCache.getLatest();
+        if (latest != null) {
+            logger.info("Using cached content for latest version: {}", latest.version);
+            return latest;
         }
 
         // Try to extract version from the message content with enhanced patterns
@@ -389,6 +212,7 @@ public class ButtonInteractionHandler extends ListenerAdapter {
 
         if (foundVersion != null) {
             logger.info("Found patch version from message: {}", foundVersion);
+            // Memory first, then the snapshot store and patch_notes
             RiotApiService.PatchContent cached = contentCache.get(foundVersion);
             if (cached != null) {
                 return cached;
@@ -398,14 +222,17 @@ public class ButtonInteractionHandler extends ListenerAdapter {
         // If no version found or cached content missing, try to get the latest version
         logger.info("No cached content found, attempting to fetch latest patch data...");
         try {
-            RiotApiService riotApi = new RiotApiService();
+            RiotApiService riotApi = RiotApiService.getInstance();
             String currentVersion = riotApi.getCurrentPatchVersion();
 
             if (currentVersion != null) {
                 logger.info("Fetching fresh content for version: {}", currentVersion);
                 RiotApiService.PatchContent content = riotApi.fetchPatchContent(currentVersion);
                 if (content != null) {
-                    cachePatchContent(currentVersion, content);
+                    if (!content.isPartial()) {
+                        PatchSnapshotStore.getInstance().save(content);
+                        contentCache.putLatest(content);
+                    }
                     return content;
                 }
             }
@@ -418,26 +245,14 @@ public class ButtonInteractionHandler extends ListenerAdapter {
     }
 
     private String extractVersionFromMessage(String messageContent) {
-        // Enhanced patterns to extract patch version
-        String[] patterns = {
-                "Patch\\s+(\\d+\\.\\d+)\\s+Notes",     // "Patch 14.24 Notes"
-                "PATCH NOTES - (\\d+\\.\\d+)",         // "PATCH NOTES - 14.24"
-                "patch[\\s-]+(\\d+\\.\\d+)",           // "patch 14.24" or "patch-14.24"
-                "(\\d+\\.\\d+)\\s+Notes",              // "14.24 Notes"
-                "version\\s+(\\d+\\.\\d+)",            // "version 14.24"
-                "(\\d+\\.\\d+)",                       // Just the version number
-                "CHAMPION CHANGES \\((\\d+)\\)",       // Extract from champion count context
-                "Patch (\\d+\\.\\d+\\d*)"              // Flexible patch format
-        };
-
-        for (String patternStr : patterns) {
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(patternStr, java.util.regex.Pattern.CASE_INSENSITIVE);
+        // Enhanced patterns to extract patch version, most specific first
+        for (java.util.regex.Pattern pattern : PatchPatterns.MESSAGE_VERSION_PATTERNS) {
             java.util.regex.Matcher matcher = pattern.matcher(messageContent);
             if (matcher.find()) {
                 String version = matcher.group(1);
                 // Validate version format (should be like "14.24")
-                if (version.matches("\\d+\\.\\d+")) {
-                    logger.debug("Found patch version '{}' using pattern: {}", version, patternStr);
+                if (PatchPatterns.VERSION_FORMAT.matcher(version).matches()) {
+                    logger.debug("Found patch version '{}' using pattern: {}", version, pattern.pattern());
                     return version;
                 }
             }
@@ -446,52 +261,4 @@ public class ButtonInteractionHandler extends ListenerAdapter {
         logger.warn("Could not extract version from message content");
         return null;
     }
-
-    // Enhanced caching method with better tracking
-    public static void cachePatchContent(String version, RiotApiService.PatchContent content) {
-        logger.info("Caching patch content for version: {}", version);
-
-        if (content == null) {
-            logger.warn("Attempted to cache null content for version: {}", version);
-            return;
-        }
-
-        // Log what we're caching
-        logger.debug("Caching content - Champions: {}, Items: {}, Bug fixes: {}, System changes: {}",
-                content.championChanges != null ? content.championChanges.size() : 0,
-                content.itemChanges != null ? content.itemChanges.size() : 0,
-                content.bugFixes != null ? content.bugFixes.size() : 0,
-                content.systemChanges != null ? content.systemChanges.size() : 0);
-
-        contentCache.put(version, content);
-        lastCachedVersion = version; // Track the most recent version
-
-        logger.debug("Cache now contains {} entries: {}", contentCache.size(), contentCache.keySet());
-
-        // Clean up old entries if cache gets too large
-        if (contentCache.size() > 5) {
-            // Remove older entries but keep the most recent ones
-            List<String> versions = new ArrayList<>(contentCache.keySet());
-            versions.remove(version); // Don't remove the one we just added
-
-            while (contentCache.size() > 5 && !versions.isEmpty()) {
-                String oldestKey = versions.remove(0);
-                contentCache.remove(oldestKey);
-                logger.debug("Removed old cache entry: {}", oldestKey);
-            }
-        }
-    }
-
-    // Method to manually clear cache if needed
-    public static void clearCache() {
-        contentCache.clear();
-        lastCachedVersion = null;
-        logger.info("Cache cleared");
-    }
-
-    // Method to get cache status for debugging
-    public static String getCacheStatus() {
-        return String.format("Cache contains %d entries: %s. Latest: %s",
-                contentCache.size(), contentCache.keySet(), lastCachedVersion);
-    }
 }
\ No newline at end of file
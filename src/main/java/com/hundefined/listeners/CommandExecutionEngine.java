@@ -0,0 +1,214 @@
+package com.hundefined.listeners;
+
+import com.hundefined.config.BotConfig;
+import com.hundefined.services.MetricsService;
+import io.micrometer.core.instrument.Timer;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs slash commands and button work off the JDA event thread.
+ *
+ * Work goes to virtual threads when the runtime has them (Java 21+) and to a bounded
+ * pool otherwise. Each kind of work has its own concurrency limit and timeout; work
+ * that is rejected, fails or times out is reported back on the interaction. Work that
+ * returns a future holds its slot until the future completes, not just until it returns.
+ */
+public class CommandExecutionEngine {
+    private static final Logger logger = LoggerFactory.getLogger(CommandExecutionEngine.class);
+    private static final int QUEUE_CAPACITY = 200;
+
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor timeouts;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final MetricsService metrics = MetricsService.getInstance();
+
+    public CommandExecutionEngine() {
+        this(BotConfig.getCommandExecutor(), BotConfig.getCommandPoolSize());
+    }
+
+    public CommandExecutionEngine(String mode, int poolSize) {
+        this.executor = createExecutor(mode, poolSize);
+        this.timeouts = new ScheduledThreadPoolExecutor(1, daemonThreads("command-timeout"));
+        // Finished work cancels its watchdog; drop it right away instead of at its deadline
+        this.timeouts.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Run the work for an interaction, unless the key is already at its concurrency limit.
+     * The interaction is told about rejection, failure or timeout; the work itself replies on success.
+     */
+    public void submit(String key, Duration timeout, int maxConcurrent, IReplyCallback interaction, Runnable work) {
+        submitAsync(key, timeout, maxConcurrent, interaction, () -> {
+            work.run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    /**
+     * Like submit(), for work that finishes asynchronously. The work only starts its pipeline on an
+     * executor thread; the permit and the timeout cover the returned future until it completes.
+     */
+    public void submitAsync(String key, Duration timeout, int maxConcurrent, IReplyCallback interaction,
+                            Supplier<? extends CompletableFuture<?>> work) {
+        Semaphore limit = permits.computeIfAbsent(key, k -> new Semaphore(maxConcurrent));
+        if (!limit.tryAcquire()) {
+            logger.warn("'{}' is at its limit of {} concurrent executions, rejecting", key, maxConcurrent);
+            metrics.counter("command.rejected", "command", key, "reason", "limit").increment();
+            reportError(interaction, key, "⏳ Too many requests for this right now. Please try again in a moment.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        Timer.Sample sample = Timer.start(metrics.registry());
+        // Completed by the work's future, or by the watchdog with a TimeoutException, whichever is first
+        CompletableFuture<Object> outcome = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> pipeline = new AtomicReference<>();
+        Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                try {
+                    CompletableFuture<?> started = work.get();
+                    pipeline.set(started);
+                    started.whenComplete((result, error) -> {
+                        if (error != null) {
+                            outcome.completeExceptionally(error);
+                        } else {
+                            outcome.complete(result);
+                        }
+                    });
+                } catch (Throwable e) {
+                    outcome.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            limit.release();
+            logger.warn("Command executor is saturated, rejecting '{}'", key);
+            metrics.counter("command.rejected", "command", key, "reason", "saturated").increment();
+            reportError(interaction, key, "⏳ The bot is busy right now. Please try again in a moment.");
+            return;
+        }
+
+        ScheduledFuture<?> watchdog = timeouts.schedule(() -> {
+            if (outcome.completeExceptionally(new TimeoutException())) {
+                running.cancel(true);
+                CompletableFuture<?> started = pipeline.get();
+                if (started != null) {
+                    started.cancel(true);
+                }
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        // Registered last, so it also runs for work that finished before its watchdog existed
+        outcome.whenComplete((result, error) -> {
+            limit.release();
+            watchdog.cancel(false);
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            String status = error == null ? "success" : cause instanceof TimeoutException ? "timeout" : "error";
+            sample.stop(metrics.timer("command.execution", "command", key, "outcome", status));
+
+            if (error == null) {
+                logger.debug("'{}' completed in {} ms", key, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return;
+            }
+
+            if (cause instanceof TimeoutException) {
+                logger.warn("'{}' timed out after {} s", key, timeout.toSeconds());
+                reportError(interaction, key, "⌛ This took too long and was cancelled. Please try again later.");
+            } else {
+                logger.error("Error executing '{}': {}", key, cause.getMessage(), cause);
+                reportError(interaction, key, "❌ An error occurred while processing this command.");
+            }
+        });
+    }
+
+    // Reply if nothing was sent yet, otherwise replace the deferred response
+    static void reportError(IReplyCallback interaction, String key, String message) {
+        if (!interaction.isAcknowledged()) {
+            interaction.reply(message)
+                    .setEphemeral(true)
+                    .queue(
+                            success -> logger.debug("Sent error response for '{}'", key),
+                            failure -> logger.error("Failed to send error response for '{}': {}", key, failure.getMessage())
+                    );
+        } else {
+            interaction.getHook().editOriginal(message)
+                    .queue(
+                            success -> logger.debug("Edited response with error for '{}'", key),
+                            failure -> logger.error("Failed to edit response for '{}': {}", key, failure.getMessage())
+                    );
+        }
+    }
+
+    public void shutdown() {
+        timeouts.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Command execution engine shutdown completed");
+    }
+
+    private static ExecutorService createExecutor(String mode, int poolSize) {
+        if (!"pool".equalsIgnoreCase(mode)) {
+            ExecutorService virtual = virtualThreadExecutor();
+            if (virtual != null) {
+                logger.info("Running commands on virtual threads");
+                return virtual;
+            }
+            if ("virtual".equalsIgnoreCase(mode)) {
+                logger.warn("Virtual threads need Java 21+, falling back to a pool of {} threads", poolSize);
+            }
+        }
+
+        logger.info("Running commands on a pool of {} threads", poolSize);
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY), daemonThreads("command"));
+    }
+
+    // Looked up reflectively so the bot still compiles and runs on Java 17
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -12,8 +12,10 @@ import java.util.Map;
 public class CommandListener extends ListenerAdapter {
     private static final Logger logger = LoggerFactory.getLogger(CommandListener.class);
     private final Map<String, Command> commands; // Fixed: Changed from 'commands' to 'Command'
+    private final CommandExecutionEngine engine;
 
-    public CommandListener() {
+    public CommandListener(CommandExecutionEngine engine) {
+        this.engine = engine;
         commands = new HashMap<>();
 
         // Register all commands
@@ -38,36 +40,14 @@ public class CommandListener extends ListenerAdapter {
         Command command = commands.get(commandName);
 
         if (command != null) {
-            try {
-                logger.info("Executing command '{}' for user '{}' in guild '{}'",
-                        commandName,
-                        event.getUser().getAsTag(),
-                        event.getGuild() != null ? event.getGuild().getName() : "DM");
+            logger.info("Executing command '{}' for user '{}' in guild '{}'",
+                    commandName,
+                    event.getUser().getAsTag(),
+                    event.getGuild() != null ? event.getGuild().getName() : "DM");
 
-                command.executeSlash(event);
-
-            } catch (Exception e) {
-                logger.error("Error executing command '{}': {}", commandName, e.getMessage(), e);
-
-                // Try to respond with error message if the interaction hasn't been acknowledged yet
-                if (!event.isAcknowledged()) {
-                    event.reply("❌ An error occurred while executing this command. Please try again later.")
-                            .setEphemeral(true)
-                            .queue(
-                                    success -> logger.debug("Sent error response for command '{}'", commandName),
-                                    failure -> logger.error("Failed to send error response for command '{}': {}",
-                                            commandName, failure.getMessage())
-                            );
-                } else {
-                    // If already acknowledged, edit the original response
-                    event.getHook().editOriginal("❌ An error occurred while processing this command.")
-                            .queue(
-                                    success -> logger.debug("Edited response with error for command '{}'", commandName),
-                                    failure -> logger.error("Failed to edit response for command '{}': {}",
-                                            commandName, failure.getMessage())
-                            );
-                }
-            }
+            // Never block the gateway thread; errors and timeouts are reported on the interaction
+            engine.submitAsync("command:" + commandName, command.getTimeout(), command.getMaxConcurrency(), event,
+                    () -> command.executeAsync(event));
         } else {
             logger.warn("Unknown command received: {}", commandName);
             event.reply("❌ Unknown command: " + commandName)
@@ -0,0 +1,107 @@
+package com.hundefined.listeners;
+
+import com.hundefined.services.PatchPatterns;
+
+/**
+ * Component ID of a patch detail button, e.g. {@code d:champ:25.19:p0}.
+ *
+ * The ID carries everything needed to answer the click (section, patch version and
+ * page), so the handler never has to guess the patch from the message it is attached to.
+ * Previous/next buttons use the {@code p:} prefix and swap the page in place.
+ */
+public final class DetailButtonId {
+    public static final String PREFIX = "d";
+    public static final String PAGE_PREFIX = "p";
+    private static final char SEPARATOR = ':';
+
+    public enum Section {
+        CHAMPIONS("champ", "champ_details"),
+        ITEMS("item", "item_details"),
+        BUG_FIXES("bug", "bug_details"),
+        SYSTEM("sys", "system_details");
+
+        private final String key;
+        private final String legacyId;
+
+        Section(String key, String legacyId) {
+            this.key = key;
+            this.legacyId = legacyId;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        static Section fromKey(String key) {
+            for (Section section : values()) {
+                if (section.key.equals(key)) return section;
+            }
+            return null;
+        }
+    }
+
+    public final Section section;
+    // Null for buttons posted before the version was encoded in the ID
+    public final String version;
+    public final int page;
+    // True for previous/next buttons on an already open detail view
+    public final boolean navigation;
+
+    private DetailButtonId(Section section, String version, int page, boolean navigation) {
+        this.section = section;
+        this.version = version;
+        this.page = page;
+        this.navigation = navigation;
+    }
+
+    public static String of(Section section, String version, int page) {
+        return format(PREFIX, section, version, page);
+    }
+
+    public static String page(Section section, String version, int page) {
+        return format(PAGE_PREFIX, section, version, page);
+    }
+
+    private static String format(String prefix, Section section, String version, int page) {
+        return prefix + SEPARATOR + section.key + SEPARATOR + version + SEPARATOR + "p" + page;
+    }
+
+    /** Parse a current or legacy button ID; null for anything else */
+    public static DetailButtonId parse(String componentId) {
+        if (componentId == null) return null;
+
+        for (Section section : Section.values()) {
+            if (section.legacyId.equals(componentId)) {
+                return new DetailButtonId(section, null, 0, false);
+            }
+        }
+
+        String[] parts = componentId.split(String.valueOf(SEPARATOR), -1);
+        boolean navigation = PAGE_PREFIX.equals(parts[0]);
+        if (parts.length != 4 || !(navigation || PREFIX.equals(parts[0])) || !parts[3].startsWith("p")) {
+            return null;
+        }
+
+        Section section = Section.fromKey(parts[1]);
+        if (section == null || !PatchPatterns.VERSION_FORMAT.matcher(parts[2]).matches()) {
+            return null;
+        }
+
+        try {
+            int page = Integer.parseInt(parts[3].substring(1));
+            return page >= 0 ? new DetailButtonId(section, parts[2], page, navigation) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public boolean isLegacy() {
+        return version == null;
+    }
+
+    @Override
+    public String toString() {
+        if (isLegacy()) return section.legacyId;
+        return navigation ? page(section, version, page) : of(section, version, page);
+    }
+}
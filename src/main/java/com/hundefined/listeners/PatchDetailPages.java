@@ -0,0 +1,180 @@
+package com.hundefined.listeners;
+
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.LruCache;
+import com.hundefined.services.MetricsService;
+import com.hundefined.services.PatchPatterns;
+import com.hundefined.services.RiotApiService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detail views of a patch, rendered once per version into pages that each fit one message.
+ *
+ * Every change is kept; long sections simply get more pages. A click then only picks a
+ * page out of the cached list.
+ */
+public class PatchDetailPages {
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+    // Room for the "Page x/y" footer
+    private static final int PAGE_BUDGET = MAX_MESSAGE_LENGTH - 100;
+    private static final String RULE = "═══════════════════════════════════════════════════════\n\n";
+    private static final String SUB_RULE = "────────────────────────────────";
+    private static PatchDetailPages instance;
+
+    private final LruCache<String, Map<DetailButtonId.Section, List<String>>> rendered =
+            LruCache.<String, Map<DetailButtonId.Section, List<String>>>builder("detail pages")
+                    .maximumSize(10)
+                    .build();
+
+    private final ChangeClassifier changeClassifier = new ChangeClassifier();
+
+    private PatchDetailPages() {
+    }
+
+    public static synchronized PatchDetailPages getInstance() {
+        if (instance == null) {
+            instance = new PatchDetailPages();
+        }
+        return instance;
+    }
+
+    /** Pages already rendered for the version, or null */
+    public List<String> getIfRendered(String version, DetailButtonId.Section section) {
+        Map<DetailButtonId.Section, List<String>> sections = rendered.getIfPresent(version);
+        return sections != null ? sections.get(section) : null;
+    }
+
+    /**
+     * Pages of one section, rendering every section of the patch on first use. Partially extracted
+     * content is rendered for this request only, so the next click can pick up the full patch.
+     */
+    public List<String> pages(RiotApiService.PatchContent content, DetailButtonId.Section section) {
+        Map<DetailButtonId.Section, List<String>> sections = rendered.getIfPresent(content.version);
+        if (sections == null) {
+            sections = MetricsService.getInstance().timer("detail.render").record(() -> render(content));
+            if (!content.isPartial()) {
+                rendered.put(content.version, sections);
+            }
+        }
+        return sections.get(section);
+    }
+
+    /** The page text with its position appended when there is more than one */
+    public static String withFooter(List<String> pages, int page) {
+        String text = pages.get(page);
+        return pages.size() > 1 ? text + "\n\n*Page " + (page + 1) + "/" + pages.size() + "*" : text;
+    }
+
+    private Map<DetailButtonId.Section, List<String>> render(RiotApiService.PatchContent content) {
+        Map<DetailButtonId.Section, List<String>> sections = new EnumMap<>(DetailButtonId.Section.class);
+        sections.put(DetailButtonId.Section.CHAMPIONS, renderChampions(content.championChanges));
+        sections.put(DetailButtonId.Section.ITEMS, renderItems(content.itemChanges));
+        sections.put(DetailButtonId.Section.BUG_FIXES, renderLines("🐛", "BUG FIXES", content.bugFixes));
+        sections.put(DetailButtonId.Section.SYSTEM, renderLines("🔧", "SYSTEM CHANGES", content.systemChanges));
+        return Collections.unmodifiableMap(sections);
+    }
+
+    private List<String> renderChampions(List<RiotApiService.ChampionChange> championChanges) {
+        Pager pager = new Pager("⚔️", "CHAMPION CHANGES");
+        if (championChanges != null) {
+            for (RiotApiService.ChampionChange champion : championChanges) {
+                pager.addBlock(namedBlock(ChangeClassifier.icon(changeClassifier.classify(champion)), champion.name, champion.changes));
+            }
+        }
+        return pager.finish();
+    }
+
+    private List<String> renderItems(List<RiotApiService.ItemChange> itemChanges) {
+        Pager pager = new Pager("🗡️", "ITEM CHANGES");
+        if (itemChanges != null) {
+            for (RiotApiService.ItemChange item : itemChanges) {
+                pager.addBlock(namedBlock(ChangeClassifier.icon(changeClassifier.classify(item)), item.name, item.changes));
+            }
+        }
+        return pager.finish();
+    }
+
+    private List<String> renderLines(String icon, String title, List<String> lines) {
+        Pager pager = new Pager(icon, title);
+        if (lines != null) {
+            for (String line : lines) {
+                pager.addBlock(List.of("• " + clean(line), ""));
+            }
+        }
+        return pager.finish();
+    }
+
+    private List<String> namedBlock(String icon, String name, List<String> changes) {
+        List<String> block = new ArrayList<>();
+        block.add(icon + " **" + name + "**");
+        block.add(SUB_RULE);
+        if (changes == null || changes.isEmpty()) {
+            block.add("• No specific changes listed");
+        } else {
+            for (String change : changes) {
+                block.add("• " + clean(change));
+            }
+        }
+        block.add("");
+        return block;
+    }
+
+    private static String clean(String change) {
+        return change != null ? PatchPatterns.collapseWhitespace(change) : "No details available";
+    }
+
+    // Fills pages block by block; a block only spans pages when it is larger than a page itself
+    private static class Pager {
+        private final String firstHeader;
+        private final String continuedHeader;
+        private final List<String> pages = new ArrayList<>();
+        private StringBuilder current;
+        private int headerLength;
+
+        Pager(String icon, String title) {
+            this.firstHeader = "**" + icon + " DETAILED " + title + "**\n" + RULE;
+            this.continuedHeader = "**" + icon + " " + title + " (continued)**\n" + RULE;
+            this.current = new StringBuilder(firstHeader);
+            this.headerLength = firstHeader.length();
+        }
+
+        void addBlock(List<String> lines) {
+            int blockLength = 0;
+            for (String line : lines) {
+                blockLength += line.length() + 1;
+            }
+
+            if (current.length() + blockLength > PAGE_BUDGET && current.length() > headerLength) {
+                newPage();
+            }
+
+            for (String line : lines) {
+                String fitted = line.length() > PAGE_BUDGET - continuedHeader.length() - 1
+                        ? line.substring(0, PAGE_BUDGET - continuedHeader.length() - 4) + "..."
+                        : line;
+                if (current.length() + fitted.length() + 1 > PAGE_BUDGET) {
+                    newPage();
+                }
+                current.append(fitted).append('\n');
+            }
+        }
+
+        List<String> finish() {
+            if (current.length() > headerLength || pages.isEmpty()) {
+                pages.add(current.toString().trim());
+            }
+            return Collections.unmodifiableList(pages);
+        }
+
+        private void newPage() {
+            pages.add(current.toString().trim());
+            current = new StringBuilder(continuedHeader);
+            headerLength = continuedHeader.length();
+        }
+    }
+}
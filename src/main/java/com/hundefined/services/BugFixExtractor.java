@@ -1,6 +1,5 @@
 package com.hundefined.services;
 
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
@@ -11,8 +10,9 @@ import java.util.List;
 
 public class BugFixExtractor {
     private static final Logger logger = LoggerFactory.getLogger(BugFixExtractor.class);
+    private static final int[] SECTION_LEVELS = {2, 3};
 
-    public List<String> extractBugFixes(Document doc) {
+    public List<String> extractBugFixes(PatchDocument doc) {
         logger.info("Starting bug fix extraction...");
 
         List<String> bugFixes = new ArrayList<>();
@@ -29,40 +29,53 @@ public class BugFixExtractor {
         return bugFixes;
     }
 
-    private void extractFromBugSections(Document doc, List<String> bugFixes) {
-        String[] selectors = {
-                "h2:contains(Bug), h3:contains(Bug), h2:contains(QoL), h3:contains(QoL)",
-                "h2:contains(Fix), h3:contains(Fix), h2:contains(Fixes), h3:contains(Fixes)",
-                "h2:contains(Bugfix), h3:contains(Bugfix), h2:contains(Bugfixes), h3:contains(Bugfixes)",
-                "[id*='bug'], [class*='bug'], [id*='fix'], [class*='fix']"
+    private void extractFromBugSections(PatchDocument doc, List<String> bugFixes) {
+        // Heading keyword groups, tried in order (h2/h3 headings, case-insensitive like :contains)
+        String[][] headingKeywords = {
+                {"bug", "qol"},
+                {"fix", "fixes"},
+                {"bugfix", "bugfixes"}
         };
 
-        for (String selector : selectors) {
-            Elements sections = doc.select(selector);
+        for (String[] keywords : headingKeywords) {
+            List<PatchDocument.Section> sections = doc.sectionsContaining(SECTION_LEVELS, keywords);
             if (!sections.isEmpty()) {
-                logger.debug("Found {} bug fix sections with selector: {}", sections.size(), selector);
-                processBugFixSection(sections.first(), bugFixes);
+                logger.debug("Found {} bug fix sections with keywords: {}", sections.size(), String.join(", ", keywords));
+                processBugFixSection(doc, sections.get(0).heading, bugFixes);
                 if (!bugFixes.isEmpty()) {
-                    logger.info("Found {} bug fixes using selector: {}", bugFixes.size(), selector);
+                    logger.info("Found {} bug fixes using keywords: {}", bugFixes.size(), String.join(", ", keywords));
                     return;
                 }
             }
         }
+
+        // Fall back to containers tagged with bug/fix ids or classes
+        Elements sections = doc.find(element -> {
+            String idAndClass = (element.id() + " " + element.className()).toLowerCase();
+            return idAndClass.contains("bug") || idAndClass.contains("fix");
+        });
+        if (!sections.isEmpty()) {
+            logger.debug("Found {} bug fix sections by id/class", sections.size());
+            processBugFixSection(doc, sections.first(), bugFixes);
+            if (!bugFixes.isEmpty()) {
+                logger.info("Found {} bug fixes using id/class sections", bugFixes.size());
+            }
+        }
     }
 
-    private void processBugFixSection(Element section, List<String> bugFixes) {
-        Element current = section.nextElementSibling();
+    private void processBugFixSection(PatchDocument doc, Element section, List<String> bugFixes) {
+        Element current = doc.nextElementSibling(section);
         int elementsChecked = 0;
         final int MAX_ELEMENTS = 20;
 
         logger.debug("Processing bug fix section starting from: {}", section.tagName());
 
-        while (current != null && elementsChecked < MAX_ELEMENTS && !isNewSection(current)) {
+        while (current != null && elementsChecked < MAX_ELEMENTS && !isNewSection(doc, current)) {
             if (current.tagName().equals("ul")) {
                 // Extract from unordered lists
-                Elements listItems = current.select("li");
+                Elements listItems = doc.select(current, "li");
                 for (Element li : listItems) {
-                    String text = cleanText(li.text());
+                    String text = cleanText(doc.text(li));
                     if (!text.isEmpty() && isBugFixText(text)) {
                         bugFixes.add(text);
                         logger.debug("Found bug fix from list: {}",
@@ -71,9 +84,9 @@ public class BugFixExtractor {
                 }
             } else if (current.tagName().equals("ol")) {
                 // Extract from ordered lists
-                Elements listItems = current.select("li");
+                Elements listItems = doc.select(current, "li");
                 for (Element li : listItems) {
-                    String text = cleanText(li.text());
+                    String text = cleanText(doc.text(li));
                     if (!text.isEmpty() && isBugFixText(text)) {
                         bugFixes.add(text);
                         logger.debug("Found bug fix from ordered list: {}",
@@ -82,7 +95,7 @@ public class BugFixExtractor {
                 }
             } else {
                 // Extract from paragraphs or other elements
-                String text = cleanText(current.text());
+                String text = cleanText(doc.text(current));
                 if (!text.isEmpty() && isBugFixText(text)) {
                     bugFixes.add(text);
                     logger.debug("Found bug fix from paragraph: {}",
@@ -90,24 +103,24 @@ public class BugFixExtractor {
                 }
             }
 
-            current = current.nextElementSibling();
+            current = doc.nextElementSibling(current);
             elementsChecked++;
         }
 
         logger.debug("Processed {} elements in bug fix section", elementsChecked);
     }
 
-    private void extractFromTextMatches(Document doc, List<String> bugFixes) {
+    private void extractFromTextMatches(PatchDocument doc, List<String> bugFixes) {
         logger.debug("Starting fallback text-based bug fix extraction...");
 
         // Look for elements containing bug fix keywords
         String[] keywords = {"Fixed", "fixed", "Bug", "bug", "Resolved", "resolved"};
 
         for (String keyword : keywords) {
-            Elements elements = doc.getElementsContainingText(keyword);
+            Elements elements = doc.elementsContainingText(keyword);
 
             for (Element element : elements) {
-                String text = cleanText(element.text());
+                String text = cleanText(doc.text(element));
                 if (text.length() > 15 && isBugFixText(text)) {
                     // Avoid duplicates
                     boolean exists = bugFixes.stream()
@@ -148,12 +161,12 @@ public class BugFixExtractor {
         return hasBugKeyword && !isFalsePositive;
     }
 
-    private boolean isNewSection(Element element) {
+    private boolean isNewSection(PatchDocument doc, Element element) {
         if (element == null) return true;
 
         String tagName = element.tagName().toLowerCase();
         if (tagName.equals("h1") || tagName.equals("h2") || tagName.equals("h3")) {
-            String text = element.text().toLowerCase();
+            String text = doc.lowerText(element);
             return text.contains("champion") || text.contains("item") ||
                     text.contains("upcoming") || text.contains("related") ||
                     text.contains("patch highlights") || text.contains("system");
@@ -164,9 +177,6 @@ public class BugFixExtractor {
 
     private String cleanText(String text) {
         if (text == null) return "";
-        return text.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("[\\r\\n]+", " ")
-                .trim();
+        return PatchPatterns.collapseWhitespace(text);
     }
 }
\ No newline at end of file
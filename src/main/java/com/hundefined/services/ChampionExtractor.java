@@ -1,12 +1,12 @@
 package com.hundefined.services;
 
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -14,7 +14,7 @@ public class ChampionExtractor {
     private static final Logger logger = LoggerFactory.getLogger(ChampionExtractor.class);
 
     // Known champion names - comprehensive list
-    private static final Set<String> CHAMPION_NAMES = new HashSet<>(Arrays.asList(
+    static final Set<String> CHAMPION_NAMES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
             "Aatrox", "Ahri", "Akali", "Akshan", "Alistar", "Ammu", "Anivia", "Annie", "Aphelios", "Ashe", "Aurelion Sol", "Azir",
             "Bard", "Blitzcrank", "Brand", "Braum", "Caitlyn", "Camille", "Cassiopeia", "Cho'Gath", "Corki", "Darius", "Diana",
             "Dr. Mundo", "Draven", "Ekko", "Elise", "Evelynn", "Ezreal", "Fiddlesticks", "Fiora", "Fizz", "Galio", "Gangplank",
@@ -30,9 +30,22 @@ public class ChampionExtractor {
             "Twitch", "Udyr", "Urgot", "Varus", "Vayne", "Veigar", "Vel'Koz", "Vex", "Vi", "Viego", "Viktor", "Vladimir",
             "Volibear", "Warwick", "Wukong", "Xayah", "Xerath", "Xin Zhao", "Yasuo", "Yone", "Yorick", "Yuumi", "Zac", "Zed",
             "Ziggs", "Zilean", "Zoe", "Zyra"
-    ));
+    )));
 
-    public List<ChampionChange> extractChampionChanges(Document doc) {
+    // Precompiled automata over CHAMPION_NAMES: exact-case for body text, case-insensitive for headings and lookups
+    private static final ChampionNameMatcher NAME_MATCHER = new ChampionNameMatcher(CHAMPION_NAMES, true);
+    private static final ChampionNameMatcher NAME_MATCHER_IGNORE_CASE = new ChampionNameMatcher(CHAMPION_NAMES, false);
+
+    private static final int[] SECTION_LEVELS = {2, 3};
+
+    // h3, h4, h5, .champion-name, [data-champion]
+    private static final Predicate<Element> CHAMPION_SUBSECTION = element -> {
+        String tag = element.normalName();
+        return tag.equals("h3") || tag.equals("h4") || tag.equals("h5") ||
+                element.hasClass("champion-name") || element.hasAttr("data-champion");
+    };
+
+    public List<ChampionChange> extractChampionChanges(PatchDocument doc) {
         logger.info("=== Starting Enhanced Champion Extraction ===");
 
         List<ChampionChange> championChanges = new ArrayList<>();
@@ -57,9 +70,14 @@ public class ChampionExtractor {
         // Post-process to improve stat detection for all champions
         enhanceStatDetection(doc, championChanges);
 
+        // Scan each line for numeric changes once; everything downstream reads the records
+        for (ChampionChange change : championChanges) {
+            change.stats = StatChangeParser.parseAll(change.name, change.changes);
+        }
+
         // Log detailed results
         for (ChampionChange change : championChanges) {
-            logger.info("Champion {}: {} changes", change.name, change.changes.size());
+            logger.info("Champion {}: {} changes, {} stat changes", change.name, change.changes.size(), change.stats.size());
             for (int i = 0; i < Math.min(3, change.changes.size()); i++) {
                 logger.debug("  Change {}: {}", i + 1,
                         change.changes.get(i).length() > 100 ?
@@ -71,52 +89,72 @@ public class ChampionExtractor {
         return championChanges;
     }
 
-    private void extractFromStructuredSections(Document doc, List<ChampionChange> championChanges) {
+    private void extractFromStructuredSections(PatchDocument doc, List<ChampionChange> championChanges) {
         logger.debug("=== Strategy 1: Structured Sections ===");
 
-        String[] sectionSelectors = {
-                "section:has(h2:containsOwn(Champion)), section:has(h3:containsOwn(Champion))",
-                "div:has(h2:containsOwn(Champion)), div:has(h3:containsOwn(Champion))",
-                "h2:containsOwn(Champion), h3:containsOwn(Champion)",
-                "*[class*='champion'], *[id*='champion']"
-        };
+        // h2/h3 headings whose own text mentions champions, found once from the section index
+        Elements championHeadings = new Elements();
+        for (PatchDocument.Section section : doc.sectionsOwnTextContaining(SECTION_LEVELS, "champion")) {
+            championHeadings.add(section.heading);
+        }
+
+        // Candidate containers, tried in the same order as the old selectors:
+        // section:has(heading), div:has(heading), the headings themselves, then [class|id*='champion']
+        Map<String, Elements> candidates = new LinkedHashMap<>();
+        candidates.put("section containing champion heading", ancestorsWithTag(doc, championHeadings, "section"));
+        candidates.put("div containing champion heading", ancestorsWithTag(doc, championHeadings, "div"));
+        candidates.put("champion heading", championHeadings);
+        candidates.put("champion class or id", doc.elementsWithIdOrClassContaining("champion"));
 
-        for (String selector : sectionSelectors) {
+        for (Map.Entry<String, Elements> candidate : candidates.entrySet()) {
             try {
-                Elements sections = doc.select(selector);
-                logger.debug("Selector '{}' found {} elements", selector, sections.size());
+                Elements sections = candidate.getValue();
+                logger.debug("Selector '{}' found {} elements", candidate.getKey(), sections.size());
 
                 if (!sections.isEmpty()) {
                     for (Element section : sections) {
-                        processStructuredSectionWithStats(section, championChanges);
+                        processStructuredSectionWithStats(doc, section, championChanges);
                     }
 
                     if (!championChanges.isEmpty()) {
-                        logger.info("Found {} champions using structured selector: {}", championChanges.size(), selector);
+                        logger.info("Found {} champions using structured selector: {}", championChanges.size(), candidate.getKey());
                         return;
                     }
                 }
             } catch (Exception e) {
-                logger.debug("Error with selector '{}': {}", selector, e.getMessage());
+                logger.debug("Error with selector '{}': {}", candidate.getKey(), e.getMessage());
             }
         }
     }
 
-    private void processStructuredSectionWithStats(Element section, List<ChampionChange> championChanges) {
+    // Distinct ancestors with the given tag, in document order (like tag:has(heading))
+    private Elements ancestorsWithTag(PatchDocument doc, Elements headings, String tag) {
+        Set<Element> ancestors = new HashSet<>();
+        for (Element heading : headings) {
+            for (Element parent = heading.parent(); parent != null; parent = parent.parent()) {
+                if (parent.normalName().equals(tag)) {
+                    ancestors.add(parent);
+                }
+            }
+        }
+        return doc.inDocumentOrder(ancestors);
+    }
+
+    private void processStructuredSectionWithStats(PatchDocument doc, Element section, List<ChampionChange> championChanges) {
         logger.debug("Processing structured section with enhanced stat detection");
 
         // Look for champion subsections or direct champion mentions
-        Elements championElements = section.select("h3, h4, h5, .champion-name, [data-champion]");
+        Elements championElements = doc.select(section, CHAMPION_SUBSECTION);
 
         if (championElements.isEmpty()) {
             // No clear champion subsections, analyze the whole section for champions and their stats
-            analyzeTextForChampionsWithStats(section, championChanges);
+            analyzeTextForChampionsWithStats(doc, section, championChanges);
         } else {
             // Process each champion subsection with stat focus
             for (Element champElement : championElements) {
-                String championName = identifyChampionName(champElement.text());
+                String championName = identifyChampionName(doc.text(champElement));
                 if (championName != null) {
-                    ChampionChange change = extractChangesForChampionWithStats(champElement, championName, section);
+                    ChampionChange change = extractChangesForChampionWithStats(doc, champElement, championName);
                     if (change != null && !change.changes.isEmpty()) {
                         addUniqueChampion(championChanges, change);
                     }
@@ -125,43 +163,19 @@ public class ChampionExtractor {
         }
     }
 
-    private void extractChampionsWithStatFocus(Document doc, List<ChampionChange> championChanges) {
+    private void extractChampionsWithStatFocus(PatchDocument doc, List<ChampionChange> championChanges) {
         logger.debug("=== Strategy 2: Stat-Focused Pattern Matching ===");
 
         String fullText = doc.text();
 
-        // Enhanced patterns specifically for stat changes
         // Pattern 1: Champion name followed by stat arrows (Lee Sin Base AD: 68 → 63)
-        Pattern statArrowPattern = Pattern.compile(
-                "(" + buildChampionRegex() + ")\\s+" +
-                        "(?:Base\\s+)?([A-Za-z\\s]+?)\\s*:?\\s*" +
-                        "(\\d+(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+)?)",
-                Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-        );
-
-        extractStatsWithPattern(statArrowPattern, fullText, championChanges, "stat arrow pattern");
+        extractStatsWithPattern(PatchPatterns.CHAMPION_STAT_ARROW, fullText, championChanges, "stat arrow pattern");
 
         // Pattern 2: Champion ability with stat changes (Lee Sin Q - Damage: 55/80/105/130/155 → 50/75/100/125/150)
-        Pattern abilityStatPattern = Pattern.compile(
-                "(" + buildChampionRegex() + ")\\s+" +
-                        "([QWER]|Passive)\\s*[-–—:]+\\s*" +
-                        "([^\\n]+?)\\s*" +
-                        "(\\d+(?:/\\d+)*(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)",
-                Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-        );
-
-        extractStatsWithPattern(abilityStatPattern, fullText, championChanges, "ability stat pattern");
+        extractStatsWithPattern(PatchPatterns.CHAMPION_ABILITY_STAT, fullText, championChanges, "ability stat pattern");
 
         // Pattern 3: General stat increase/decrease mentions
-        Pattern statChangePattern = Pattern.compile(
-                "(" + buildChampionRegex() + ")\\s+" +
-                        "([A-Za-z\\s]+?)\\s*" +
-                        "(increased|decreased|reduced|improved|lowered|raised)\\s+" +
-                        "(?:from\\s+)?(\\d+(?:\\.\\d+)?)\\s*(?:to\\s+)?(\\d+(?:\\.\\d+)?)",
-                Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-        );
-
-        extractStatsWithPattern(statChangePattern, fullText, championChanges, "stat change pattern");
+        extractStatsWithPattern(PatchPatterns.CHAMPION_STAT_CHANGE, fullText, championChanges, "stat change pattern");
     }
 
     /**
@@ -181,7 +195,7 @@ public class ChampionExtractor {
         }
 
         // Split by sentences and look for change patterns
-        String[] sentences = paragraph.split("[\\.!?]+");
+        String[] sentences = PatchPatterns.SENTENCE_SPLIT.split(paragraph);
 
         for (String sentence : sentences) {
             String trimmed = sentence.trim();
@@ -240,25 +254,24 @@ public class ChampionExtractor {
         String lowerChampName = championName.toLowerCase();
 
         // Ability patterns - Q, W, E, R, Passive
-        if (lowerText.matches(".*\\b[qwer]\\s*[-–—:].*") ||
-                lowerText.toLowerCase().contains("passive")) {
+        if (PatchPatterns.ABILITY_LABEL.matcher(lowerText).find() ||
+                lowerText.contains("passive")) {
             return true;
         }
 
         // Base stat patterns
-        if (lowerText.matches(".*base\\s+(stats?|ad|ap|health|hp|armor|mr|damage).*")) {
+        if (PatchPatterns.BASE_STAT.matcher(lowerText).find()) {
             return true;
         }
 
         // Stat arrows and changes with numbers
         if (text.contains("⇒") || text.contains("→") || text.contains("▶") ||
-                lowerText.matches(".*\\d+.*⇒.*\\d+.*") ||
-                lowerText.matches(".*\\d+.*→.*\\d+.*")) {
+                PatchPatterns.NUMBER_ARROW_NUMBER.matcher(lowerText).find()) {
             return true;
         }
 
         // Stat labels with numbers
-        if (lowerText.matches(".*(damage|cooldown|range|cost|health|mana|shield|heal).*:.*\\d+.*")) {
+        if (PatchPatterns.STAT_LABEL_WITH_NUMBER.matcher(lowerText).find()) {
             return true;
         }
 
@@ -269,7 +282,7 @@ public class ChampionExtractor {
 
 
         // Buff/nerf language
-        if (lowerText.matches(".*(buff|nerf|increas|decreas|improv|adjust|reduc|strengthen|weaken).*")) {
+        if (PatchPatterns.CHANGE_LANGUAGE.matcher(lowerText).find()) {
             return true;
         }
 
@@ -287,53 +300,32 @@ public class ChampionExtractor {
 
         // Must mention the champion or use pronouns referring to them
         boolean mentionsChampion = lowerText.contains(lowerChampName) ||
-                lowerText.matches(".*(she|he|they|this champion).*");
+                PatchPatterns.PRONOUN_REFERENCE.matcher(lowerText).find();
 
         if (!mentionsChampion) return false;
 
         // Look for reasoning patterns commonly used in patch notes
-        boolean hasReasoningPattern = lowerText.matches(".*(" +
-                // Performance indicators
-                "is|has|currently|perform|statistically|" +
-                // Strength/weakness indicators
-                "weak|strong|powerful|domina|overpow|underpow|struggling|" +
-                // Comparative language
-                "too|very|quite|rather|fairly|slightly|" +
-                // Context indicators
-                "popular|unpopular|missing|absent|present|" +
-                // Play context
-                "pro play|regular play|high mmr|low mmr|coordinated|teams|solo queue|" +
-                // Developer intent
-                "we|our goal|hope|want|like|would|" +
-                // Temporal context
-                "recently|lately|now|since|after|before" +
-                ").*");
+        boolean hasReasoningPattern = PatchPatterns.REASONING_LANGUAGE.matcher(lowerText).find();
 
         // Additional patterns for champion descriptions
-        boolean hasDescriptivePattern = lowerText.matches(".*(" +
-                "reasonably|little|bit|somewhat|especially|particularly|" +
-                "continues to|has been|finds|makes|allows|" +
-                "role|position|kit|abilities|playstyle|identity" +
-                ").*");
+        boolean hasDescriptivePattern = PatchPatterns.DESCRIPTIVE_LANGUAGE.matcher(lowerText).find();
 
         return hasReasoningPattern || hasDescriptivePattern;
     }
 
-    private void extractFromContextWithStats(Document doc, List<ChampionChange> championChanges) {
+    private void extractFromContextWithStats(PatchDocument doc, List<ChampionChange> championChanges) {
         logger.debug("=== Strategy 3: Context-based with Stats ===");
 
-        Elements textElements = doc.select("p, div, li, td, span");
+        Elements textElements = doc.elementsByTag("p", "div", "li", "td", "span");
 
         for (Element element : textElements) {
-            String text = element.text();
+            String text = doc.text(element);
             if (text.length() < 20) continue;
 
-            for (String championName : CHAMPION_NAMES) {
-                if (containsChampionName(text, championName)) {
-                    ChampionChange change = extractContextualChangesWithStats(element, championName);
-                    if (change != null && !change.changes.isEmpty()) {
-                        addUniqueChampion(championChanges, change);
-                    }
+            for (String championName : NAME_MATCHER.findDistinct(text)) {
+                ChampionChange change = extractContextualChangesWithStats(doc, element, championName);
+                if (change != null && !change.changes.isEmpty()) {
+                    addUniqueChampion(championChanges, change);
                 }
             }
 
@@ -341,14 +333,21 @@ public class ChampionExtractor {
         }
     }
 
-    private void enhanceStatDetection(Document doc, List<ChampionChange> championChanges) {
+    private void enhanceStatDetection(PatchDocument doc, List<ChampionChange> championChanges) {
         logger.info("Enhancing stat detection for {} champions", championChanges.size());
 
         String fullDocText = doc.text();
 
+        // One scan of the document finds every mention of every champion
+        Map<String, List<ChampionNameMatcher.Match>> mentions = new HashMap<>();
+        for (ChampionNameMatcher.Match match : NAME_MATCHER_IGNORE_CASE.findAll(fullDocText)) {
+            mentions.computeIfAbsent(match.name, k -> new ArrayList<>()).add(match);
+        }
+
         for (ChampionChange change : championChanges) {
             // Look for more stat changes around this champion's name
-            List<String> additionalStats = findAdditionalStats(fullDocText, change.name);
+            List<String> additionalStats = findAdditionalStats(fullDocText,
+                    mentions.getOrDefault(change.name, Collections.emptyList()), change.name);
 
             for (String stat : additionalStats) {
                 if (!change.changes.contains(stat) && !isDuplicateStat(change.changes, stat)) {
@@ -359,19 +358,17 @@ public class ChampionExtractor {
         }
     }
 
-    private List<String> findAdditionalStats(String fullText, String championName) {
+    private List<String> findAdditionalStats(String fullText, List<ChampionNameMatcher.Match> mentions, String championName) {
         List<String> stats = new ArrayList<>();
 
-        // Find all instances of the champion name
-        Pattern championPattern = Pattern.compile(
-                "(" + Pattern.quote(championName) + ")([^\\n\\.]{0,200})",
-                Pattern.CASE_INSENSITIVE
-        );
-
-        Matcher matcher = championPattern.matcher(fullText);
-
-        while (matcher.find()) {
-            String context = matcher.group(2);
+        for (ChampionNameMatcher.Match mention : mentions) {
+            // Context runs up to 200 characters, stopping at the end of the line or sentence
+            int end = mention.end;
+            int limit = Math.min(fullText.length(), mention.end + 200);
+            while (end < limit && fullText.charAt(end) != '\n' && fullText.charAt(end) != '.') {
+                end++;
+            }
+            String context = fullText.substring(mention.end, end);
 
             // Look for stat patterns in the context
             List<String> contextStats = extractStatsFromText(context, championName);
@@ -385,12 +382,7 @@ public class ChampionExtractor {
         List<String> stats = new ArrayList<>();
 
         // Pattern for stat arrows
-        Pattern arrowPattern = Pattern.compile(
-                "([A-Za-z\\s]+?)\\s*:?\\s*(\\d+(?:\\.\\d+|/\\d+)*)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+|/\\d+)*)",
-                Pattern.CASE_INSENSITIVE
-        );
-
-        Matcher matcher = arrowPattern.matcher(text);
+        Matcher matcher = PatchPatterns.STAT_ARROW.matcher(text);
         while (matcher.find()) {
             String statName = matcher.group(1).trim();
             String oldValue = matcher.group(2);
@@ -402,12 +394,7 @@ public class ChampionExtractor {
         }
 
         // Pattern for ability stats
-        Pattern abilityPattern = Pattern.compile(
-                "([QWER]|Passive)\\s*[-–—:]+\\s*([^\\n]+?)\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)",
-                Pattern.CASE_INSENSITIVE
-        );
-
-        matcher = abilityPattern.matcher(text);
+        matcher = PatchPatterns.ABILITY_STAT.matcher(text);
         while (matcher.find()) {
             String ability = matcher.group(1);
             String description = matcher.group(2).trim();
@@ -442,7 +429,7 @@ public class ChampionExtractor {
         return false;
     }
 
-    private ChampionChange extractChangesForChampionWithStats(Element startElement, String championName, Element parentSection) {
+    private ChampionChange extractChangesForChampionWithStats(PatchDocument doc, Element startElement, String championName) {
         ChampionChange change = new ChampionChange();
         change.name = championName;
 
@@ -454,11 +441,11 @@ public class ChampionExtractor {
         int elementCount = 0;
 
         while (current != null && elementCount < 15) {
-            String text = current.text();
+            String text = doc.text(current);
             contextText.append(text).append(" ");
 
-            current = current.nextElementSibling();
-            if (current != null && isNewChampionOrSection(current)) {
+            current = doc.nextElementSibling(current);
+            if (current != null && isNewChampionOrSection(doc, current)) {
                 break;
             }
             elementCount++;
@@ -480,7 +467,7 @@ public class ChampionExtractor {
         return change.changes.isEmpty() ? null : change;
     }
 
-    private ChampionChange extractContextualChangesWithStats(Element element, String championName) {
+    private ChampionChange extractContextualChangesWithStats(PatchDocument doc, Element element, String championName) {
         ChampionChange change = new ChampionChange();
         change.name = championName;
 
@@ -498,7 +485,7 @@ public class ChampionExtractor {
         // Build context text
         StringBuilder contextText = new StringBuilder();
         for (Element elem : elementsToCheck) {
-            contextText.append(elem.text()).append(" ");
+            contextText.append(doc.text(elem)).append(" ");
         }
 
         String fullContext = contextText.toString();
@@ -560,27 +547,25 @@ public class ChampionExtractor {
         }
     }
 
-    private void analyzeTextForChampionsWithStats(Element section, List<ChampionChange> championChanges) {
-        String sectionText = section.text();
+    private void analyzeTextForChampionsWithStats(PatchDocument doc, Element section, List<ChampionChange> championChanges) {
+        String sectionText = doc.text(section);
 
-        for (String championName : CHAMPION_NAMES) {
-            if (containsChampionName(sectionText, championName)) {
-                ChampionChange change = new ChampionChange();
-                change.name = championName;
+        for (String championName : NAME_MATCHER.findDistinct(sectionText)) {
+            ChampionChange change = new ChampionChange();
+            change.name = championName;
 
-                // Extract stat changes from this section
-                List<String> statChanges = extractStatsFromText(sectionText, championName);
-                change.changes.addAll(statChanges);
+            // Extract stat changes from this section
+            List<String> statChanges = extractStatsFromText(sectionText, championName);
+            change.changes.addAll(statChanges);
 
-                // If no stats found, get descriptive changes
-                if (change.changes.isEmpty()) {
-                    List<String> descriptiveChanges = parseDescriptiveChanges(sectionText, championName);
-                    change.changes.addAll(descriptiveChanges);
-                }
+            // If no stats found, get descriptive changes
+            if (change.changes.isEmpty()) {
+                List<String> descriptiveChanges = parseDescriptiveChanges(sectionText, championName);
+                change.changes.addAll(descriptiveChanges);
+            }
 
-                if (!change.changes.isEmpty()) {
-                    addUniqueChampion(championChanges, change);
-                }
+            if (!change.changes.isEmpty()) {
+                addUniqueChampion(championChanges, change);
             }
         }
     }
@@ -588,7 +573,7 @@ public class ChampionExtractor {
     private List<String> parseDescriptiveChanges(String text, String championName) {
         List<String> changes = new ArrayList<>();
 
-        String[] segments = text.split("[.!?\\n]");
+        String[] segments = PatchPatterns.SEGMENT_SPLIT.split(text);
 
         for (String segment : segments) {
             String trimmed = segment.trim();
@@ -615,17 +600,17 @@ public class ChampionExtractor {
         }
 
         // Look for ability indicators
-        if (lowerText.matches(".*\\b[qwer]\\b.*[-–—:].*")) {
+        if (PatchPatterns.ABILITY_MENTION.matcher(lowerText).find()) {
             return true;
         }
 
         // Look for explicit change language
-        if (lowerText.matches(".*(buff|nerf|increas|decreas|improv|adjust|reduc).*")) {
+        if (PatchPatterns.CHANGE_INDICATOR_LANGUAGE.matcher(lowerText).find()) {
             return true;
         }
 
         // Look for stat keywords
-        if (lowerText.matches(".*(damage|heal|shield|cooldown|range|mana|cost|health|armor).*\\d+.*")) {
+        if (PatchPatterns.STAT_KEYWORD_WITH_NUMBER.matcher(lowerText).find()) {
             return true;
         }
 
@@ -633,62 +618,24 @@ public class ChampionExtractor {
     }
 
     // Helper methods (keeping existing ones)
-    private String buildChampionRegex() {
-        StringBuilder regex = new StringBuilder("(?:");
-        boolean first = true;
-        for (String champion : CHAMPION_NAMES) {
-            if (!first) regex.append("|");
-            String escaped = Pattern.quote(champion).replace("\\ ", "\\s+").replace("\\'", "['\u2019]?");
-            regex.append(escaped);
-            first = false;
-        }
-        regex.append(")");
-        return regex.toString();
-    }
-
-    private boolean containsChampionName(String text, String championName) {
-        if (text == null || championName == null) return false;
-
-        // Build a regex like \bSona\b to only match "Sona" as a word, not "Sonic"
-        String regex = "\\b" + Pattern.quote(championName) + "\\b";
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(text);
-
-        return matcher.find();
-    }
-
-
+    // Whole-word lookups go through the automaton, so "Sona" never matches "Sonic"
     private String identifyChampionName(String text) {
-        for (String championName : CHAMPION_NAMES) {
-            if (containsChampionName(text, championName)) {
-                return championName;
-            }
-        }
-        return null;
+        return NAME_MATCHER.findFirst(text);
     }
 
     private String normalizeChampionName(String name) {
-        for (String championName : CHAMPION_NAMES) {
-            if (championName.equalsIgnoreCase(name) ||
-                    championName.toLowerCase().contains(name.toLowerCase()) ||
-                    name.toLowerCase().contains(championName.toLowerCase())) {
-                return championName;
-            }
-        }
-        return null;
+        return NAME_MATCHER_IGNORE_CASE.resolve(name);
     }
 
-    private boolean isNewChampionOrSection(Element element) {
+    private boolean isNewChampionOrSection(PatchDocument doc, Element element) {
         if (element == null) return false;
 
         String tagName = element.tagName().toLowerCase();
-        String text = element.text().toLowerCase();
+        String text = doc.lowerText(element);
 
-        if (tagName.matches("h[2-6]")) {
-            for (String champion : CHAMPION_NAMES) {
-                if (text.contains(champion.toLowerCase())) {
-                    return true;
-                }
+        if (PatchPatterns.HEADING_TAG.matcher(tagName).matches()) {
+            if (NAME_MATCHER_IGNORE_CASE.containsAny(text)) {
+                return true;
             }
 
             if (text.contains("item") || text.contains("system") || text.contains("bug") || text.contains("jungle")) {
@@ -717,15 +664,13 @@ public class ChampionExtractor {
 
     private String cleanText(String text) {
         if (text == null) return "";
-        return text.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("[\\r\\n]+", " ")
-                .trim();
+        return PatchPatterns.collapseWhitespace(text);
     }
 
     public static class ChampionChange {
         public String name;
         public List<String> changes = new ArrayList<>();
+        public List<StatChange> stats = new ArrayList<>();
     }
 
 
@@ -0,0 +1,223 @@
+package com.hundefined.services;
+
+import java.util.*;
+
+/**
+ * Multi-pattern matcher (Aho-Corasick) over the champion roster.
+ *
+ * The automaton is built once from the known champion names and finds every
+ * whole-word mention in a single left-to-right scan of the text, so lookups
+ * cost O(text length) no matter how many champions are on the roster.
+ */
+public class ChampionNameMatcher {
+    private static final int ROOT = 0;
+
+    private final boolean caseSensitive;
+    private final String[] names;
+    private final int[] nameLengths;
+    private final Map<String, String> canonicalNames = new HashMap<>();
+
+    // Alphabet of characters that appear in any name; everything else falls back to the root
+    private final char[] alphabet;
+    private final int[] alphabetIndex;
+
+    // Full DFA: transitions[state][symbol], plus the patterns ending at each state
+    private final int[][] transitions;
+    private final int[][] outputs;
+
+    public ChampionNameMatcher(Collection<String> championNames, boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+        this.names = championNames.stream().sorted().toArray(String[]::new);
+        this.nameLengths = new int[names.length];
+
+        SortedSet<Character> symbols = new TreeSet<>();
+        for (int i = 0; i < names.length; i++) {
+            nameLengths[i] = names[i].length();
+            canonicalNames.put(canonicalKey(names[i]), names[i]);
+            for (char c : names[i].toCharArray()) {
+                symbols.add(fold(c));
+            }
+        }
+
+        this.alphabet = new char[symbols.size()];
+        int maxSymbol = 0;
+        int idx = 0;
+        for (char c : symbols) {
+            alphabet[idx++] = c;
+            maxSymbol = Math.max(maxSymbol, c);
+        }
+        this.alphabetIndex = new int[maxSymbol + 1];
+        Arrays.fill(alphabetIndex, -1);
+        for (int i = 0; i < alphabet.length; i++) {
+            alphabetIndex[alphabet[i]] = i;
+        }
+
+        // Build the trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(newState());
+        trieOutputs.add(new ArrayList<>());
+
+        for (int i = 0; i < names.length; i++) {
+            int state = ROOT;
+            for (char c : names[i].toCharArray()) {
+                int symbol = alphabetIndex[fold(c)];
+                if (trie.get(state)[symbol] == -1) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState());
+                    trieOutputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            trieOutputs.get(state).add(i);
+        }
+
+        // Breadth-first pass computes failure links and completes the transition table
+        int[] failure = new int[trie.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        int[] rootRow = trie.get(ROOT);
+        for (int symbol = 0; symbol < alphabet.length; symbol++) {
+            if (rootRow[symbol] == -1) {
+                rootRow[symbol] = ROOT;
+            } else {
+                failure[rootRow[symbol]] = ROOT;
+                queue.add(rootRow[symbol]);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] row = trie.get(state);
+            trieOutputs.get(state).addAll(trieOutputs.get(failure[state]));
+
+            for (int symbol = 0; symbol < alphabet.length; symbol++) {
+                int next = row[symbol];
+                if (next == -1) {
+                    row[symbol] = trie.get(failure[state])[symbol];
+                } else {
+                    failure[next] = trie.get(failure[state])[symbol];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = trie.toArray(new int[0][]);
+        this.outputs = new int[trieOutputs.size()][];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = trieOutputs.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /** Find every whole-word champion mention, in text order (longest name first at equal positions) */
+    public List<Match> findAll(String text) {
+        List<Match> matches = new ArrayList<>();
+        if (text == null || text.isEmpty()) return matches;
+
+        int state = ROOT;
+        for (int pos = 0; pos < text.length(); pos++) {
+            state = step(state, text.charAt(pos));
+
+            for (int nameIndex : outputs[state]) {
+                int start = pos - nameLengths[nameIndex] + 1;
+                if (isWordBoundary(text, start - 1) && isWordBoundary(text, pos + 1)) {
+                    matches.add(new Match(names[nameIndex], start, pos + 1));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt((Match m) -> m.start).thenComparingInt(m -> -m.end));
+        return matches;
+    }
+
+    /** Distinct champion names mentioned in the text, in order of first appearance */
+    public Set<String> findDistinct(String text) {
+        Set<String> found = new LinkedHashSet<>();
+        for (Match match : findAll(text)) {
+            found.add(match.name);
+        }
+        return found;
+    }
+
+    /** The first champion mentioned in the text, or null if there is none */
+    public String findFirst(String text) {
+        List<Match> matches = findAll(text);
+        return matches.isEmpty() ? null : matches.get(0).name;
+    }
+
+    public boolean containsAny(String text) {
+        if (text == null || text.isEmpty()) return false;
+
+        int state = ROOT;
+        for (int pos = 0; pos < text.length(); pos++) {
+            state = step(state, text.charAt(pos));
+
+            for (int nameIndex : outputs[state]) {
+                int start = pos - nameLengths[nameIndex] + 1;
+                if (isWordBoundary(text, start - 1) && isWordBoundary(text, pos + 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map a loosely written name (any case, extra whitespace, missing or curly apostrophes)
+     * back to its roster spelling. Falls back to the first mention inside the text.
+     */
+    public String resolve(String name) {
+        if (name == null) return null;
+
+        String exact = canonicalNames.get(canonicalKey(name));
+        if (exact != null) return exact;
+
+        String normalized = name.trim().replaceAll("\\s+", " ");
+        return findFirst(normalized);
+    }
+
+    private int step(int state, char c) {
+        char folded = fold(c);
+        int symbol = folded < alphabetIndex.length ? alphabetIndex[folded] : -1;
+        return symbol == -1 ? ROOT : transitions[state][symbol];
+    }
+
+    private char fold(char c) {
+        if (c == '’') c = '\'';
+        return caseSensitive ? c : Character.toLowerCase(c);
+    }
+
+    private int[] newState() {
+        int[] row = new int[alphabet.length];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    // Same notion of a word character as the regex \b the extractors used before
+    private static boolean isWordBoundary(String text, int index) {
+        if (index < 0 || index >= text.length()) return true;
+        char c = text.charAt(index);
+        return !(Character.isLetterOrDigit(c) || c == '_');
+    }
+
+    private static String canonicalKey(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (char c : name.toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    public static class Match {
+        public final String name;
+        public final int start;
+        public final int end;
+
+        public Match(String name, int start, int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
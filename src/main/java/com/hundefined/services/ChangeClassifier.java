@@ -0,0 +1,192 @@
+package com.hundefined.services;
+
+import java.util.List;
+
+/**
+ * Buff/nerf classification of champion and item changes, shared by the /latestpatch summary,
+ * the patch notifications, the detail pages and the patch_notes store.
+ *
+ * Every stat change is scored in one pass against a StatPolarityTable: the share of ranks that
+ * moved in the good direction for that stat, times the stat's weight. Note lines without
+ * numbers add smaller scores from their wording ("mana cost increased" counts against, via the
+ * same table) and from developer intent ("struggling", "nerf"). The sum decides the label.
+ *
+ * Ranks can be weighted, e.g. {@code new ChangeClassifier(StatPolarityTable.DEFAULT, 1.5, 1.25, 1)}
+ * to count early ranks more; the last weight applies to every later rank.
+ */
+public class ChangeClassifier {
+    public static final String BUFF = "BUFF";
+    public static final String NERF = "NERF";
+    public static final String ADJUSTMENT = "ADJUSTMENT";
+
+    // Net score needed for a BUFF or NERF label; anything closer to zero is an adjustment
+    private static final double THRESHOLD = 0.5;
+    // Weight of a descriptive line ("cooldown reduced") relative to a parsed stat on the same stat
+    private static final double DESCRIPTIVE_WEIGHT = 0.75;
+
+    // Wording cues in note lines without numbers, matched as whole words
+    private static final Cue[] CUES = {
+            new Cue("buff", Cue.INTENT, 1), new Cue("buffed", Cue.INTENT, 1), new Cue("buffs", Cue.INTENT, 1),
+            new Cue("buffing", Cue.INTENT, 1),
+            new Cue("nerf", Cue.INTENT, -1), new Cue("nerfed", Cue.INTENT, -1), new Cue("nerfs", Cue.INTENT, -1),
+            new Cue("nerfing", Cue.INTENT, -1),
+            new Cue("struggling", Cue.INTENT, 0.5), new Cue("underperforming", Cue.INTENT, 0.5),
+            new Cue("weak", Cue.INTENT, 0.5), new Cue("weaker", Cue.INTENT, 0.5),
+            new Cue("dominating", Cue.INTENT, -0.5), new Cue("overperforming", Cue.INTENT, -0.5),
+            new Cue("oppressive", Cue.INTENT, -0.5), new Cue("frustrating", Cue.INTENT, -0.5),
+            new Cue("increase", Cue.DIRECTION, 1), new Cue("increased", Cue.DIRECTION, 1),
+            new Cue("increases", Cue.DIRECTION, 1), new Cue("raised", Cue.DIRECTION, 1),
+            new Cue("higher", Cue.DIRECTION, 1), new Cue("improved", Cue.DIRECTION, 1),
+            new Cue("decrease", Cue.DIRECTION, -1), new Cue("decreased", Cue.DIRECTION, -1),
+            new Cue("decreases", Cue.DIRECTION, -1), new Cue("reduce", Cue.DIRECTION, -1),
+            new Cue("reduced", Cue.DIRECTION, -1), new Cue("reduces", Cue.DIRECTION, -1),
+            new Cue("lowered", Cue.DIRECTION, -1), new Cue("lower", Cue.DIRECTION, -1)
+    };
+
+    private final StatPolarityTable table;
+    private final double[] rankWeights;
+
+    public ChangeClassifier() {
+        this(StatPolarityTable.DEFAULT);
+    }
+
+    public ChangeClassifier(StatPolarityTable table, double... rankWeights) {
+        this.table = table;
+        this.rankWeights = rankWeights.length > 0 ? rankWeights.clone() : new double[]{1};
+    }
+
+    public String classify(RiotApiService.ChampionChange champion) {
+        return classify(champion.changes, champion.stats);
+    }
+
+    public String classify(RiotApiService.ItemChange item) {
+        return classify(item.changes, item.stats);
+    }
+
+    /**
+     * Classify any change (champion or item) as BUFF, NERF or ADJUSTMENT from its note lines
+     * and the stat changes already parsed from them
+     */
+    public String classify(List<String> changes, List<StatChange> stats) {
+        double score = score(changes, stats);
+        if (score >= THRESHOLD) return BUFF;
+        if (score <= -THRESHOLD) return NERF;
+        return ADJUSTMENT;
+    }
+
+    /**
+     * Net score of a change: positive leans buff, negative leans nerf. Stats are in line order, as
+     * StatChangeParser.parseAll returns them; lines that produced one are not scored again by wording.
+     */
+    public double score(List<String> changes, List<StatChange> stats) {
+        double score = 0;
+        int statCount = stats != null ? stats.size() : 0;
+        for (int i = 0; i < statCount; i++) {
+            score += score(stats.get(i));
+        }
+        if (changes != null) {
+            int next = 0;
+            for (int line = 0; line < changes.size(); line++) {
+                boolean parsed = false;
+                while (next < statCount && stats.get(next).line() <= line) {
+                    parsed |= stats.get(next).line() == line;
+                    next++;
+                }
+                if (!parsed) {
+                    score += scoreLine(changes.get(line));
+                }
+            }
+        }
+        return score;
+    }
+
+    /** Weighted share of ranks that moved the good way for the stat, from -weight to +weight */
+    public double score(StatChange stat) {
+        StatPolarityTable.Rule rule = table.ruleFor(stat.stat());
+        if (rule.polarity() == StatPolarityTable.NEUTRAL) return 0;
+
+        int ranks = stat.ranks();
+        double moved = 0;
+        double total = 0;
+        for (int i = 0; i < ranks; i++) {
+            double weight = rankWeights[Math.min(i, rankWeights.length - 1)];
+            total += weight;
+            moved += weight * Double.compare(stat.newValue(i), stat.oldValue(i));
+        }
+        return total > 0 ? rule.polarity() * rule.weight() * moved / total : 0;
+    }
+
+    /** The icon used next to a name for a BUFF, NERF or ADJUSTMENT label */
+    public static String icon(String changeType) {
+        switch (changeType) {
+            case BUFF:
+                return "📈";
+            case NERF:
+                return "📉";
+            default:
+                return "⚖️";
+        }
+    }
+
+    // Wording of one line without a parsed stat change
+    private double scoreLine(String line) {
+        if (line == null) return 0;
+
+        double intent = 0;
+        int direction = 0;
+        for (int start = 0; start < line.length(); ) {
+            if (!Character.isLetter(line.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < line.length() && Character.isLetter(line.charAt(end))) end++;
+
+            Cue cue = cue(line, start, end - start);
+            if (cue != null) {
+                if (cue.kind == Cue.INTENT) {
+                    intent += cue.score;
+                } else {
+                    // The last direction word is the verb: "healing increase reduced"
+                    direction = (int) cue.score;
+                }
+            }
+            start = end;
+        }
+
+        double score = intent;
+        if (direction != 0) {
+            // "Mana cost increased" is a nerf: the direction means what the named stat says it means
+            StatPolarityTable.Rule rule = table.match(line);
+            if (rule == null) {
+                rule = table.ruleFor(null);
+            }
+            score += direction * rule.polarity() * rule.weight() * DESCRIPTIVE_WEIGHT;
+        }
+        return score;
+    }
+
+    private static Cue cue(String line, int start, int length) {
+        for (Cue cue : CUES) {
+            if (cue.word.length() == length && line.regionMatches(true, start, cue.word, 0, length)) {
+                return cue;
+            }
+        }
+        return null;
+    }
+
+    private static final class Cue {
+        static final int INTENT = 0;
+        static final int DIRECTION = 1;
+
+        final String word;
+        final int kind;
+        final double score;
+
+        Cue(String word, int kind, double score) {
+            this.word = word;
+            this.kind = kind;
+            this.score = score;
+        }
+    }
+}
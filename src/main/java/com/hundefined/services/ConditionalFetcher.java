@@ -0,0 +1,137 @@
+package com.hundefined.services;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP GET that remembers validators per URL and asks the server whether anything changed.
+ *
+ * ETag and Last-Modified are sent back as If-None-Match / If-Modified-Since; a 304 means
+ * the page is unchanged without downloading it. Servers that ignore validators still get
+ * a SHA-256 of the body compared, so callers can skip parsing whenever the bytes match.
+ */
+public class ConditionalFetcher {
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalFetcher.class);
+
+    private final HttpService http;
+    private final String userAgent;
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    public ConditionalFetcher(HttpService http, String userAgent) {
+        this.http = http;
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * Fetch the URL without blocking, sending stored validators unless force is set.
+     * An unchanged result carries no body; the caller keeps using what it parsed last time.
+     * Completes exceptionally with an IOException for a non-2xx response.
+     */
+    public CompletableFuture<FetchResult> fetchAsync(String url, boolean force) {
+        Validators known = force ? null : validators.get(url);
+        Request request;
+        try {
+            request = request(url, known);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return http.enqueue(request, response -> handle(url, known, response));
+    }
+
+    private Request request(String url, Validators known) {
+        Request.Builder request = new Request.Builder()
+                .url(url)
+                .addHeader("User-Agent", userAgent);
+        if (known != null && known.etag != null) {
+            request.addHeader("If-None-Match", known.etag);
+        }
+        if (known != null && known.lastModified != null) {
+            request.addHeader("If-Modified-Since", known.lastModified);
+        }
+        return request.build();
+    }
+
+    private FetchResult handle(String url, Validators known, Response response) throws IOException {
+        if (response.code() == 304 && known != null) {
+            logger.debug("{} not modified (304)", url);
+            return FetchResult.unchanged(url);
+        }
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Unexpected response " + response.code() + " " + response.message() + " for " + url);
+        }
+
+        ResponseBody body = response.body();
+        byte[] bytes = body.bytes();
+        String hash = sha256(bytes);
+        String finalUrl = response.request().url().toString();
+
+        validators.put(url, new Validators(response.header("ETag"), response.header("Last-Modified"), hash));
+
+        if (known != null && hash.equals(known.contentHash)) {
+            logger.debug("{} returned identical content (hash {})", url, hash.substring(0, 12));
+            return FetchResult.unchanged(finalUrl);
+        }
+
+        return FetchResult.changed(finalUrl, new String(bytes, charsetOf(body)));
+    }
+
+    private static Charset charsetOf(ResponseBody body) {
+        MediaType type = body.contentType();
+        Charset charset = type != null ? type.charset() : null;
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class Validators {
+        final String etag;
+        final String lastModified;
+        final String contentHash;
+
+        Validators(String etag, String lastModified, String contentHash) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+    }
+
+    public static class FetchResult {
+        public final String url;
+        public final boolean changed;
+        public final String body;
+
+        private FetchResult(String url, boolean changed, String body) {
+            this.url = url;
+            this.changed = changed;
+            this.body = body;
+        }
+
+        static FetchResult changed(String url, String body) {
+            return new FetchResult(url, true, body);
+        }
+
+        static FetchResult unchanged(String url) {
+            return new FetchResult(url, false, null);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hundefined.services;
+
+import com.hundefined.config.BotConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent extraction phases concurrently over the same read-only PatchDocument.
+ *
+ * Phases share one bounded pool sized to the CPU (extraction is CPU-bound), each phase
+ * gets its own timeout, counted from when it starts running rather than from when it was
+ * queued, and a phase that fails or times out yields its fallback value so the rest of the
+ * patch content is still returned.
+ */
+public class ExtractionPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionPipeline.class);
+
+    // Shared across all RiotApiService instances; ForkJoinPool worker threads are daemons
+    private static final ForkJoinPool EXTRACTION_POOL = new ForkJoinPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+
+    private final long timeoutMillis;
+    private final Set<String> failedPhases = ConcurrentHashMap.newKeySet();
+
+    public ExtractionPipeline() {
+        this(BotConfig.getExtractionTimeoutMillis());
+    }
+
+    public ExtractionPipeline(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /** The shared CPU pool, also used for indexing fetched pages; never for blocking I/O */
+    public static Executor executor() {
+        return EXTRACTION_POOL;
+    }
+
+    /** Start a phase; the returned future always completes normally (with the fallback on failure) */
+    public <T> CompletableFuture<T> submit(String phase, Supplier<T> task, T fallback) {
+        long start = System.nanoTime();
+
+        // The timeout starts once a pool thread picks the phase up, so waiting behind other phases never counts
+        CompletableFuture<T> running = new CompletableFuture<>();
+        EXTRACTION_POOL.execute(() -> {
+            running.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                running.complete(task.get());
+            } catch (Throwable e) {
+                running.completeExceptionally(new CompletionException(e));
+            }
+        });
+
+        return running
+                .handle((result, error) -> {
+                    long elapsedNanos = System.nanoTime() - start;
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+                    Throwable cause = error != null && error.getCause() != null ? error.getCause() : error;
+                    String outcome = error == null ? "success" : cause instanceof TimeoutException ? "timeout" : "failure";
+                    MetricsService.getInstance().timer("extraction.phase", "phase", phase, "outcome", outcome)
+                            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+                    if (error == null) {
+                        logger.debug("Extraction phase '{}' finished in {} ms", phase, elapsedMillis);
+                        return result;
+                    }
+
+                    failedPhases.add(phase);
+                    if (cause instanceof TimeoutException) {
+                        logger.warn("Extraction phase '{}' timed out after {} ms, keeping partial results", phase, timeoutMillis);
+                    } else {
+                        logger.error("Extraction phase '{}' failed after {} ms, keeping partial results", phase, elapsedMillis, cause);
+                    }
+                    return fallback;
+                });
+    }
+
+    /** Completes once every submitted phase has, without blocking a thread */
+    public CompletableFuture<Void> whenAll(List<CompletableFuture<?>> phases) {
+        return CompletableFuture.allOf(phases.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /** Names of phases that failed or timed out since this pipeline was created */
+    public Set<String> getFailedPhases() {
+        return Set.copyOf(failedPhases);
+    }
+}
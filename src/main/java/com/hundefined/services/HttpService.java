@@ -0,0 +1,190 @@
+package com.hundefined.services;
+
+import com.hundefined.config.BotConfig;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.brotli.BrotliInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one HTTP client every fetch in the bot goes through.
+ *
+ * Connections are pooled and HTTP/2 is negotiated where the server offers it, so TLS
+ * setup is paid once per host instead of once per command. Responses are requested
+ * with brotli or gzip encoding and decompressed on the fly; pages are parsed straight
+ * from the response stream.
+ *
+ * The async methods use OkHttp's enqueue, so no caller thread waits on the network;
+ * streamDocumentAsync parses straight from the socket on OkHttp's callback thread while
+ * the page downloads. With {@code http.replay.dir} set, every request is answered from
+ * recorded responses instead (see ReplayInterceptor).
+ */
+public class HttpService {
+    private static final Logger logger = LoggerFactory.getLogger(HttpService.class);
+    private static HttpService instance;
+
+    private final OkHttpClient client;
+
+    private HttpService() {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectionPool(new ConnectionPool(10, 5, TimeUnit.MINUTES))
+                // Advertises "br,gzip" and decodes either; replaces OkHttp's gzip-only default
+                .addInterceptor(BrotliInterceptor.INSTANCE)
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .followRedirects(true);
+
+        String replayDirectory = BotConfig.getHttpReplayDirectory();
+        if (!replayDirectory.isEmpty()) {
+            logger.warn("Serving all HTTP requests from recordings in {}", replayDirectory);
+            builder.addInterceptor(new ReplayInterceptor(Path.of(replayDirectory)));
+        }
+        this.client = builder.build();
+    }
+
+    public static synchronized HttpService getInstance() {
+        if (instance == null) {
+            instance = new HttpService();
+        }
+        return instance;
+    }
+
+    /** Run the call on OkHttp's dispatcher and hand the open response to the handler, which must not keep it */
+    public <T> CompletableFuture<T> enqueue(Request request, ResponseHandler<T> handler) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Call call = client.newCall(request);
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failed, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call completed, Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+
+        // Giving up on the future also abandons the request
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    /** GET a body as text without blocking; fails on non-2xx responses */
+    public CompletableFuture<String> getStringAsync(String url, String userAgent) {
+        Request request;
+        try {
+            request = get(url, userAgent);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return enqueue(request, response -> successfulBody(response, url).string());
+    }
+
+    /**
+     * GET an HTML page and hand its body to the reader as it arrives, on OkHttp's callback thread:
+     * the read mostly waits on the socket, so it stays off the CPU-sized extraction pool.
+     * The reader decides how much of the page to consume; the rest is never downloaded.
+     */
+    public <T> CompletableFuture<T> streamDocumentAsync(String url, String userAgent, DocumentReader<T> reader) {
+        Request request;
+        try {
+            request = get(url, userAgent);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return enqueue(request, response -> {
+            ResponseBody body = successfulBody(response, url);
+            logger.debug("Streaming {} over {}", url, response.protocol());
+            Charset decoding = declaredCharset(body);
+            // Buffered: the tokenizer needs mark() support
+            try (Reader text = new BufferedReader(new InputStreamReader(body.byteStream(), decoding))) {
+                return reader.read(text, response.request().url().toString());
+            }
+        });
+    }
+
+    /** HEAD request; true for any 2xx response, false for anything else including network errors */
+    public CompletableFuture<Boolean> existsAsync(String url, String userAgent) {
+        Request request;
+        try {
+            request = new Request.Builder()
+                    .url(url)
+                    .head()
+                    .addHeader("User-Agent", userAgent)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return enqueue(request, Response::isSuccessful).exceptionally(e -> false);
+    }
+
+    // Throws IllegalArgumentException for a malformed URL
+    private static Request get(String url, String userAgent) {
+        return new Request.Builder()
+                .url(url)
+                .addHeader("User-Agent", userAgent)
+                .build();
+    }
+
+    private static ResponseBody successfulBody(Response response, String url) throws IOException {
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            throw new IOException("Unexpected response " + response.code() + " " + response.message() + " for " + url);
+        }
+        return body;
+    }
+
+    // Charset from the Content-Type header, else UTF-8: the stream is not sniffed for a meta tag, and the site serves UTF-8
+    private static Charset declaredCharset(ResponseBody body) {
+        MediaType type = body.contentType();
+        return type != null ? type.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+    }
+
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        logger.info("HTTP client shutdown completed");
+    }
+
+    /** Reads what it needs from a response; the response is closed afterwards */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    /** Consumes a streamed page; the reader is closed afterwards */
+    @FunctionalInterface
+    public interface DocumentReader<T> {
+        T read(Reader html, String baseUri) throws IOException;
+    }
+}
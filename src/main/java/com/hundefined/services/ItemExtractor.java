@@ -1,6 +1,5 @@
 package com.hundefined.services;
 
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
@@ -8,9 +7,16 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 public class ItemExtractor {
     private static final Logger logger = LoggerFactory.getLogger(ItemExtractor.class);
+    private static final int[] SECTION_LEVELS = {2, 3};
+
+    // a[href*='item'], a[href*='how-to-play']
+    private static final Predicate<Element> ITEM_LINK = element ->
+            element.normalName().equals("a") &&
+                    (attrContains(element, "href", "item") || attrContains(element, "href", "how-to-play"));
 
     // Known item names for better detection
     private static final String[] KNOWN_ITEMS = {
@@ -30,7 +36,7 @@ public class ItemExtractor {
             "Frozen Heart", "Abyssal Mask", "Gargoyle Stoneplate", "Anathema's Chains"
     };
 
-    public List<ItemChange> extractItemChanges(Document doc) {
+    public List<ItemChange> extractItemChanges(PatchDocument doc) {
         logger.info("Starting item extraction...");
 
         List<ItemChange> itemChanges = new ArrayList<>();
@@ -48,46 +54,58 @@ public class ItemExtractor {
             extractItemsFromKnownNames(doc, itemChanges);
         }
 
+        // Scan each line for numeric changes once; everything downstream reads the records
+        for (ItemChange change : itemChanges) {
+            change.stats = StatChangeParser.parseAll(change.name, change.changes);
+        }
+
         logger.info("Item extraction complete: {} items found", itemChanges.size());
         return itemChanges;
     }
 
-    private void extractItemsSections(Document doc, List<ItemChange> itemChanges) {
-        String[] selectors = {
-                "h2:contains(Items), h3:contains(Items)",
-                "h2:contains(Item), h3:contains(Item)",
-                "[id*='item'], [class*='item']"
-        };
+    private void extractItemsSections(PatchDocument doc, List<ItemChange> itemChanges) {
+        // Heading keywords, tried in order (h2/h3 headings, case-insensitive like :contains)
+        String[] headingKeywords = {"items", "item"};
 
-        for (String selector : selectors) {
-            Elements sections = doc.select(selector);
+        for (String keyword : headingKeywords) {
+            List<PatchDocument.Section> sections = doc.sectionsContaining(SECTION_LEVELS, keyword);
             if (!sections.isEmpty()) {
-                logger.debug("Found {} item sections with selector: {}", sections.size(), selector);
-                processItemSection(sections.first(), itemChanges);
+                logger.debug("Found {} item sections with keyword: {}", sections.size(), keyword);
+                processItemSection(doc, sections.get(0).heading, itemChanges);
                 if (!itemChanges.isEmpty()) {
-                    logger.info("Found {} items using selector: {}", itemChanges.size(), selector);
+                    logger.info("Found {} items using keyword: {}", itemChanges.size(), keyword);
                     return;
                 }
             }
         }
+
+        // Fall back to containers tagged with an item id or class
+        Elements sections = doc.elementsWithIdOrClassContaining("item");
+        if (!sections.isEmpty()) {
+            logger.debug("Found {} item sections by id/class", sections.size());
+            processItemSection(doc, sections.first(), itemChanges);
+            if (!itemChanges.isEmpty()) {
+                logger.info("Found {} items using id/class sections", itemChanges.size());
+            }
+        }
     }
 
-    private void processItemSection(Element section, List<ItemChange> itemChanges) {
-        Element current = section.nextElementSibling();
+    private void processItemSection(PatchDocument doc, Element section, List<ItemChange> itemChanges) {
+        Element current = doc.nextElementSibling(section);
         int elementsChecked = 0;
 
-        while (current != null && elementsChecked < 30 && !isNewMajorSection(current)) {
+        while (current != null && elementsChecked < 30 && !isNewMajorSection(doc, current)) {
             // Look for item links or mentions
-            Elements itemLinks = current.select("a[href*='item'], a[href*='how-to-play']");
+            Elements itemLinks = doc.select(current, ITEM_LINK);
 
             for (Element link : itemLinks) {
-                String itemName = cleanText(link.text());
+                String itemName = cleanText(doc.text(link));
                 if (!itemName.isEmpty() && itemName.length() > 2) {
                     ItemChange change = new ItemChange();
                     change.name = itemName;
 
                     // Extract changes from nearby text
-                    extractItemChangesFromElement(current, change);
+                    extractItemChangesFromElement(doc, current, change);
 
                     if (!change.changes.isEmpty()) {
                         itemChanges.add(change);
@@ -96,21 +114,22 @@ public class ItemExtractor {
                 }
             }
 
-            current = current.nextElementSibling();
+            current = doc.nextElementSibling(current);
             elementsChecked++;
         }
     }
 
-    private void extractItemsFromLinks(Document doc, List<ItemChange> itemChanges) {
-        Elements itemLinks = doc.select("a[href*='item'], a[href*='how-to-play'], a[title*='item']");
+    private void extractItemsFromLinks(PatchDocument doc, List<ItemChange> itemChanges) {
+        Elements itemLinks = doc.find(ITEM_LINK.or(element ->
+                element.normalName().equals("a") && attrContains(element, "title", "item")));
 
         for (Element link : itemLinks) {
-            String itemName = cleanText(link.text());
+            String itemName = cleanText(doc.text(link));
             if (!itemName.isEmpty() && itemName.length() > 2) {
                 ItemChange change = new ItemChange();
                 change.name = itemName;
 
-                extractItemChangesFromElement(link.parent(), change);
+                extractItemChangesFromElement(doc, link.parent(), change);
 
                 if (!change.changes.isEmpty()) {
                     // Avoid duplicates
@@ -125,18 +144,18 @@ public class ItemExtractor {
         }
     }
 
-    private void extractItemsFromKnownNames(Document doc, List<ItemChange> itemChanges) {
-        String fullText = doc.text().toLowerCase();
+    private void extractItemsFromKnownNames(PatchDocument doc, List<ItemChange> itemChanges) {
+        String fullText = doc.lowerText();
 
         for (String itemName : KNOWN_ITEMS) {
             if (fullText.contains(itemName.toLowerCase())) {
-                Elements elements = doc.getElementsContainingText(itemName);
+                Elements elements = doc.elementsContainingText(itemName);
 
                 for (Element element : elements) {
                     ItemChange change = new ItemChange();
                     change.name = itemName;
 
-                    extractItemChangesFromElement(element, change);
+                    extractItemChangesFromElement(doc, element, change);
 
                     if (!change.changes.isEmpty()) {
                         // Avoid duplicates
@@ -153,7 +172,7 @@ public class ItemExtractor {
         }
     }
 
-    private void extractItemChangesFromElement(Element element, ItemChange change) {
+    private void extractItemChangesFromElement(PatchDocument doc, Element element, ItemChange change) {
         // Check current element and nearby elements for changes
         List<Element> elementsToCheck = new ArrayList<>();
         elementsToCheck.add(element);
@@ -162,14 +181,14 @@ public class ItemExtractor {
             elementsToCheck.addAll(element.parent().children());
         }
 
-        Element current = element.nextElementSibling();
+        Element current = doc.nextElementSibling(element);
         for (int i = 0; i < 3 && current != null; i++) {
             elementsToCheck.add(current);
-            current = current.nextElementSibling();
+            current = doc.nextElementSibling(current);
         }
 
         for (Element elem : elementsToCheck) {
-            String text = cleanText(elem.text());
+            String text = cleanText(doc.text(elem));
             if (text.length() > 10 && isItemChangeText(text)) {
                 change.changes.add(text);
             }
@@ -185,12 +204,12 @@ public class ItemExtractor {
         }
 
         // Look for stat labels
-        if (text.matches(".*(Damage|Cooldown|Heal|Range|Cost|CD|Health|Shield|AD|AP|Armor|MR).*:.*")) {
+        if (PatchPatterns.ITEM_STAT_LABEL.matcher(text).find()) {
             return true;
         }
 
         // Look for number changes
-        if (text.matches(".*\\d+.*⇒.*\\d+.*") || text.matches(".*from\\s+\\d+.*to\\s+\\d+.*")) {
+        if (PatchPatterns.ITEM_NUMBER_ARROW.matcher(text).find() || PatchPatterns.FROM_TO_NUMBERS.matcher(text).find()) {
             return true;
         }
 
@@ -211,12 +230,12 @@ public class ItemExtractor {
         return false;
     }
 
-    private boolean isNewMajorSection(Element element) {
+    private boolean isNewMajorSection(PatchDocument doc, Element element) {
         if (element == null) return true;
 
         String tagName = element.tagName().toLowerCase();
         if (tagName.equals("h1") || tagName.equals("h2")) {
-            String text = element.text().toLowerCase();
+            String text = doc.lowerText(element);
             return text.contains("champions") || text.contains("runes") || text.contains("bugfix") ||
                     text.contains("arena") || text.contains("aram") || text.contains("upcoming") ||
                     text.contains("related") || text.contains("system");
@@ -225,16 +244,19 @@ public class ItemExtractor {
         return false;
     }
 
+    // Same case-insensitive substring match as the [attr*='value'] selector
+    private static boolean attrContains(Element element, String attribute, String value) {
+        return element.attr(attribute).toLowerCase().contains(value);
+    }
+
     private String cleanText(String text) {
         if (text == null) return "";
-        return text.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("[\\r\\n]+", " ")
-                .trim();
+        return PatchPatterns.collapseWhitespace(text);
     }
 
     public static class ItemChange {
         public String name;
         public List<String> changes = new ArrayList<>();
+        public List<StatChange> stats = new ArrayList<>();
     }
 }
\ No newline at end of file
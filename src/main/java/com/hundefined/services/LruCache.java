@@ -0,0 +1,294 @@
+package com.hundefined.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe LRU cache bounded by total weight, with expire- and refresh-after-write.
+ *
+ * Entries are kept in access order and the least recently used ones are evicted once
+ * the summed weight exceeds the limit. An entry older than the refresh interval is
+ * still returned, but triggers one background reload; an entry older than the TTL is
+ * dropped and counts as a miss.
+ */
+public class LruCache<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(LruCache.class);
+
+    private final String name;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final Function<K, V> loader;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private long totalWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    private LruCache(Builder<K, V> builder) {
+        this.name = builder.name;
+        this.maxWeight = builder.maxWeight;
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWrite != null ? builder.expireAfterWrite.toNanos() : 0;
+        this.refreshAfterWriteNanos = builder.refreshAfterWrite != null ? builder.refreshAfterWrite.toNanos() : 0;
+        this.loader = builder.loader;
+        this.refreshExecutor = builder.refreshExecutor;
+        this.ticker = builder.ticker;
+    }
+
+    public static <K, V> Builder<K, V> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    /** Cached value or null; never calls the loader on the caller's thread */
+    public V getIfPresent(K key) {
+        Entry<V> entry;
+        boolean refresh = false;
+        long now = ticker.getAsLong();
+
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && expireAfterWriteNanos > 0 && now - entry.writtenAt >= expireAfterWriteNanos) {
+                removeEntry(key, entry);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+            if (entry != null && refreshAfterWriteNanos > 0 && loader != null
+                    && now - entry.writtenAt >= refreshAfterWriteNanos) {
+                refresh = true;
+            }
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        if (refresh) {
+            refreshAsync(key);
+        }
+        return entry.value;
+    }
+
+    /** Cached value, or load it now with the cache's loader and keep the result */
+    public V get(K key) {
+        V cached = getIfPresent(key);
+        if (cached != null || loader == null) {
+            return cached;
+        }
+
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        if (value == null) {
+            invalidate(key);
+            return;
+        }
+
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        synchronized (entries) {
+            Entry<V> previous = entries.put(key, new Entry<>(value, weight, ticker.getAsLong()));
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += weight;
+            evictIfNeeded(key);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                removeEntry(key, entry);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            totalWeight = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long weight() {
+        synchronized (entries) {
+            return totalWeight;
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), expirations.get(), refreshes.get(), size(), weight());
+    }
+
+    // Least recently used first, but never the entry that was just written
+    private void evictIfNeeded(K justWritten) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            if (eldest.getKey().equals(justWritten)) {
+                continue;
+            }
+            iterator.remove();
+            totalWeight -= eldest.getValue().weight;
+            evictions.incrementAndGet();
+            logger.debug("{} cache evicted {} (weight {})", name, eldest.getKey(), eldest.getValue().weight);
+        }
+    }
+
+    private void removeEntry(K key, Entry<V> entry) {
+        entries.remove(key);
+        totalWeight -= entry.weight;
+    }
+
+    // One reload per key at a time; the stale value keeps being served until it finishes
+    private void refreshAsync(K key) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+
+        CompletableFuture.supplyAsync(() -> loader.apply(key), refreshExecutor)
+                .whenComplete((value, error) -> {
+                    refreshing.remove(key);
+                    if (error != null) {
+                        logger.warn("{} cache refresh failed for {}: {}", name, key, error.getMessage());
+                    } else if (value != null) {
+                        refreshes.incrementAndGet();
+                        put(key, value);
+                    }
+                });
+    }
+
+    private static class Entry<V> {
+        final V value;
+        final long weight;
+        final long writtenAt;
+
+        Entry(V value, long weight, long writtenAt) {
+            this.value = value;
+            this.weight = weight;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    public static class Stats {
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long expirations;
+        public final long refreshes;
+        public final int size;
+        public final long weight;
+
+        public Stats(long hits, long misses, long evictions, long expirations, long refreshes, int size, long weight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.refreshes = refreshes;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d entries, weight %d, hit rate %.1f%% (%d hits, %d misses), %d evicted, %d expired, %d refreshed",
+                    size, weight, hitRate() * 100, hits, misses, evictions, expirations, refreshes);
+        }
+    }
+
+    public static class Builder<K, V> {
+        private final String name;
+        private long maxWeight = Long.MAX_VALUE;
+        private ToLongFunction<V> weigher = value -> 1;
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+        private Function<K, V> loader;
+        private Executor refreshExecutor = ForkJoinPool.commonPool();
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /** Maximum number of entries; same as maximumWeight with every entry weighing 1 */
+        public Builder<K, V> maximumSize(long maxSize) {
+            this.maxWeight = maxSize;
+            this.weigher = value -> 1;
+            return this;
+        }
+
+        public Builder<K, V> maximumWeight(long maxWeight, ToLongFunction<V> weigher) {
+            this.maxWeight = maxWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration ttl) {
+            this.expireAfterWrite = ttl;
+            return this;
+        }
+
+        /** Needs a loader; stale entries are reloaded in the background on their next read */
+        public Builder<K, V> refreshAfterWrite(Duration interval, Function<K, V> loader) {
+            this.refreshAfterWrite = interval;
+            this.loader = loader;
+            return this;
+        }
+
+        /** Where background refreshes run; the common pool unless set, so set it for blocking loaders */
+        public Builder<K, V> refreshExecutor(Executor executor) {
+            this.refreshExecutor = executor;
+            return this;
+        }
+
+        public Builder<K, V> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public LruCache<K, V> build() {
+            return new LruCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.hundefined.services;
+
+import com.hundefined.config.BotConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingRegistryConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Timers and counters for every stage of the bot: scrape, extract, render, send, database and commands.
+ *
+ * Meters are registered on one composite registry; backends plug into it. From config, a
+ * Prometheus text endpoint ({@code metrics.prometheus.port}) and a periodic log dump
+ * ({@code metrics.log.minutes}) can be switched on. With no backend, meters are no-ops.
+ * Timers publish p50, p95 and p99.
+ */
+public class MetricsService {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsService.class);
+    private static MetricsService instance;
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final JvmGcMetrics gcMetrics = new JvmGcMetrics();
+    private HttpServer prometheusServer;
+    private LoggingMeterRegistry loggingRegistry;
+
+    private MetricsService() {
+        int port = BotConfig.getMetricsPrometheusPort();
+        if (port > 0) {
+            startPrometheusEndpoint(BotConfig.getMetricsPrometheusHost(), port);
+        }
+
+        long logMinutes = BotConfig.getMetricsLogMinutes();
+        if (logMinutes > 0) {
+            startLogDump(Duration.ofMinutes(logMinutes));
+        }
+
+        new JvmMemoryMetrics().bindTo(registry);
+        new JvmThreadMetrics().bindTo(registry);
+        gcMetrics.bindTo(registry);
+    }
+
+    public static synchronized MetricsService getInstance() {
+        if (instance == null) {
+            instance = new MetricsService();
+        }
+        return instance;
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    /** Plug in another backend; meters already registered are added to it as well */
+    public void addRegistry(MeterRegistry backend) {
+        registry.add(backend);
+    }
+
+    public Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    public Counter counter(String name, String... tags) {
+        return Counter.builder(name).tags(tags).register(registry);
+    }
+
+    /** Record the time until the future completes, tagged with outcome=success or outcome=failure */
+    public <T> CompletableFuture<T> time(CompletableFuture<T> future, String name, String... tags) {
+        Timer.Sample sample = Timer.start(registry);
+        return future.whenComplete((result, error) -> sample.stop(timer(name, withOutcome(tags, error == null))));
+    }
+
+    private static String[] withOutcome(String[] tags, boolean success) {
+        String[] tagged = new String[tags.length + 2];
+        System.arraycopy(tags, 0, tagged, 0, tags.length);
+        tagged[tags.length] = "outcome";
+        tagged[tags.length + 1] = success ? "success" : "failure";
+        return tagged;
+    }
+
+    private void startPrometheusEndpoint(String host, int port) {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.add(prometheus);
+
+        try {
+            prometheusServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+            prometheusServer.createContext("/metrics", exchange -> {
+                byte[] body = prometheus.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            prometheusServer.start();
+            logger.info("Serving Prometheus metrics on http://{}:{}/metrics", host, port);
+        } catch (IOException e) {
+            logger.error("Could not start the metrics endpoint on {}:{}", host, port, e);
+        }
+    }
+
+    private void startLogDump(Duration step) {
+        LoggingRegistryConfig config = new LoggingRegistryConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return step;
+            }
+        };
+        loggingRegistry = LoggingMeterRegistry.builder(config).loggingSink(logger::info).build();
+        registry.add(loggingRegistry);
+        logger.info("Logging metrics every {} minutes", step.toMinutes());
+    }
+
+    public void shutdown() {
+        if (prometheusServer != null) {
+            prometheusServer.stop(0);
+        }
+        // Flushes a final dump
+        if (loggingRegistry != null) {
+            loggingRegistry.close();
+        }
+        gcMetrics.close();
+        logger.info("Metrics shutdown completed");
+    }
+}
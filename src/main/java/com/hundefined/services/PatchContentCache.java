@@ -0,0 +1,137 @@
+package com.hundefined.services;
+
+import com.hundefined.Database.DatabaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory cache of parsed patch content shared by commands, buttons and the patch task.
+ *
+ * Bounded by the approximate size of the cached text rather than a fixed entry count,
+ * so one huge patch cannot crowd out memory. Misses and refreshes go to the snapshot
+ * store and then the database; scraping stays with the callers.
+ */
+public class PatchContentCache {
+    private static final Logger logger = LoggerFactory.getLogger(PatchContentCache.class);
+    private static final long MAX_CACHED_CHARS = 4_000_000;
+    private static final Duration TTL = Duration.ofHours(12);
+    private static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
+    // Refreshes read snapshot files and query the database, so they get a thread of their own
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "patch-content-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static PatchContentCache instance;
+
+    private final LruCache<String, RiotApiService.PatchContent> cache;
+    private volatile String latestVersion;
+
+    private PatchContentCache() {
+        this.cache = LruCache.<String, RiotApiService.PatchContent>builder("patch content")
+                .maximumWeight(MAX_CACHED_CHARS, PatchContentCache::weigh)
+                .expireAfterWrite(TTL)
+                .refreshAfterWrite(REFRESH_INTERVAL, PatchContentCache::loadStored)
+                .refreshExecutor(REFRESH_EXECUTOR)
+                .build();
+    }
+
+    public static synchronized PatchContentCache getInstance() {
+        if (instance == null) {
+            instance = new PatchContentCache();
+        }
+        return instance;
+    }
+
+    /** Cached content for the version, or null without touching disk or the database */
+    public RiotApiService.PatchContent getIfPresent(String version) {
+        return version != null ? cache.getIfPresent(version) : null;
+    }
+
+    /** Cached content, falling back to the snapshot store and then the database */
+    public RiotApiService.PatchContent get(String version) {
+        return version != null ? cache.get(version) : null;
+    }
+
+    /** Content for the latest patch, if it is still cached */
+    public RiotApiService.PatchContent getLatest() {
+        return getIfPresent(latestVersion);
+    }
+
+    /** Cache content for its version without changing which patch is the latest */
+    public void put(RiotApiService.PatchContent content) {
+        if (content == null || content.version == null) {
+            logger.warn("Attempted to cache patch content without a version");
+            return;
+        }
+
+        cache.put(content.version, content);
+        logger.debug("Cached patch {} ({} chars); {}", content.version, weigh(content), cache.stats());
+    }
+
+    /** Cache content and make it the latest patch */
+    public void putLatest(RiotApiService.PatchContent content) {
+        put(content);
+        if (content != null && content.version != null) {
+            latestVersion = content.version;
+        }
+    }
+
+    public LruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private static RiotApiService.PatchContent loadStored(String version) {
+        RiotApiService.PatchContent content = PatchSnapshotStore.getInstance().get(version);
+        if (content == null) {
+            content = DatabaseManager.getInstance().loadPatchContent(version);
+        }
+        return content;
+    }
+
+    // Rough size in characters of everything the content holds
+    private static long weigh(RiotApiService.PatchContent content) {
+        long chars = length(content.title) + length(content.overview) + length(content.url);
+        if (content.championChanges != null) {
+            for (RiotApiService.ChampionChange champion : content.championChanges) {
+                chars += length(champion.name) + length(champion.changes) + weighStats(champion.stats);
+            }
+        }
+        if (content.itemChanges != null) {
+            for (RiotApiService.ItemChange item : content.itemChanges) {
+                chars += length(item.name) + length(item.changes) + weighStats(item.stats);
+            }
+        }
+        return chars + length(content.bugFixes) + length(content.systemChanges);
+    }
+
+    // A stat change holds its labels plus eight bytes a rank for each side
+    private static long weighStats(List<StatChange> stats) {
+        long chars = 0;
+        if (stats != null) {
+            for (StatChange stat : stats) {
+                chars += length(stat.ability()) + length(stat.stat()) + 8L * (stat.oldValues().length + stat.newValues().length);
+            }
+        }
+        return chars;
+    }
+
+    private static long length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static long length(List<String> lines) {
+        long chars = 0;
+        if (lines != null) {
+            for (String line : lines) {
+                chars += length(line);
+            }
+        }
+        return chars;
+    }
+}
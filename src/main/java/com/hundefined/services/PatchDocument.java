@@ -0,0 +1,370 @@
+package com.hundefined.services;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Pre-indexed view of a parsed patch notes page, shared by all extractors.
+ *
+ * A single traversal of the DOM records every element in document order, a flattened
+ * whitespace-normalized text buffer with each element's [start, end) range inside it,
+ * the next-sibling links and the headings. Extractors query this index instead
+ * of calling doc.text(), doc.select(...) or getElementsContainingText(...), each of which
+ * walks the whole tree again. The index is never modified after construction, so the
+ * extractors can query it from parallel threads.
+ */
+public class PatchDocument {
+    private final Document document;
+
+    // Elements in document order; an element's subtree occupies [index, subtreeEnd]
+    private final List<Element> elements = new ArrayList<>();
+    private final Map<Element, Integer> order = new HashMap<>();
+    private int[] subtreeEnd;
+    private int[] nextSibling;
+
+    // Flattened text with element offsets; lowerText has identical offsets
+    private final String flatText;
+    private final String lowerText;
+    private int[] textStart;
+    private int[] textEnd;
+
+    private final Map<String, List<Element>> elementsByTag = new HashMap<>();
+    private final List<Section> sections = new ArrayList<>();
+
+    private PatchDocument(Document document) {
+        this.document = document;
+
+        StringBuilder text = new StringBuilder();
+        List<int[]> ranges = new ArrayList<>();
+        Deque<Integer> lastChild = new ArrayDeque<>();
+        List<Integer> siblingLinks = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+                if (node instanceof TextNode) {
+                    appendNormalized(text, ((TextNode) node).getWholeText());
+                } else if (node instanceof Element) {
+                    Element element = (Element) node;
+                    int index = elements.size();
+
+                    // Link the previous element sibling (the last child seen at this level) to this one
+                    if (!lastChild.isEmpty()) {
+                        int previous = lastChild.pop();
+                        if (previous >= 0) siblingLinks.set(previous, index);
+                    }
+                    lastChild.push(index);
+                    lastChild.push(-1); // no children seen yet
+
+                    elements.add(element);
+                    order.put(element, index);
+                    siblingLinks.add(-1);
+                    ends.add(index);
+                    elementsByTag.computeIfAbsent(element.normalName(), k -> new ArrayList<>()).add(element);
+
+                    if (element.isBlock() || element.normalName().equals("br")) {
+                        appendSeparator(text);
+                    }
+                    ranges.add(new int[]{text.length(), -1});
+                }
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                if (node instanceof Element) {
+                    Element element = (Element) node;
+                    lastChild.pop(); // this element's last child
+                    int index = lastChild.peek();
+                    ranges.get(index)[1] = text.length();
+                    ends.set(index, elements.size() - 1);
+
+                    if (element.isBlock()) {
+                        appendSeparator(text);
+                    }
+                }
+            }
+        }, document);
+
+        this.flatText = text.toString();
+        char[] lower = flatText.toCharArray();
+        for (int i = 0; i < lower.length; i++) {
+            lower[i] = Character.toLowerCase(lower[i]);
+        }
+        this.lowerText = new String(lower);
+
+        int size = elements.size();
+        textStart = new int[size];
+        textEnd = new int[size];
+        subtreeEnd = new int[size];
+        nextSibling = new int[size];
+        for (int i = 0; i < size; i++) {
+            textStart[i] = ranges.get(i)[0];
+            textEnd[i] = ranges.get(i)[1];
+            subtreeEnd[i] = ends.get(i);
+            nextSibling[i] = siblingLinks.get(i);
+        }
+
+        indexSections();
+    }
+
+    /** Build the index for a parsed document (one full traversal) */
+    public static PatchDocument index(Document document) {
+        return new PatchDocument(document);
+    }
+
+    public Document document() {
+        return document;
+    }
+
+    public String title() {
+        return document.title();
+    }
+
+    /** Whole-document text, equivalent to doc.text() */
+    public String text() {
+        return flatText.trim();
+    }
+
+    /** Lowercased whole-document text */
+    public String lowerText() {
+        return lowerText;
+    }
+
+    /** Element text from the flattened buffer, equivalent to element.text() */
+    public String text(Element element) {
+        Integer index = order.get(element);
+        if (index == null) return element.text();
+        return flatText.substring(textStart[index], textEnd[index]).trim();
+    }
+
+    public String lowerText(Element element) {
+        Integer index = order.get(element);
+        if (index == null) return element.text().toLowerCase();
+        return lowerText.substring(textStart[index], textEnd[index]).trim();
+    }
+
+    /** All elements in document order */
+    public List<Element> elements() {
+        return Collections.unmodifiableList(elements);
+    }
+
+    /** Elements with any of the given tags, in document order */
+    public Elements elementsByTag(String... tags) {
+        if (tags.length == 1) {
+            return new Elements(elementsByTag.getOrDefault(tags[0], Collections.emptyList()));
+        }
+        Set<String> wanted = new HashSet<>(Arrays.asList(tags));
+        return find(element -> wanted.contains(element.normalName()));
+    }
+
+    /** Elements matching the predicate, in document order */
+    public Elements find(Predicate<Element> predicate) {
+        Elements found = new Elements();
+        for (Element element : elements) {
+            if (predicate.test(element)) found.add(element);
+        }
+        return found;
+    }
+
+    public Element first(Predicate<Element> predicate) {
+        for (Element element : elements) {
+            if (predicate.test(element)) return element;
+        }
+        return null;
+    }
+
+    /** The scope element and its descendants matching the predicate (like scope.select(...)) */
+    public Elements select(Element scope, Predicate<Element> predicate) {
+        Integer index = order.get(scope);
+        if (index == null) return new Elements();
+
+        Elements found = new Elements();
+        for (int i = index; i <= subtreeEnd[index]; i++) {
+            Element element = elements.get(i);
+            if (predicate.test(element)) found.add(element);
+        }
+        return found;
+    }
+
+    /** Descendants (and the scope itself) with the given tag */
+    public Elements select(Element scope, String tag) {
+        Integer index = order.get(scope);
+        List<Element> tagged = elementsByTag.get(tag);
+        if (index == null || tagged == null) return new Elements();
+
+        Elements found = new Elements();
+        int from = firstAtOrAfter(tagged, index);
+        for (int i = from; i < tagged.size(); i++) {
+            int position = order.get(tagged.get(i));
+            if (position > subtreeEnd[index]) break;
+            found.add(tagged.get(i));
+        }
+        return found;
+    }
+
+    /** Next element sibling in O(1), equivalent to element.nextElementSibling() */
+    public Element nextElementSibling(Element element) {
+        Integer index = order.get(element);
+        if (index == null) return element.nextElementSibling();
+        return nextSibling[index] >= 0 ? elements.get(nextSibling[index]) : null;
+    }
+
+    /**
+     * Elements whose text contains the given text, case-insensitively,
+     * equivalent to doc.getElementsContainingText(searchText)
+     */
+    public Elements elementsContainingText(String searchText) {
+        String needle = searchText.toLowerCase().trim();
+        Elements found = new Elements();
+        if (needle.isEmpty()) return found;
+
+        // Every occurrence in the flattened buffer, then each element whose range covers one
+        List<Integer> hits = new ArrayList<>();
+        for (int at = lowerText.indexOf(needle); at >= 0; at = lowerText.indexOf(needle, at + 1)) {
+            hits.add(at);
+        }
+        if (hits.isEmpty()) return found;
+
+        for (int i = 0; i < elements.size(); i++) {
+            int lastStart = textEnd[i] - needle.length();
+            if (lastStart < textStart[i]) continue;
+
+            int hit = firstHitAtOrAfter(hits, textStart[i]);
+            if (hit >= 0 && hits.get(hit) <= lastStart) {
+                found.add(elements.get(i));
+            }
+        }
+        return found;
+    }
+
+    /** Heading sections at the given levels (1-6) whose heading text contains any keyword, case-insensitively */
+    public List<Section> sectionsContaining(int[] levels, String... keywords) {
+        List<Section> found = new ArrayList<>();
+        for (Section section : sections) {
+            if (!hasLevel(levels, section.level)) continue;
+            for (String keyword : keywords) {
+                if (section.lowerText.contains(keyword.toLowerCase())) {
+                    found.add(section);
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Heading sections at the given levels whose own text contains the keyword, case-insensitively */
+    public List<Section> sectionsOwnTextContaining(int[] levels, String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
+        List<Section> found = new ArrayList<>();
+        for (Section section : sections) {
+            if (hasLevel(levels, section.level) && section.ownLowerText.contains(lowerKeyword)) {
+                found.add(section);
+            }
+        }
+        return found;
+    }
+
+    /** Elements whose id or class attribute contains the fragment, case-insensitively */
+    public Elements elementsWithIdOrClassContaining(String fragment) {
+        String lowerFragment = fragment.toLowerCase();
+        return find(element -> element.id().toLowerCase().contains(lowerFragment) ||
+                element.className().toLowerCase().contains(lowerFragment));
+    }
+
+    /** Sort and de-duplicate elements into document order */
+    public Elements inDocumentOrder(Collection<Element> unordered) {
+        TreeMap<Integer, Element> sorted = new TreeMap<>();
+        for (Element element : unordered) {
+            Integer index = order.get(element);
+            if (index != null) sorted.put(index, element);
+        }
+        return new Elements(sorted.values());
+    }
+
+    private void indexSections() {
+        for (Element element : elements) {
+            int level = headingLevel(element);
+            if (level != 0) {
+                sections.add(new Section(element, level, text(element), element.ownText().toLowerCase()));
+            }
+        }
+    }
+
+    private int firstAtOrAfter(List<Element> tagged, int index) {
+        int low = 0, high = tagged.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.get(tagged.get(mid)) < index) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static int firstHitAtOrAfter(List<Integer> hits, int position) {
+        int low = 0, high = hits.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hits.get(mid) < position) low = mid + 1;
+            else high = mid;
+        }
+        return low < hits.size() ? low : -1;
+    }
+
+    private static boolean hasLevel(int[] levels, int level) {
+        for (int l : levels) {
+            if (l == level) return true;
+        }
+        return false;
+    }
+
+    static int headingLevel(Element element) {
+        String name = element.normalName();
+        if (name.length() == 2 && name.charAt(0) == 'h' && name.charAt(1) >= '1' && name.charAt(1) <= '6') {
+            return name.charAt(1) - '0';
+        }
+        return 0;
+    }
+
+    private static void appendNormalized(StringBuilder text, String raw) {
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (Character.isWhitespace(c)) {
+                appendSeparator(text);
+            } else {
+                text.append(c);
+            }
+        }
+    }
+
+    private static void appendSeparator(StringBuilder text) {
+        if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+            text.append(' ');
+        }
+    }
+
+    /** A heading with its text; extractors walk the siblings after it with their own stop rules */
+    public static class Section {
+        public final Element heading;
+        public final int level;
+        public final String text;
+        public final String lowerText;
+        public final String ownLowerText;
+
+        Section(Element heading, int level, String text, String ownLowerText) {
+            this.heading = heading;
+            this.level = level;
+            this.text = text;
+            this.lowerText = text.toLowerCase();
+            this.ownLowerText = ownLowerText;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.hundefined.services;
+
+import java.util.Comparator;
+import java.util.regex.Pattern;
+
+/**
+ * Shared registry of precompiled regular expressions used by the extractors and
+ * version parsing. Numeric stat changes are read by StatChangeParser, and buff/nerf
+ * classification uses StatPolarityTable.
+ *
+ * Every pattern here is compiled exactly once per process. Callers use
+ * {@code matcher(text).find()} instead of {@code String.matches(".*x.*")},
+ * which both avoids recompiling on every sentence and skips the leading
+ * {@code .*} backtracking over the whole string.
+ */
+public final class PatchPatterns {
+
+    private PatchPatterns() {
+    }
+
+    // Text normalization
+    public static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    public static final Pattern SENTENCE_SPLIT = Pattern.compile("[\\.!?]+");
+    public static final Pattern SEGMENT_SPLIT = Pattern.compile("[.!?\\n]");
+    public static final Pattern HEADING_TAG = Pattern.compile("h[2-6]");
+
+    // Champion roster alternation, built once from the known champion list
+    public static final String CHAMPION_ALTERNATION = buildChampionAlternation();
+
+    // Champion name followed by stat arrows (Lee Sin Base AD: 68 → 63)
+    public static final Pattern CHAMPION_STAT_ARROW = Pattern.compile(
+            "(" + CHAMPION_ALTERNATION + ")\\s+" +
+                    "(?:Base\\s+)?([A-Za-z\\s]+?)\\s*:?\\s*" +
+                    "(\\d+(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+)?)",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    // Champion ability with stat changes (Lee Sin Q - Damage: 55/80/105/130/155 → 50/75/100/125/150)
+    public static final Pattern CHAMPION_ABILITY_STAT = Pattern.compile(
+            "(" + CHAMPION_ALTERNATION + ")\\s+" +
+                    "([QWER]|Passive)\\s*[-–—:]+\\s*" +
+                    "([^\\n]+?)\\s*" +
+                    "(\\d+(?:/\\d+)*(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    // General stat increase/decrease mentions
+    public static final Pattern CHAMPION_STAT_CHANGE = Pattern.compile(
+            "(" + CHAMPION_ALTERNATION + ")\\s+" +
+                    "([A-Za-z\\s]+?)\\s*" +
+                    "(increased|decreased|reduced|improved|lowered|raised)\\s+" +
+                    "(?:from\\s+)?(\\d+(?:\\.\\d+)?)\\s*(?:to\\s+)?(\\d+(?:\\.\\d+)?)",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    // Stat lines inside a champion's context
+    public static final Pattern STAT_ARROW = Pattern.compile(
+            "([A-Za-z\\s]+?)\\s*:?\\s*(\\d+(?:\\.\\d+|/\\d+)*)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:\\.\\d+|/\\d+)*)",
+            Pattern.CASE_INSENSITIVE);
+    public static final Pattern ABILITY_STAT = Pattern.compile(
+            "([QWER]|Passive)\\s*[-–—:]+\\s*([^\\n]+?)\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)\\s*[→⇒➔⟶▶]\\s*(\\d+(?:/\\d+)*(?:\\.\\d+)?)",
+            Pattern.CASE_INSENSITIVE);
+
+    // Champion change validation (applied to lowercased text)
+    public static final Pattern ABILITY_LABEL = Pattern.compile("\\b[qwer]\\s*[-–—:]");
+    public static final Pattern ABILITY_MENTION = Pattern.compile("\\b[qwer]\\b.*[-–—:]");
+    public static final Pattern BASE_STAT = Pattern.compile("base\\s+(stats?|ad|ap|health|hp|armor|mr|damage)");
+    public static final Pattern NUMBER_ARROW_NUMBER = Pattern.compile("\\d.*[⇒→].*\\d");
+    public static final Pattern STAT_LABEL_WITH_NUMBER = Pattern.compile(
+            "(damage|cooldown|range|cost|health|mana|shield|heal).*:.*\\d");
+    public static final Pattern STAT_KEYWORD_WITH_NUMBER = Pattern.compile(
+            "(damage|heal|shield|cooldown|range|mana|cost|health|armor).*\\d");
+    public static final Pattern CHANGE_LANGUAGE = Pattern.compile(
+            "buff|nerf|increas|decreas|improv|adjust|reduc|strengthen|weaken");
+    public static final Pattern CHANGE_INDICATOR_LANGUAGE = Pattern.compile(
+            "buff|nerf|increas|decreas|improv|adjust|reduc");
+
+    // Developer reasoning detection (applied to lowercased text)
+    public static final Pattern PRONOUN_REFERENCE = Pattern.compile("she|he|they|this champion");
+    public static final Pattern REASONING_LANGUAGE = Pattern.compile(
+            // Performance indicators
+            "is|has|currently|perform|statistically|" +
+                    // Strength/weakness indicators
+                    "weak|strong|powerful|domina|overpow|underpow|struggling|" +
+                    // Comparative language
+                    "too|very|quite|rather|fairly|slightly|" +
+                    // Context indicators
+                    "popular|unpopular|missing|absent|present|" +
+                    // Play context
+                    "pro play|regular play|high mmr|low mmr|coordinated|teams|solo queue|" +
+                    // Developer intent
+                    "we|our goal|hope|want|like|would|" +
+                    // Temporal context
+                    "recently|lately|now|since|after|before");
+    public static final Pattern DESCRIPTIVE_LANGUAGE = Pattern.compile(
+            "reasonably|little|bit|somewhat|especially|particularly|" +
+                    "continues to|has been|finds|makes|allows|" +
+                    "role|position|kit|abilities|playstyle|identity");
+
+    // Item change detection (case-sensitive, applied to original text)
+    public static final Pattern ITEM_STAT_LABEL = Pattern.compile(
+            "(Damage|Cooldown|Heal|Range|Cost|CD|Health|Shield|AD|AP|Armor|MR).*:");
+    public static final Pattern ITEM_NUMBER_ARROW = Pattern.compile("\\d.*⇒.*\\d");
+    public static final Pattern FROM_TO_NUMBERS = Pattern.compile("from\\s+\\d.*to\\s+\\d");
+
+    // Patch version parsing
+    public static final Pattern PATCH_URL_VERSION = Pattern.compile("patch[\\-_](\\d+)[\\-_](\\d+)");
+    public static final Pattern PATCH_TEXT_VERSION = Pattern.compile("patch\\s+(\\d+\\.\\d+)", Pattern.CASE_INSENSITIVE);
+    public static final Pattern VERSION_NUMBER = Pattern.compile("(\\d+\\.\\d+)");
+    public static final Pattern VERSION_FORMAT = Pattern.compile("\\d+\\.\\d+");
+
+    // Patch version in bot messages and embeds, most specific first
+    public static final Pattern[] MESSAGE_VERSION_PATTERNS = {
+            Pattern.compile("Patch\\s+(\\d+\\.\\d+)\\s+Notes", Pattern.CASE_INSENSITIVE),  // "Patch 14.24 Notes"
+            Pattern.compile("PATCH NOTES - (\\d+\\.\\d+)", Pattern.CASE_INSENSITIVE),      // "PATCH NOTES - 14.24"
+            Pattern.compile("patch[\\s-]+(\\d+\\.\\d+)", Pattern.CASE_INSENSITIVE),        // "patch 14.24" or "patch-14.24"
+            Pattern.compile("(\\d+\\.\\d+)\\s+Notes", Pattern.CASE_INSENSITIVE),           // "14.24 Notes"
+            Pattern.compile("version\\s+(\\d+\\.\\d+)", Pattern.CASE_INSENSITIVE),         // "version 14.24"
+            Pattern.compile("(\\d+\\.\\d+)", Pattern.CASE_INSENSITIVE),                    // Just the version number
+            Pattern.compile("CHAMPION CHANGES \\((\\d+)\\)", Pattern.CASE_INSENSITIVE),    // Extract from champion count context
+            Pattern.compile("Patch (\\d+\\.\\d+\\d*)", Pattern.CASE_INSENSITIVE)           // Flexible patch format
+    };
+
+    /** Collapse runs of whitespace (including line breaks) to single spaces */
+    public static String collapseWhitespace(String text) {
+        if (text == null) return "";
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").trim();
+    }
+
+    // Longest names first so "Viego" is tried before "Vi"
+    private static String buildChampionAlternation() {
+        StringBuilder regex = new StringBuilder("(?:");
+        ChampionExtractor.CHAMPION_NAMES.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()))
+                .forEach(champion -> {
+                    if (regex.length() > 3) regex.append("|");
+                    regex.append(Pattern.quote(champion));
+                });
+        regex.append(")");
+        return regex.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package com.hundefined.services;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.hundefined.config.BotConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Local store of parsed patch content, one JSON snapshot per version.
+ *
+ * Snapshots are written once after a patch is extracted, so /latestpatch and the
+ * detail buttons answer without re-scraping. Only the latest patch stays in memory;
+ * older versions are read from disk, which PatchContentCache does behind its weight
+ * bound. The latest version pointer is only moved by the background patch check.
+ */
+public class PatchSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(PatchSnapshotStore.class);
+    private static final String LATEST_FILE = "latest.version";
+    // 1: stat records carry the index of their note line
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static PatchSnapshotStore instance;
+
+    private final Path directory;
+    private final Gson gson;
+    private volatile String latestVersion;
+    private volatile RiotApiService.PatchContent latest;
+
+    private PatchSnapshotStore() {
+        this(Paths.get(BotConfig.getSnapshotDirectory()));
+    }
+
+    PatchSnapshotStore(Path directory) {
+        this.directory = directory;
+        this.gson = new GsonBuilder().disableHtmlEscaping().create();
+        loadLatestVersion();
+    }
+
+    public static synchronized PatchSnapshotStore getInstance() {
+        if (instance == null) {
+            instance = new PatchSnapshotStore();
+        }
+        return instance;
+    }
+
+    /** Content for the most recent known patch, or null before the first extraction */
+    public RiotApiService.PatchContent getLatest() {
+        String version = latestVersion;
+        if (version == null) return null;
+
+        RiotApiService.PatchContent content = get(version);
+        if (content != null && version.equals(latestVersion)) {
+            latest = content;
+        }
+        return content;
+    }
+
+    public String getLatestVersion() {
+        return latestVersion;
+    }
+
+    /** Content for a specific version: the latest patch from memory, any other from disk */
+    public RiotApiService.PatchContent get(String version) {
+        if (version == null) return null;
+
+        RiotApiService.PatchContent current = latest;
+        if (current != null && version.equals(current.version)) return current;
+
+        Path file = snapshotFile(version);
+        if (!Files.exists(file)) return null;
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RiotApiService.PatchContent content = gson.fromJson(reader, RiotApiService.PatchContent.class);
+            if (content != null) {
+                if (content.snapshotFormat < SNAPSHOT_FORMAT) {
+                    upgrade(content);
+                }
+                logger.debug("Loaded patch snapshot for version {} from {}", version, file);
+            }
+            return content;
+        } catch (Exception e) {
+            logger.error("Error reading patch snapshot for version {}", version, e);
+            return null;
+        }
+    }
+
+    // Snapshots from before the current stat records get them scanned from their lines and are
+    // written back, so this happens once per snapshot rather than on every read
+    private void upgrade(RiotApiService.PatchContent content) {
+        if (content.championChanges != null) {
+            for (RiotApiService.ChampionChange champion : content.championChanges) {
+                champion.stats = StatChangeParser.parseAll(champion.name, champion.changes);
+            }
+        }
+        if (content.itemChanges != null) {
+            for (RiotApiService.ItemChange item : content.itemChanges) {
+                item.stats = StatChangeParser.parseAll(item.name, item.changes);
+            }
+        }
+        logger.info("Upgrading patch snapshot for version {} to format {}", content.version, SNAPSHOT_FORMAT);
+        save(content);
+    }
+
+    public boolean contains(String version) {
+        return version != null && Files.exists(snapshotFile(version));
+    }
+
+    /** Persist the content for its version and make it the latest patch */
+    public synchronized boolean saveLatest(RiotApiService.PatchContent content) {
+        if (!save(content)) return false;
+
+        try {
+            writeAtomically(directory.resolve(LATEST_FILE), content.version);
+            latest = content;
+            latestVersion = content.version;
+            logger.info("Latest patch snapshot is now version {}", content.version);
+            return true;
+        } catch (IOException e) {
+            logger.error("Error updating latest patch snapshot pointer to {}", content.version, e);
+            return false;
+        }
+    }
+
+    /** Persist the content for its version without moving the latest pointer */
+    public boolean save(RiotApiService.PatchContent content) {
+        if (content == null || content.version == null) return false;
+
+        try {
+            content.snapshotFormat = SNAPSHOT_FORMAT;
+            writeAtomically(snapshotFile(content.version), gson.toJson(content));
+            if (content.version.equals(latestVersion)) {
+                latest = content;
+            }
+            logger.info("Saved patch snapshot for version {}", content.version);
+            return true;
+        } catch (IOException e) {
+            logger.error("Error saving patch snapshot for version {}", content.version, e);
+            return false;
+        }
+    }
+
+    private void loadLatestVersion() {
+        Path file = directory.resolve(LATEST_FILE);
+        if (!Files.exists(file)) return;
+
+        try {
+            String version = Files.readString(file, StandardCharsets.UTF_8).trim();
+            if (PatchPatterns.VERSION_FORMAT.matcher(version).matches()) {
+                latestVersion = version;
+                logger.info("Found latest patch snapshot: {}", version);
+            }
+        } catch (IOException e) {
+            logger.error("Error reading latest patch snapshot pointer", e);
+        }
+    }
+
+    // Write to a temp file and rename, so readers never see a half-written snapshot
+    private void writeAtomically(Path target, String data) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(data);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path snapshotFile(String version) {
+        return directory.resolve("patch-" + version.replace('.', '-') + ".json");
+    }
+}
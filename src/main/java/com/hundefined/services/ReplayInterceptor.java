@@ -0,0 +1,84 @@
+package com.hundefined.services;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Answers every request from a directory of recorded responses instead of the network.
+ *
+ * A URL maps to {@code <root>/<host>/<path>}; paths ending in a slash, or without an
+ * extension, are served from {@code index.html} in that directory. Anything not recorded
+ * is a 404. Files get an ETag from their size and modification time, so conditional
+ * requests see 304s the way they would live.
+ */
+public class ReplayInterceptor implements Interceptor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayInterceptor.class);
+
+    private final Path root;
+
+    public ReplayInterceptor(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Path file = resolve(request);
+
+        if (file == null || !Files.isRegularFile(file)) {
+            logger.debug("No recording for {}", request.url());
+            return response(request, 404, "Not Found").body(ResponseBody.create("", null)).build();
+        }
+
+        String etag = "\"" + Long.toHexString(Files.size(file)) + "-" + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+        if (etag.equals(request.header("If-None-Match"))) {
+            return response(request, 304, "Not Modified").header("ETag", etag).body(ResponseBody.create("", null)).build();
+        }
+
+        byte[] bytes = request.method().equals("HEAD") ? new byte[0] : Files.readAllBytes(file);
+        logger.debug("Replaying {} from {}", request.url(), file);
+        return response(request, 200, "OK")
+                .header("ETag", etag)
+                .body(ResponseBody.create(bytes, contentType(file)))
+                .build();
+    }
+
+    private Path resolve(Request request) {
+        String path = request.url().encodedPath();
+        Path file = root.resolve(request.url().host()).resolve(path.substring(1)).normalize();
+        // Never serve anything outside the recording directory
+        if (!file.startsWith(root)) {
+            return null;
+        }
+        if (path.endsWith("/") || !file.getFileName().toString().contains(".")) {
+            file = file.resolve("index.html");
+        }
+        return file;
+    }
+
+    private static Response.Builder response(Request request, int code, String message) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message(message);
+    }
+
+    private static MediaType contentType(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".json")) {
+            return MediaType.get("application/json; charset=utf-8");
+        }
+        return MediaType.get("text/html; charset=utf-8");
+    }
+}
@@ -7,43 +7,56 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
-import org.jsoup.Jsoup;
+import io.micrometer.core.instrument.Timer;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class RiotApiService {
     private static final Logger logger = LoggerFactory.getLogger(RiotApiService.class);
     private static final String BASE_URL = "Enter Riot API Base URL Here";
     private static final String PATCH_NOTES_INDEX_URL = "Enter Patch Notes Index URL Here";
+    private static RiotApiService instance;
+    private static final String API_USER_AGENT = "LeagueNews-Bot/1.0";
+    private static final String BROWSER_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
 
-    private final OkHttpClient client;
+    private final HttpService http;
     private final Gson gson;
+    private final ConditionalFetcher fetcher;
+    private final MetricsService metrics;
+
+    // Concurrent callers for the same patch (or the current version) share one scrape
+    private final SingleFlight<String, PatchContent> contentFetches = new SingleFlight<>();
+    private final SingleFlight<String, String> versionLookups = new SingleFlight<>();
+
+    // Last downloaded patch notes index and the version found on it; reused while the page is unchanged.
+    // Only the HTML is kept: every lookup stream-scans it and stops at the first link it needs.
+    // Page and version are published together, so a scan of an old page never labels a newer one.
+    private final AtomicReference<IndexScan> index = new AtomicReference<>();
 
     // Composition with extractors
     private final ChampionExtractor championExtractor;
     private final ItemExtractor itemExtractor;
     private final BugFixExtractor bugFixExtractor;
 
-    public RiotApiService() {
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
+    private RiotApiService() {
+        this.http = HttpService.getInstance();
         this.gson = new Gson();
+        this.fetcher = new ConditionalFetcher(http, BROWSER_USER_AGENT);
+        this.metrics = MetricsService.getInstance();
 
         // Initialize extractors
         this.championExtractor = new ChampionExtractor();
@@ -51,190 +64,264 @@ public class RiotApiService {
         this.bugFixExtractor = new BugFixExtractor();
     }
 
+    public static synchronized RiotApiService getInstance() {
+        if (instance == null) {
+            instance = new RiotApiService();
+        }
+        return instance;
+    }
+
     /** Get the latest game version from Riot's Data Dragon API */
     public String getLatestVersion() {
+        return getLatestVersionAsync().join();
+    }
+
+    /** Non-blocking form of getLatestVersion(); completes with null on failure */
+    public CompletableFuture<String> getLatestVersionAsync() {
         String url = BASE_URL + "ENTER API JSON URL";
         logger.debug("Fetching latest version from: {}", url);
 
-        try {
-            Request request = new Request.Builder()
-                    .url(url)
-                    .addHeader("User-Agent", "LeagueNews-Bot/1.0")
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null) {
-                    String responseBody = response.body().string();
+        return http.getStringAsync(url, API_USER_AGENT)
+                .thenApply(responseBody -> {
                     JsonArray versions = gson.fromJson(responseBody, JsonArray.class);
-
                     if (versions.size() > 0) {
                         String latestVersion = versions.get(0).getAsString();
                         logger.info("Latest League version: {}", latestVersion);
                         return latestVersion;
-                    } else {
-                        logger.warn("No versions found in response");
                     }
-                } else {
-                    logger.warn("Failed to fetch versions: {} - {}", response.code(), response.message());
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error fetching latest version", e);
-        }
-        return null;
+                    logger.warn("No versions found in response");
+                    return (String) null;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error fetching latest version", unwrap(e));
+                    return null;
+                });
     }
 
     /** Get current patch version from the actual patch notes website */
     public String getCurrentPatchVersion() {
+        return getCurrentPatchVersionAsync().join();
+    }
+
+    /** Non-blocking form of getCurrentPatchVersion(); completes with null when no source knows the version */
+    public CompletableFuture<String> getCurrentPatchVersionAsync() {
+        return versionLookups.submitAsync(PATCH_NOTES_INDEX_URL,
+                () -> metrics.time(lookupCurrentPatchVersion(), "patch.version.lookup"));
+    }
+
+    private CompletableFuture<String> lookupCurrentPatchVersion() {
         logger.info("Fetching current patch version from website...");
 
-        try {
-            Document doc = Jsoup.connect(PATCH_NOTES_INDEX_URL)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .timeout(30000)
-                    .followRedirects(true)
-                    .get();
-
-            logger.debug("Successfully loaded patch notes index page");
-
-            // Look for the most recent patch notes link with multiple selectors
-            Elements links = doc.select("a[href*='patch-'], a[href*='game-updates'], a[href*='patch']");
-            logger.debug("Found {} potential patch links", links.size());
-
-            for (Element link : links) {
-                String href = link.attr("href");
-                String linkText = link.text();
-                logger.debug("Checking link: {} - {}", href, linkText);
-
-                // Extract version from URL like "/news/game-updates/patch-25-19-notes/"
-                Pattern pattern = Pattern.compile("patch[\\-_](\\d+)[\\-_](\\d+)");
-                Matcher matcher = pattern.matcher(href);
-                if (matcher.find()) {
-                    String version = matcher.group(1) + "." + matcher.group(2);
-                    logger.info("Found patch version from website: {}", version);
-                    return version;
-                }
+        return loadIndexPageAsync()
+                .thenApply(this::findCurrentVersion)
+                .exceptionally(e -> {
+                    logger.error("Error fetching current patch version from website", unwrap(e));
+                    return null;
+                })
+                .thenCompose(version -> {
+                    if (version != null) {
+                        return CompletableFuture.completedFuture(version);
+                    }
+                    // Fallback to Data Dragon API
+                    return getLatestVersionAsync().thenApply(this::extractPatchVersion);
+                });
+    }
 
-                // Also try to extract from link text
-                pattern = Pattern.compile("patch\\s+(\\d+\\.\\d+)", Pattern.CASE_INSENSITIVE);
-                matcher = pattern.matcher(linkText);
-                if (matcher.find()) {
-                    String version = matcher.group(1);
-                    logger.info("Found patch version from link text: {}", version);
-                    return version;
-                }
+    private String findCurrentVersion(IndexScan scan) {
+        // Nothing changed since the last poll, so neither did the current patch
+        if (scan.version() != null) {
+            logger.info("Patch notes index unchanged, current patch version: {}", scan.version());
+            return scan.version();
+        }
+
+        // The most recent patch notes link comes first; the scan stops there
+        ConditionalFetcher.FetchResult page = scan.page();
+        String version = StreamingPages.firstMatch(page.body, page.url, "a[href*='patch'], a[href*='game-updates']", link -> {
+            String href = link.attr("href");
+            String linkText = link.text();
+            logger.debug("Checking link: {} - {}", href, linkText);
+
+            // Extract version from URL like "/news/game-updates/patch-25-19-notes/"
+            Matcher matcher = PatchPatterns.PATCH_URL_VERSION.matcher(href);
+            if (matcher.find()) {
+                String found = matcher.group(1) + "." + matcher.group(2);
+                logger.info("Found patch version from website: {}", found);
+                return found;
             }
 
+            // Also try to extract from link text
+            matcher = PatchPatterns.PATCH_TEXT_VERSION.matcher(linkText);
+            if (matcher.find()) {
+                logger.info("Found patch version from link text: {}", matcher.group(1));
+                return matcher.group(1);
+            }
+            return null;
+        });
+
+        if (version == null) {
             logger.warn("No patch version found on website, falling back to API");
-        } catch (IOException e) {
-            logger.error("Error fetching current patch version from website", e);
+        } else {
+            // Only if no newer page was loaded in the meantime
+            index.compareAndSet(scan, new IndexScan(page, version));
         }
+        return version;
+    }
 
-        // Fallback to Data Dragon API
-        String ddVersion = getLatestVersion();
-        if (ddVersion != null) {
-            return extractPatchVersion(ddVersion);
+    /** The patch notes index page, downloaded again only when the server reports a change */
+    private CompletableFuture<IndexScan> loadIndexPageAsync() {
+        return fetcher.fetchAsync(PATCH_NOTES_INDEX_URL, index.get() == null)
+                .thenApplyAsync(this::updateIndex, ExtractionPipeline.executor());
+    }
+
+    private IndexScan updateIndex(ConditionalFetcher.FetchResult result) {
+        if (result.changed) {
+            IndexScan scan = new IndexScan(result, null);
+            index.set(scan);
+            logger.debug("Loaded patch notes index page ({} characters)", result.body.length());
+            return scan;
         }
+        logger.debug("Patch notes index page unchanged, reusing the last scan");
+        return index.get();
+    }
 
-        return null;
+    // The index page and the current version found on it, or a null version before it is scanned
+    private record IndexScan(ConditionalFetcher.FetchResult page, String version) {
     }
 
     /** Get all available versions */
     public List<String> getAllVersions() {
-        String url = BASE_URL + "BASE JSON URL";
-        List<String> versionList = new ArrayList<>();
-
-        try {
-            Request request = new Request.Builder()
-                    .url(url)
-                    .addHeader("User-Agent", "LeagueNews-Bot/1.0")
-                    .build();
+        return getAllVersionsAsync().join();
+    }
 
-            try (Response response = client.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null) {
-                    String responseBody = response.body().string();
-                    JsonArray versions = gson.fromJson(responseBody, JsonArray.class);
+    /** Non-blocking form of getAllVersions(); completes with an empty list on failure */
+    public CompletableFuture<List<String>> getAllVersionsAsync() {
+        String url = BASE_URL + "BASE JSON URL";
 
-                    for (JsonElement version : versions) {
+        return http.getStringAsync(url, API_USER_AGENT)
+                .thenApply(responseBody -> {
+                    List<String> versionList = new ArrayList<>();
+                    for (JsonElement version : gson.fromJson(responseBody, JsonArray.class)) {
                         versionList.add(version.getAsString());
                     }
-                }
-            }
-        } catch (IOException e) {
-            logger.error("Error fetching all versions", e);
-        }
-
-        return versionList;
+                    return versionList;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error fetching all versions", unwrap(e));
+                    return new ArrayList<>();
+                });
     }
 
     /** Fetch actual patch notes content using the dedicated extractors */
     public PatchContent fetchPatchContent(String patchVersion) {
-        logger.info("Starting to fetch patch content for version: {}", patchVersion);
-
-        String url = resolvePatchNotesUrl(patchVersion);
-        if (url == null) {
-            logger.error("Could not resolve URL for patch {}", patchVersion);
-            return null;
-        }
-
-        logger.info("Fetching patch content from: {}", url);
-
-        try {
-            Document doc = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .timeout(30000)
-                    .followRedirects(true)
-                    .get();
-
-            logger.info("Successfully loaded patch notes page, document size: {} characters", doc.text().length());
-
-            // Debug: Print some of the HTML structure
-            logger.debug("Document title: {}", doc.title());
-            logger.debug("Main headings found: {}", doc.select("h1, h2, h3").size());
-
-            PatchContent content = new PatchContent();
-            content.version = patchVersion;
-            content.url = url;
-
-            // Extract title with multiple fallbacks
-            Element titleElement = doc.selectFirst("h1, .article-title, [class*='title']");
-            content.title = (titleElement != null) ? cleanText(titleElement.text()) : "Patch " + patchVersion + " Notes";
-            logger.debug("Extracted title: {}", content.title);
+        return fetchPatchContentAsync(patchVersion).join();
+    }
 
-            // Extract overview
-            extractOverview(doc, content);
+    /**
+     * Non-blocking form of fetchPatchContent(); completes with null when the patch could not be fetched.
+     * The page is downloaded and stream-parsed on OkHttp's dispatcher thread; only indexing and
+     * extraction run on the extraction pool.
+     */
+    public CompletableFuture<PatchContent> fetchPatchContentAsync(String patchVersion) {
+        return contentFetches.submitAsync(patchVersion, () -> {
+            // Failures complete with null rather than exceptionally, so the outcome comes from the content
+            Timer.Sample sample = Timer.start(metrics.registry());
+            return scrapePatchContent(patchVersion).whenComplete((content, error) ->
+                    sample.stop(metrics.timer("patch.fetch", "outcome", content != null ? "success" : "failure")));
+        });
+    }
 
-            // Use the dedicated extractors for each content type
-            logger.info("Starting extraction using specialized extractors...");
+    private CompletableFuture<PatchContent> scrapePatchContent(String patchVersion) {
+        logger.info("Starting to fetch patch content for version: {}", patchVersion);
 
-            // Extract champions using ChampionExtractor
-            List<ChampionExtractor.ChampionChange> championChanges = championExtractor.extractChampionChanges(doc);
-            content.championChanges = convertChampionChanges(championChanges);
-            logger.info("Champion extraction completed: {} champions found", content.championChanges.size());
+        return metrics.time(resolvePatchNotesUrlAsync(patchVersion), "patch.fetch.stage", "stage", "resolve")
+                .thenCompose(url -> {
+                    if (url == null) {
+                        logger.error("Could not resolve URL for patch {}", patchVersion);
+                        return CompletableFuture.completedFuture((PatchContent) null);
+                    }
 
-            // Extract items using ItemExtractor
-            List<ItemExtractor.ItemChange> itemChanges = itemExtractor.extractItemChanges(doc);
-            content.itemChanges = convertItemChanges(itemChanges);
-            logger.info("Item extraction completed: {} items found", content.itemChanges.size());
+                    return fetchPatchContentAsync(patchVersion, url);
+                });
+    }
 
-            // Extract bug fixes using BugFixExtractor
-            content.bugFixes = bugFixExtractor.extractBugFixes(doc);
-            logger.info("Bug fix extraction completed: {} bug fixes found", content.bugFixes.size());
+    /** Fetch and extract the patch notes at a known URL, skipping URL resolution */
+    public PatchContent fetchPatchContent(String patchVersion, String url) {
+        return fetchPatchContentAsync(patchVersion, url).join();
+    }
 
-            // Extract system changes (kept in this service as it's more general)
-            extractSystemChanges(doc, content);
-            logger.info("System changes extraction completed: {} changes found", content.systemChanges.size());
+    /** Non-blocking form of fetchPatchContent(version, url); completes with null on failure */
+    public CompletableFuture<PatchContent> fetchPatchContentAsync(String patchVersion, String url) {
+        logger.info("Fetching patch content from: {}", url);
 
-            logger.info("Total extraction complete - Champions: {}, Items: {}, Bug Fixes: {}, System Changes: {}",
-                    content.championChanges.size(), content.itemChanges.size(),
-                    content.bugFixes.size(), content.systemChanges.size());
+        // Parsed while it downloads, and only up to the end of the notes
+        return metrics.time(http.streamDocumentAsync(url, BROWSER_USER_AGENT, StreamingPages::parsePatchNotes),
+                        "patch.fetch.stage", "stage", "download")
+                .thenCompose(doc -> extractContent(patchVersion, url, doc))
+                .exceptionally(e -> {
+                    logger.error("Error fetching patch content for version {}", patchVersion, unwrap(e));
+                    return null;
+                });
+    }
 
-            return content;
+    private CompletableFuture<PatchContent> extractContent(String patchVersion, String url, Document doc) {
+        // Index the page once; every extractor below reads from the same model
+        CompletableFuture<PatchDocument> indexed = metrics.time(
+                CompletableFuture.supplyAsync(() -> PatchDocument.index(doc), ExtractionPipeline.executor()),
+                "patch.fetch.stage", "stage", "index");
+        return indexed
+                .thenCompose(patchDoc -> {
+                    logger.info("Successfully loaded patch notes page, document size: {} characters", patchDoc.text().length());
+
+                    // Debug: Print some of the HTML structure
+                    logger.debug("Document title: {}", patchDoc.title());
+                    logger.debug("Main headings found: {}", patchDoc.elementsByTag("h1", "h2", "h3").size());
+
+                    PatchContent content = new PatchContent();
+                    content.version = patchVersion;
+                    content.url = url;
+
+                    // Extract title with multiple fallbacks
+                    Element titleElement = patchDoc.first(element -> element.normalName().equals("h1") ||
+                            element.hasClass("article-title") || element.className().toLowerCase().contains("title"));
+                    content.title = (titleElement != null) ? cleanText(patchDoc.text(titleElement)) : "Patch " + patchVersion + " Notes";
+                    logger.debug("Extracted title: {}", content.title);
+
+                    // Extract overview
+                    content.overview = extractOverview(patchDoc);
+
+                    // Use the dedicated extractors for each content type; they only read the shared index,
+                    // so the four phases run concurrently and a failed or slow phase leaves the others intact
+                    logger.info("Starting parallel extraction using specialized extractors...");
+                    ExtractionPipeline pipeline = new ExtractionPipeline();
+
+                    CompletableFuture<List<ChampionChange>> champions = pipeline.submit("champions",
+                            () -> convertChampionChanges(championExtractor.extractChampionChanges(patchDoc)), new ArrayList<>());
+                    CompletableFuture<List<ItemChange>> items = pipeline.submit("items",
+                            () -> convertItemChanges(itemExtractor.extractItemChanges(patchDoc)), new ArrayList<>());
+                    CompletableFuture<List<String>> bugFixes = pipeline.submit("bug fixes",
+                            () -> bugFixExtractor.extractBugFixes(patchDoc), new ArrayList<>());
+                    CompletableFuture<List<String>> systemChanges = pipeline.submit("system changes",
+                            () -> extractSystemChanges(patchDoc), new ArrayList<>());
+
+                    CompletableFuture<Void> extracted = metrics.time(pipeline.whenAll(List.of(champions, items, bugFixes, systemChanges)),
+                            "patch.fetch.stage", "stage", "extract");
+                    return extracted.thenApply(done -> {
+                        content.championChanges = champions.join();
+                        content.itemChanges = items.join();
+                        content.bugFixes = bugFixes.join();
+                        content.systemChanges = systemChanges.join();
+
+                        content.failedPhases = new ArrayList<>(pipeline.getFailedPhases());
+                        if (content.isPartial()) {
+                            logger.warn("Patch {} returned partial content, failed phases: {}", patchVersion, content.failedPhases);
+                        }
 
-        } catch (IOException e) {
-            logger.error("Error fetching patch content for version {}", patchVersion, e);
-            return null;
-        }
+                        logger.info("Total extraction complete - Champions: {}, Items: {}, Bug Fixes: {}, System Changes: {}",
+                                content.championChanges.size(), content.itemChanges.size(),
+                                content.bugFixes.size(), content.systemChanges.size());
+                        return content;
+                    });
+                });
     }
 
     /** Convert ChampionExtractor.ChampionChange to RiotApiService.ChampionChange */
@@ -244,6 +331,7 @@ public class RiotApiService {
             ChampionChange change = new ChampionChange();
             change.name = extractorChange.name;
             change.changes = new ArrayList<>(extractorChange.changes);
+            change.stats = new ArrayList<>(extractorChange.stats);
             converted.add(change);
         }
         logger.debug("Converted {} champion changes from extractor", converted.size());
@@ -257,93 +345,110 @@ public class RiotApiService {
             ItemChange change = new ItemChange();
             change.name = extractorChange.name;
             change.changes = new ArrayList<>(extractorChange.changes);
+            change.stats = new ArrayList<>(extractorChange.stats);
             converted.add(change);
         }
         logger.debug("Converted {} item changes from extractor", converted.size());
         return converted;
     }
 
-    /** Extract overview from document */
-    private void extractOverview(Document doc, PatchContent content) {
-        String[] overviewSelectors = {
-                "p:contains(Welcome to Patch)",
-                ".article-intro p",
-                ".intro-text",
-                "p:first-of-type",
-                "[class*='intro'] p"
-        };
-
-        for (String selector : overviewSelectors) {
-            Elements elements = doc.select(selector);
+    /** Extract overview from document; null when none of the candidates has enough text */
+    public String extractOverview(PatchDocument doc) {
+        // Same candidates as the old CSS selectors, evaluated against the shared index
+        Map<String, Predicate<Element>> overviewSelectors = new LinkedHashMap<>();
+        overviewSelectors.put("p:contains(Welcome to Patch)", element ->
+                element.normalName().equals("p") && doc.lowerText(element).contains("welcome to patch"));
+        overviewSelectors.put(".article-intro p", element ->
+                element.normalName().equals("p") && hasAncestor(element, a -> a.hasClass("article-intro")));
+        overviewSelectors.put(".intro-text", element -> element.hasClass("intro-text"));
+        overviewSelectors.put("p:first-of-type", element ->
+                element.normalName().equals("p") && isFirstOfType(element));
+        overviewSelectors.put("[class*='intro'] p", element ->
+                element.normalName().equals("p") && hasAncestor(element, a -> a.className().toLowerCase().contains("intro")));
+
+        for (Map.Entry<String, Predicate<Element>> selector : overviewSelectors.entrySet()) {
+            Elements elements = doc.find(selector.getValue());
             if (!elements.isEmpty()) {
                 StringBuilder overview = new StringBuilder();
                 for (int i = 0; i < Math.min(3, elements.size()); i++) {
-                    String text = cleanText(elements.get(i).text());
+                    String text = cleanText(doc.text(elements.get(i)));
                     if (text.length() > 20) {
                         overview.append(text).append("\n\n");
                     }
                 }
                 if (overview.length() > 0) {
-                    content.overview = overview.toString().trim();
-                    logger.debug("Extracted overview using selector: {}", selector);
-                    return;
+                    logger.debug("Extracted overview using selector: {}", selector.getKey());
+                    return overview.toString().trim();
                 }
             }
         }
         logger.debug("No overview found");
+        return null;
+    }
+
+    private static boolean hasAncestor(Element element, Predicate<Element> predicate) {
+        for (Element parent = element.parent(); parent != null; parent = parent.parent()) {
+            if (predicate.test(parent)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isFirstOfType(Element element) {
+        for (Element sibling = element.previousElementSibling(); sibling != null; sibling = sibling.previousElementSibling()) {
+            if (sibling.normalName().equals(element.normalName())) return false;
+        }
+        return true;
     }
 
     /** Extract system changes (general changes not specific to champions/items) */
-    private void extractSystemChanges(Document doc, PatchContent content) {
-        // Look for system/gameplay change sections
-        Elements systemSections = doc.select(
-                "h2:contains(System), h3:contains(System), " +
-                        "h2:contains(Gameplay), h3:contains(Gameplay), " +
-                        "h2:contains(Game Systems), h3:contains(Game Systems), " +
-                        "h2:contains(Jungle), h3:contains(Jungle), " +
-                        "h2:contains(Arena), h3:contains(Arena), " +
-                        "h2:contains(ARAM), h3:contains(ARAM)"
-        );
-
-        for (Element section : systemSections) {
-            logger.debug("Processing system section: {}", section.text());
-
-            Element current = section.nextElementSibling();
+    public List<String> extractSystemChanges(PatchDocument doc) {
+        List<String> systemChanges = new ArrayList<>();
+
+        // Look for system/gameplay change sections (h2/h3 headings)
+        List<PatchDocument.Section> systemSections = doc.sectionsContaining(new int[]{2, 3},
+                "system", "gameplay", "game systems", "jungle", "arena", "aram");
+
+        for (PatchDocument.Section systemSection : systemSections) {
+            Element section = systemSection.heading;
+            logger.debug("Processing system section: {}", systemSection.text);
+
+            Element current = doc.nextElementSibling(section);
             int elementsChecked = 0;
 
-            while (current != null && elementsChecked < 20 && !isNewMajorSection(current)) {
-                String text = cleanText(current.text());
+            while (current != null && elementsChecked < 20 && !isNewMajorSection(doc, current)) {
+                String text = cleanText(doc.text(current));
 
                 if (text.length() > 15 && !text.isEmpty()) {
                     // Check if it's a list item or paragraph with system changes
                     if (current.tagName().equals("ul") || current.tagName().equals("ol")) {
-                        Elements listItems = current.select("li");
+                        Elements listItems = doc.select(current, "li");
                         for (Element li : listItems) {
-                            String itemText = cleanText(li.text());
+                            String itemText = cleanText(doc.text(li));
                             if (itemText.length() > 15) {
-                                content.systemChanges.add(itemText);
+                                systemChanges.add(itemText);
                             }
                         }
                     } else if (current.tagName().equals("p") || current.tagName().equals("div")) {
-                        content.systemChanges.add(text);
+                        systemChanges.add(text);
                     }
                 }
 
-                current = current.nextElementSibling();
+                current = doc.nextElementSibling(current);
                 elementsChecked++;
             }
         }
 
-        logger.debug("Extracted {} system changes", content.systemChanges.size());
+        logger.debug("Extracted {} system changes", systemChanges.size());
+        return systemChanges;
     }
 
     /** Check if element represents a new major section */
-    private boolean isNewMajorSection(Element element) {
+    private boolean isNewMajorSection(PatchDocument doc, Element element) {
         if (element == null) return true;
 
         String tagName = element.tagName().toLowerCase();
         if (tagName.equals("h1") || tagName.equals("h2")) {
-            String text = element.text().toLowerCase();
+            String text = doc.lowerText(element);
             return text.contains("champion") || text.contains("item") || text.contains("bug") ||
                     text.contains("upcoming") || text.contains("related") || text.contains("tft") ||
                     text.contains("teamfight tactics");
@@ -352,115 +457,97 @@ public class RiotApiService {
         return false;
     }
 
-    /** Improved URL resolution with multiple strategies */
-    private String resolvePatchNotesUrl(String patchVersion) {
+    /** Improved URL resolution with multiple strategies; completes with null when nothing matches */
+    private CompletableFuture<String> resolvePatchNotesUrlAsync(String patchVersion) {
         logger.debug("Resolving patch notes URL for version: {}", patchVersion);
 
         // Strategy 1: Try direct URL construction
         String directUrl = String.format("Enter Patch Notes URL Pattern Here",
                 patchVersion.replace(".", "-"));
 
-        if (urlExists(directUrl)) {
-            logger.info("Found patch notes using direct URL: {}", directUrl);
-            return directUrl;
-        }
+        return http.existsAsync(directUrl, BROWSER_USER_AGENT)
+                .thenCompose(exists -> {
+                    if (exists) {
+                        logger.info("Found patch notes using direct URL: {}", directUrl);
+                        return CompletableFuture.completedFuture(directUrl);
+                    }
+                    // Strategy 2: Search the patch notes index page
+                    return loadIndexPageAsync().thenApply(scan -> findPatchNotesLink(scan.page(), patchVersion));
+                })
+                .exceptionally(e -> {
+                    logger.error("Error resolving patch notes URL for {}", patchVersion, unwrap(e));
+                    return null;
+                });
+    }
 
-        // Strategy 2: Search the patch notes index page
-        try {
-            Document doc = Jsoup.connect(PATCH_NOTES_INDEX_URL)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .timeout(30000)
-                    .get();
-
-            // Look for links containing the patch version
-            Elements links = doc.select("a[href*='/news/game-updates/']");
-            for (Element link : links) {
-                String href = link.attr("href");
-                String linkText = link.text().toLowerCase();
-
-                // Check if link contains our patch version
-                if (href.contains(patchVersion.replace(".", "-")) ||
-                        linkText.contains(patchVersion) ||
-                        linkText.contains("patch " + patchVersion)) {
-
-                    String fullUrl = href.startsWith("http") ? href : "Enter Base Website URL Here" + href;
-                    logger.info("Found patch notes via search: {}", fullUrl);
-                    return fullUrl;
-                }
+    private String findPatchNotesLink(ConditionalFetcher.FetchResult page, String patchVersion) {
+        // Look for links containing the patch version; the scan stops at the first match
+        String[] firstHref = new String[1];
+        String found = StreamingPages.firstMatch(page.body, page.url, "a[href*='/news/game-updates/']", link -> {
+            String href = link.attr("href");
+            String linkText = link.text().toLowerCase();
+            if (firstHref[0] == null) {
+                firstHref[0] = href;
             }
 
-            // Strategy 3: Get the most recent patch notes (fallback)
-            if (!links.isEmpty()) {
-                String href = links.first().attr("href");
-                String fallbackUrl = href.startsWith("http") ? href : "Enter Base Website URL Here" + href;
-                logger.info("Using most recent patch notes as fallback: {}", fallbackUrl);
-                return fallbackUrl;
+            // Check if link contains our patch version
+            if (href.contains(patchVersion.replace(".", "-")) ||
+                    linkText.contains(patchVersion) ||
+                    linkText.contains("patch " + patchVersion)) {
+                return href;
             }
+            return null;
+        });
 
-        } catch (IOException e) {
-            logger.error("Error resolving patch notes URL for {}", patchVersion, e);
+        if (found != null) {
+            String fullUrl = found.startsWith("http") ? found : "Enter Base Website URL Here" + found;
+            logger.info("Found patch notes via search: {}", fullUrl);
+            return fullUrl;
         }
 
-        return null;
-    }
-
-    /** Check if a URL exists */
-    private boolean urlExists(String url) {
-        try {
-            Request request = new Request.Builder()
-                    .url(url)
-                    .head() // Use HEAD request for efficiency
-                    .addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                return response.isSuccessful();
-            }
-        } catch (IOException e) {
-            return false;
+        // Strategy 3: Get the most recent patch notes (fallback)
+        if (firstHref[0] != null) {
+            String href = firstHref[0];
+            String fallbackUrl = href.startsWith("http") ? href : "Enter Base Website URL Here" + href;
+            logger.info("Using most recent patch notes as fallback: {}", fallbackUrl);
+            return fallbackUrl;
         }
+
+        return null;
     }
 
     /** Get champion data from Riot API */
     public JsonObject getChampionData(String version) {
+        return getChampionDataAsync(version).join();
+    }
+
+    /** Non-blocking form of getChampionData(); completes with null on failure */
+    public CompletableFuture<JsonObject> getChampionDataAsync(String version) {
         String url = BASE_URL + "/cdn/" + version + "/ENTER DATA URL JSON";
-        try {
-            Request request = new Request.Builder()
-                    .url(url)
-                    .addHeader("User-Agent", "LeagueNews-Bot/1.0")
-                    .build();
-            try (Response response = client.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null) {
-                    return gson.fromJson(response.body().string(), JsonObject.class);
-                }
-            }
-        } catch (IOException e) {
-            logger.error("Error fetching champion data for version {}", version, e);
-        }
-        return null;
+
+        return http.getStringAsync(url, API_USER_AGENT)
+                .thenApply(responseBody -> gson.fromJson(responseBody, JsonObject.class))
+                .exceptionally(e -> {
+                    logger.error("Error fetching champion data for version {}", version, unwrap(e));
+                    return null;
+                });
     }
 
-    /** Shutdown all resources */
-    public void shutdown() {
-        client.dispatcher().executorService().shutdown();
-        client.connectionPool().evictAll();
-        logger.info("RiotApiService shutdown completed");
+    // Stages wrap their failure in a CompletionException; log the cause itself
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 
     // Helper methods
     private String cleanText(String text) {
         if (text == null) return "";
-        return text.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("[\\r\\n]+", " ")
-                .trim();
+        return PatchPatterns.collapseWhitespace(text);
     }
 
     private String extractPatchVersion(String fullVersion) {
         if (fullVersion == null) return null;
 
-        Pattern pattern = Pattern.compile("(\\d+\\.\\d+)");
-        Matcher matcher = pattern.matcher(fullVersion);
+        Matcher matcher = PatchPatterns.VERSION_NUMBER.matcher(fullVersion);
         if (matcher.find()) {
             return matcher.group(1);
         }
@@ -493,15 +580,27 @@ public class RiotApiService {
         public List<ItemChange> itemChanges = new ArrayList<>();
         public List<String> systemChanges = new ArrayList<>();
         public List<String> bugFixes = new ArrayList<>();
+        // Extraction phases that failed or timed out; their sections are empty rather than complete
+        public List<String> failedPhases = new ArrayList<>();
+        // Stat record layout of a stored snapshot; set by PatchSnapshotStore when it writes one
+        public int snapshotFormat;
+
+        /** True when a phase failed, so the content must not be stored or announced as final */
+        public boolean isPartial() {
+            return failedPhases != null && !failedPhases.isEmpty();
+        }
     }
 
+    // changes holds the note lines as written; stats the numeric changes parsed from them
     public static class ChampionChange {
         public String name;
         public List<String> changes = new ArrayList<>();
+        public List<StatChange> stats = new ArrayList<>();
     }
 
     public static class ItemChange {
         public String name;
         public List<String> changes = new ArrayList<>();
+        public List<StatChange> stats = new ArrayList<>();
     }
 }
\ No newline at end of file
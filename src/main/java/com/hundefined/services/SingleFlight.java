@@ -0,0 +1,41 @@
+package com.hundefined.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution.
+ *
+ * The first caller for a key runs the loader; everyone arriving while it is still
+ * running gets the same future. The key is released as soon as the call finishes,
+ * so results are never cached here and a failure is not remembered.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /** Share the in-flight future for the key, or start the asynchronous loader; the key is held until its future completes */
+    public CompletableFuture<V> submitAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            loader.get().whenComplete((value, error) -> {
+                // Release the key first, so callers arriving after completion start a fresh load
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(value);
+                }
+            });
+        } catch (Throwable e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hundefined.services;
+
+/**
+ * One numeric stat change from a patch note line, such as
+ * {@code Q - Damage: 55/80/105/130/155 → 50/75/100/125/150}.
+ *
+ * Values are kept per rank; a flat stat has a single rank and a level-scaled range such
+ * as 13-30 has its two ends. The ability is Q, W, E, R or Passive when the line names
+ * one, otherwise null. The unit is "%", "s" or empty. The line is the index of the note
+ * line it was read from, so consumers can tell which lines are covered by a record.
+ */
+public record StatChange(String subject, String ability, String stat,
+                         double[] oldValues, double[] newValues, String unit, int line) {
+
+    /** The same change attributed to another note line */
+    public StatChange withLine(int line) {
+        return new StatChange(subject, ability, stat, oldValues, newValues, unit, line);
+    }
+
+    /** Ranks compared; a single value on one side stands for every rank of the other */
+    public int ranks() {
+        if (oldValues.length == 1 || newValues.length == 1) {
+            return Math.max(oldValues.length, newValues.length);
+        }
+        return Math.min(oldValues.length, newValues.length);
+    }
+
+    public double oldValue(int rank) {
+        return oldValues.length == 1 ? oldValues[0] : oldValues[rank];
+    }
+
+    public double newValue(int rank) {
+        return newValues.length == 1 ? newValues[0] : newValues[rank];
+    }
+
+    /** +1 when more ranks went up than down, -1 for the reverse, 0 when they balance out */
+    public int direction() {
+        int increases = 0;
+        int decreases = 0;
+        for (int i = 0; i < ranks(); i++) {
+            if (newValue(i) > oldValue(i)) increases++;
+            else if (newValue(i) < oldValue(i)) decreases++;
+        }
+        return Integer.compare(increases, decreases);
+    }
+}
@@ -0,0 +1,323 @@
+package com.hundefined.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written scanner that turns patch note lines into StatChange records.
+ *
+ * Each arrow (→ ⇒ ➔ ⟶ ▶) with numbers on both sides is one change; the text between the
+ * previous change and the old values is its label. Level-scaled ranges such as 13-30 are
+ * read as their two ends, like two ranks; a dash with no digit before it is a minus sign,
+ * and a value may start at its decimal point (.7). A ratio group after the values, as in
+ * 60/90 (+50% AP) → 70/100 (+50% AP), is skipped on both sides. The scan is a single pass over the
+ * line: values are read straight into primitive arrays, and only the label is copied out.
+ */
+public final class StatChangeParser {
+    private static final double MAX_WHOLE = 1e15;
+
+    private StatChangeParser() {
+    }
+
+    /** Every stat change in the lines, in order, each with the index of its line */
+    public static List<StatChange> parseAll(String subject, List<String> lines) {
+        List<StatChange> stats = new ArrayList<>();
+        if (lines != null) {
+            for (int i = 0; i < lines.size(); i++) {
+                parseInto(subject, lines.get(i), i, stats);
+            }
+        }
+        return stats;
+    }
+
+    /** Every stat change in one line, in order, as line 0 */
+    public static List<StatChange> parse(String subject, String line) {
+        List<StatChange> stats = new ArrayList<>(2);
+        parseInto(subject, line, 0, stats);
+        return stats;
+    }
+
+    // Append every stat change in the line to the list
+    private static void parseInto(String subject, String line, int index, List<StatChange> out) {
+        if (line == null) return;
+
+        int labelStart = 0;
+        for (int arrow = 0; arrow < line.length(); arrow++) {
+            if (!isArrow(line.charAt(arrow))) continue;
+
+            // Old values end just before the arrow, possibly followed by a unit and a ratio group
+            int oldEnd = skipSpacesBack(line, arrow, labelStart);
+            int groupStart = groupBefore(line, oldEnd, labelStart);
+            if (groupStart >= 0) {
+                oldEnd = skipSpacesBack(line, groupStart, labelStart);
+            }
+            String oldUnit = "";
+            int unitStart = unitBefore(line, oldEnd, labelStart);
+            if (unitStart >= 0) {
+                oldUnit = line.charAt(unitStart) == '%' ? "%" : "s";
+                oldEnd = skipSpacesBack(line, unitStart, labelStart);
+            }
+            int oldStart = valuesStart(line, oldEnd, labelStart);
+            if (oldStart < 0) continue;
+
+            // New values start after the arrow
+            int newStart = skipSpaces(line, arrow + 1);
+            int newEnd = valuesEnd(line, newStart);
+            if (newEnd < 0) continue;
+
+            double[] oldValues = parseValues(line, oldStart, oldEnd);
+            double[] newValues = parseValues(line, newStart, newEnd);
+            if (oldValues == null || newValues == null) continue;
+
+            String newUnit = "";
+            int next = unitAfter(line, newEnd);
+            if (next > newEnd) {
+                newUnit = line.charAt(skipSpaces(line, newEnd)) == '%' ? "%" : "s";
+            }
+            next = groupAfter(line, next);
+
+            out.add(label(subject, line, index, labelStart, oldStart, oldValues, newValues,
+                    !newUnit.isEmpty() ? newUnit : oldUnit));
+            labelStart = next;
+            arrow = next - 1;
+        }
+    }
+
+    private static StatChange label(String subject, String line, int index, int from, int to,
+                                    double[] oldValues, double[] newValues, String unit) {
+        // Only the clause right before the values belongs to this change
+        int start = from;
+        for (int i = to - 1; i >= from; i--) {
+            char c = line.charAt(i);
+            if (c == ';' || c == '|' || c == '•' || c == '\n' ||
+                    (c == '.' && !(i > from && i + 1 < to && isDigit(line.charAt(i - 1)) && isDigit(line.charAt(i + 1))))) {
+                start = i + 1;
+                break;
+            }
+        }
+        int end = to;
+
+        start = skipSeparators(line, start, end);
+        if (subject != null && line.regionMatches(true, start, subject, 0, subject.length())) {
+            start = skipSeparators(line, start + subject.length(), end);
+        }
+
+        String ability = null;
+        if (line.regionMatches(true, start, "Passive", 0, 7) && !isLetterAt(line, start + 7, end)) {
+            ability = "Passive";
+            start = skipSeparators(line, start + 7, end);
+        } else if (start < end && "QWER".indexOf(line.charAt(start)) >= 0 && !isLetterAt(line, start + 1, end)
+                && (start + 1 >= end || line.charAt(start + 1) != '\'')) {
+            ability = String.valueOf(line.charAt(start));
+            start = skipSeparators(line, start + 1, end);
+        }
+
+        while (end > start && isSeparator(line.charAt(end - 1))) end--;
+        return new StatChange(subject, ability, line.substring(start, end), oldValues, newValues, unit, index);
+    }
+
+    // Start of the slash-separated number run ending at end, or -1 when there is none
+    private static int valuesStart(String line, int end, int limit) {
+        if (end <= limit || !isDigit(line.charAt(end - 1))) return -1;
+        int start = end;
+        while (start > limit) {
+            char c = line.charAt(start - 1);
+            if (isDigit(c) || c == '.' || c == '/' ||
+                    (isRangeDash(c) && start - 1 > limit && isDigit(line.charAt(start - 2)) && isDigit(line.charAt(start))) ||
+                    (isMinus(c) && (start - 1 == limit || !isDigit(line.charAt(start - 2))) && startsNumber(line, start))) {
+                start--;
+            } else if (Character.isWhitespace(c)) {
+                // Spaces only belong to the run around a slash: "55 / 80"
+                int before = skipSpacesBack(line, start, limit);
+                if (line.charAt(start) == '/' || (before > limit && line.charAt(before - 1) == '/')) {
+                    start = before;
+                } else {
+                    break;
+                }
+            } else {
+                break;
+            }
+        }
+        while (start < end && !startsNumber(line, start)) start++;
+        return start;
+    }
+
+    // End of the slash-separated number run starting at start, or -1 when there is none
+    private static int valuesEnd(String line, int start) {
+        if (!startsNumber(line, start)) return -1;
+        int end = start;
+        while (end < line.length()) {
+            char c = line.charAt(end);
+            boolean afterDigit = end > start && isDigit(line.charAt(end - 1));
+            if (isDigit(c) || c == '.' || c == '/' ||
+                    (isRangeDash(c) && afterDigit && end + 1 < line.length() && isDigit(line.charAt(end + 1))) ||
+                    (isMinus(c) && !afterDigit && startsNumber(line, end + 1))) {
+                end++;
+            } else if (Character.isWhitespace(c)) {
+                int after = skipSpaces(line, end);
+                if (line.charAt(end - 1) == '/' || (after < line.length() && line.charAt(after) == '/')) {
+                    end = after;
+                } else {
+                    break;
+                }
+            } else {
+                break;
+            }
+        }
+        while (end > start && !isDigit(line.charAt(end - 1))) end--;
+        return end;
+    }
+
+    // Reads "55/80/105" into {55, 80, 105}, "13-30" into {13, 30} and "-5/.5" into {-5, 0.5};
+    // null for malformed runs such as "1..2" or "5//6"
+    private static double[] parseValues(String line, int start, int end) {
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '/' || (isRangeDash(c) && i > start && isDigit(line.charAt(i - 1)))) count++;
+        }
+
+        double[] values = new double[count];
+        int index = 0;
+        double whole = 0;
+        double fraction = 0;
+        double scale = 1;
+        boolean digits = false;
+        boolean dot = false;
+        boolean negative = false;
+
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? line.charAt(i) : '/';
+            if (isDigit(c)) {
+                digits = true;
+                if (dot) {
+                    fraction = fraction * 10 + (c - '0');
+                    scale *= 10;
+                } else {
+                    whole = whole * 10 + (c - '0');
+                    if (whole > MAX_WHOLE) return null;
+                }
+            } else if (c == '.') {
+                if (dot) return null;
+                dot = true;
+            } else if (c == '/' || (isRangeDash(c) && digits)) {
+                if (!digits) return null;
+                double value = whole + fraction / scale;
+                values[index++] = negative ? -value : value;
+                whole = 0;
+                fraction = 0;
+                scale = 1;
+                digits = false;
+                dot = false;
+                negative = false;
+            } else if (isMinus(c)) {
+                if (dot || negative) return null;
+                negative = true;
+            }
+            // Whitespace around slashes is skipped
+        }
+        return values;
+    }
+
+    // Start of a parenthesized group such as "(+50% AP)" ending at end, or -1 when there is none
+    private static int groupBefore(String line, int end, int limit) {
+        if (end <= limit || line.charAt(end - 1) != ')') return -1;
+        for (int i = end - 2; i >= limit; i--) {
+            char c = line.charAt(i);
+            if (c == '(') return i;
+            if (c == ')' || isArrow(c)) return -1;
+        }
+        return -1;
+    }
+
+    // Position after a parenthesized group following start, or start when there is none
+    private static int groupAfter(String line, int start) {
+        int i = skipSpaces(line, start);
+        if (i >= line.length() || line.charAt(i) != '(') return start;
+        for (int j = i + 1; j < line.length(); j++) {
+            char c = line.charAt(j);
+            if (c == ')') return j + 1;
+            if (c == '(' || isArrow(c)) return start;
+        }
+        return start;
+    }
+
+    // Start of a "%", "s", "sec", "second" or "seconds" unit ending at end, or -1
+    private static int unitBefore(String line, int end, int limit) {
+        if (end <= limit) return -1;
+        if (line.charAt(end - 1) == '%') return end - 1;
+
+        int start = end;
+        while (start > limit && Character.isLetter(line.charAt(start - 1))) start--;
+        if (start == end || !isSecondsUnit(line, start, end)) return -1;
+        int before = skipSpacesBack(line, start, limit);
+        return before > limit && isDigit(line.charAt(before - 1)) ? start : -1;
+    }
+
+    // Position after a unit following the values at start, or start when there is none
+    private static int unitAfter(String line, int start) {
+        int i = skipSpaces(line, start);
+        if (i < line.length() && line.charAt(i) == '%') return i + 1;
+
+        int end = i;
+        while (end < line.length() && Character.isLetter(line.charAt(end))) end++;
+        return end > i && isSecondsUnit(line, i, end) ? end : start;
+    }
+
+    private static boolean isSecondsUnit(String line, int start, int end) {
+        int length = end - start;
+        return (length == 1 && (line.charAt(start) == 's' || line.charAt(start) == 'S')) ||
+                (length == 3 && line.regionMatches(true, start, "sec", 0, 3)) ||
+                ((length == 6 || length == 7) && line.regionMatches(true, start, "seconds", 0, length));
+    }
+
+    private static boolean isArrow(char c) {
+        return c == '→' || c == '⇒' || c == '➔' || c == '⟶' || c == '▶';
+    }
+
+    private static boolean isRangeDash(char c) {
+        return c == '-' || c == '–';
+    }
+
+    private static boolean isMinus(char c) {
+        return c == '-' || c == '−';
+    }
+
+    // A digit, or a minus sign or decimal point directly followed by one: "5", "-5", ".5"
+    private static boolean startsNumber(String line, int index) {
+        if (index >= line.length()) return false;
+        char c = line.charAt(index);
+        if (isDigit(c)) return true;
+        if (c == '.' || isMinus(c)) {
+            return index + 1 < line.length() && isDigit(line.charAt(index + 1));
+        }
+        return false;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return Character.isWhitespace(c) || c == ':' || c == '-' || c == '–' || c == '—' || c == ',';
+    }
+
+    private static boolean isLetterAt(String line, int index, int end) {
+        return index < end && Character.isLetter(line.charAt(index));
+    }
+
+    private static int skipSeparators(String line, int start, int end) {
+        while (start < end && isSeparator(line.charAt(start))) start++;
+        return start;
+    }
+
+    private static int skipSpaces(String line, int start) {
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) start++;
+        return start;
+    }
+
+    private static int skipSpacesBack(String line, int end, int limit) {
+        while (end > limit && Character.isWhitespace(line.charAt(end - 1))) end--;
+        return end;
+    }
+}
@@ -0,0 +1,139 @@
+package com.hundefined.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which direction of a stat is good for the champion or item that has it, and how much it counts.
+ *
+ * Each rule names the stats it covers by keyword ("cooldown", "mana cost", "damage taken").
+ * A stat label resolves to the rule whose keyword is the longest whole-word match in it, so
+ * "Damage Taken" picks the damage taken rule over the damage rule, and "Damage Taken Reduction"
+ * the reduction rule over both, no matter the declaration order. Labels no keyword covers fall
+ * back to a weak higher-is-buff rule, which is what most unnamed numbers in patch notes are.
+ */
+public final class StatPolarityTable {
+    public static final int HIGHER_IS_BUFF = 1;
+    public static final int LOWER_IS_BUFF = -1;
+    public static final int NEUTRAL = 0;
+
+    // Resolved labels are few and repeat across every patch; the bound only guards against junk
+    private static final int MAX_RESOLVED = 4096;
+
+    public static final StatPolarityTable DEFAULT = builder()
+            .lowerIsBuff(1.5, "cooldown", "recharge", "recharge time")
+            .lowerIsBuff(1.0, "cost", "mana cost", "energy cost", "health cost", "gold cost",
+                    "damage taken", "cast time", "windup", "delay", "channel time", "lockout")
+            .higherIsBuff(1.5, "damage")
+            .higherIsBuff(1.25, "ad", "ap", "attack damage", "ability power", "health", "hp", "armor",
+                    "magic resist", "magic resistance", "mr", "health growth", "armor growth", "ad growth")
+            .higherIsBuff(1.0, "heal", "healing", "shield", "range", "duration", "attack speed",
+                    "movement speed", "move speed", "ratio", "scaling", "ability haste", "haste",
+                    "regen", "health regen", "mana regen", "lifesteal", "life steal", "omnivamp",
+                    "crit", "critical strike", "penetration", "lethality", "slow", "stun", "root",
+                    "knockup", "damage reduction", "tenacity", "radius", "width", "speed", "charges", "stacks")
+            // Reductions and refunds of a lower-is-buff stat read the other way round
+            .higherIsBuff(1.5, "cooldown reduction", "cooldown refund")
+            .higherIsBuff(1.0, "damage taken reduction", "cost reduction", "mana cost reduction",
+                    "refund", "mana refund", "energy refund", "cost refund")
+            .neutral("shield decay", "decay", "size", "model", "gold value")
+            .fallback(HIGHER_IS_BUFF, 0.5)
+            .build();
+
+    /** A keyword's polarity (HIGHER_IS_BUFF, LOWER_IS_BUFF or NEUTRAL) and weight per fully changed stat */
+    public record Rule(String keyword, int polarity, double weight) {
+    }
+
+    // Longest keyword first, so the first whole-word match is the most specific one
+    private final Rule[] rules;
+    private final Rule fallback;
+    private final ConcurrentHashMap<String, Rule> resolved = new ConcurrentHashMap<>();
+
+    private StatPolarityTable(Builder builder) {
+        List<Rule> sorted = new ArrayList<>(builder.rules);
+        sorted.sort(Comparator.comparingInt((Rule rule) -> rule.keyword().length()).reversed());
+        this.rules = sorted.toArray(new Rule[0]);
+        this.fallback = builder.fallback;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** The rule for a stat label; the fallback rule when no keyword matches */
+    public Rule ruleFor(String stat) {
+        if (stat == null || stat.isEmpty()) return fallback;
+        Rule rule = resolved.get(stat);
+        if (rule == null) {
+            Rule match = match(stat);
+            rule = match != null ? match : fallback;
+            if (resolved.size() < MAX_RESOLVED) {
+                resolved.put(stat, rule);
+            }
+        }
+        return rule;
+    }
+
+    /** The most specific rule mentioned anywhere in free text, or null; not cached */
+    public Rule match(String text) {
+        for (Rule rule : rules) {
+            if (containsWord(text, rule.keyword())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    // Case-insensitive match of the keyword as whole words: "ad" matches "Base AD", not "Shadow"
+    private static boolean containsWord(String text, String keyword) {
+        int length = keyword.length();
+        for (int i = 0; i + length <= text.length(); i++) {
+            if ((i == 0 || !Character.isLetter(text.charAt(i - 1))) &&
+                    (i + length == text.length() || !Character.isLetter(text.charAt(i + length))) &&
+                    text.regionMatches(true, i, keyword, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+        private Rule fallback = new Rule("", NEUTRAL, 0);
+
+        private Builder() {
+        }
+
+        public Builder higherIsBuff(double weight, String... keywords) {
+            return add(HIGHER_IS_BUFF, weight, keywords);
+        }
+
+        public Builder lowerIsBuff(double weight, String... keywords) {
+            return add(LOWER_IS_BUFF, weight, keywords);
+        }
+
+        /** Stats whose direction says nothing about power */
+        public Builder neutral(String... keywords) {
+            return add(NEUTRAL, 0, keywords);
+        }
+
+        /** Rule for labels no keyword covers; neutral unless set */
+        public Builder fallback(int polarity, double weight) {
+            this.fallback = new Rule("", polarity, weight);
+            return this;
+        }
+
+        public StatPolarityTable build() {
+            return new StatPolarityTable(this);
+        }
+
+        private Builder add(int polarity, double weight, String... keywords) {
+            for (String keyword : keywords) {
+                rules.add(new Rule(keyword, polarity, weight));
+            }
+            return this;
+        }
+    }
+}
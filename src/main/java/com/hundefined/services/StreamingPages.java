@@ -0,0 +1,74 @@
+package com.hundefined.services;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * Event-driven parsing for pages where only a part of the document is needed.
+ *
+ * Jsoup's StreamParser emits each element as soon as its end tag is read, so a scan can
+ * stop at the first element it is looking for; nothing after that point is tokenized
+ * and, when reading from a response, nothing after it is downloaded.
+ */
+public final class StreamingPages {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingPages.class);
+
+    // The patch notes body: Riot's container div, or the article holding the notes sections
+    private static final Evaluator NOTES_CONTAINER = QueryParser.parse("#patch-notes-container, article");
+    // A patch notes section heading; an article without one is a card or teaser, not the notes
+    private static final Evaluator NOTES_SECTION = QueryParser.parse(
+            "h2[id^=patch-], h2:containsOwn(champions), h2:containsOwn(items), h2:containsOwn(bugfixes)");
+
+    private StreamingPages() {
+    }
+
+    /**
+     * Stream the elements matching the query in document order and return the first non-null result
+     * of the matcher, or null once the page is exhausted. Parsing stops at the first match.
+     */
+    public static <T> T firstMatch(String html, String baseUri, String query, Function<Element, T> matcher) {
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(html, baseUri)) {
+            Evaluator evaluator = QueryParser.parse(query);
+            for (Element element = parser.selectNext(evaluator); element != null; element = parser.selectNext(evaluator)) {
+                T result = matcher.apply(element);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            // A String source cannot fail to read
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse a patch notes page up to the end of its notes container and stop there; the site chrome,
+     * related articles and page data that follow are never parsed. Pages without a recognizable
+     * container are parsed to the end.
+     */
+    public static Document parsePatchNotes(Reader html, String baseUri) throws IOException {
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(html, baseUri)) {
+            for (Element element = parser.selectNext(NOTES_CONTAINER); element != null; element = parser.selectNext(NOTES_CONTAINER)) {
+                // Skip article cards and other articles closed before or inside the notes
+                if (element.id().equals("patch-notes-container") || element.selectFirst(NOTES_SECTION) != null) {
+                    parser.stop();
+                    return parser.document();
+                }
+            }
+            logger.warn("No patch notes container found on {}, parsed the whole page", baseUri);
+            return parser.document();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.hundefined.tasks;
+
+import com.hundefined.Database.DatabaseManager;
+import com.hundefined.config.BotConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the patch check around the expected release instead of at a fixed rate.
+ *
+ * Inside the release window learned from past patches it polls at the minimum interval;
+ * outside it the interval doubles after every quiet check up to the maximum, but never
+ * sleeps past the start of the next window. Every delay is jittered so restarts and
+ * multiple bots do not hit the site in lockstep.
+ */
+public class AdaptivePollScheduler implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePollScheduler.class);
+    private static final int HISTORY_SIZE = 12;
+    private static final double JITTER = 0.2;
+    // A late patch is still expected any moment, so overdue checks stay fairly frequent
+    private static final Duration OVERDUE_MAX_INTERVAL = Duration.ofMinutes(10);
+    // Without enough history, never wait longer than the old fixed 30 minute schedule
+    private static final Duration NO_HISTORY_MAX_INTERVAL = Duration.ofMinutes(30);
+
+    private final ScheduledExecutorService scheduler;
+    private final PatchNotificationTask task;
+    private final DatabaseManager dbManager;
+    private final Duration minInterval;
+    private final Duration maxInterval;
+
+    private ReleaseCadence cadence;
+    private Duration backoff;
+    private ScheduledFuture<?> nextRun;
+    private volatile boolean stopped;
+
+    public AdaptivePollScheduler(ScheduledExecutorService scheduler, PatchNotificationTask task, DatabaseManager dbManager) {
+        this.scheduler = scheduler;
+        this.task = task;
+        this.dbManager = dbManager;
+        this.minInterval = Duration.ofSeconds(BotConfig.getPollMinSeconds());
+        this.maxInterval = Duration.ofMinutes(BotConfig.getPollMaxMinutes());
+        this.backoff = minInterval;
+    }
+
+    /** Check immediately, then keep rescheduling after each check */
+    public synchronized void start() {
+        refreshCadence();
+        schedule(Duration.ZERO);
+    }
+
+    @Override
+    public void run() {
+        if (stopped) return;
+
+        boolean detected = false;
+        try {
+            detected = task.poll();
+        } catch (Exception e) {
+            logger.error("Error during scheduled patch check", e);
+        }
+
+        try {
+            synchronized (this) {
+                if (detected) {
+                    // The new release moves the next window forward
+                    refreshCadence();
+                    backoff = minInterval;
+                }
+                schedule(jitter(nextDelay(LocalDateTime.now())));
+            }
+        } catch (Exception e) {
+            // Losing the next run would stop patch checks entirely
+            logger.error("Error scheduling next patch check, retrying in {}", maxInterval, e);
+            schedule(maxInterval);
+        }
+    }
+
+    Duration nextDelay(LocalDateTime now) {
+        if (cadence == null) {
+            backoff = min(backoff.multipliedBy(2), min(maxInterval, NO_HISTORY_MAX_INTERVAL));
+            return backoff;
+        }
+
+        if (cadence.isInWindow(now)) {
+            backoff = minInterval;
+            return minInterval;
+        }
+
+        Duration cap = cadence.isOverdue(now) ? min(maxInterval, OVERDUE_MAX_INTERVAL) : maxInterval;
+        backoff = min(backoff.multipliedBy(2), cap);
+
+        // Wake up exactly when the window opens rather than up to one backoff later
+        if (now.isBefore(cadence.getWindowStart())) {
+            Duration untilWindow = Duration.between(now, cadence.getWindowStart());
+            if (untilWindow.compareTo(backoff) < 0) {
+                return max(untilWindow, minInterval);
+            }
+        }
+        return backoff;
+    }
+
+    private void refreshCadence() {
+        try {
+            List<LocalDateTime> releases = new ArrayList<>();
+            for (DatabaseManager.PatchInfo patch : dbManager.getLatestPatches(HISTORY_SIZE)) {
+                releases.add(patch.releaseDate);
+            }
+            cadence = ReleaseCadence.fromHistory(releases);
+
+            if (cadence != null) {
+                logger.info("Next patch {}", cadence);
+            } else {
+                logger.info("Only {} patches in history, polling at most every {} minutes",
+                        releases.size(), min(maxInterval, NO_HISTORY_MAX_INTERVAL).toMinutes());
+            }
+        } catch (Exception e) {
+            logger.error("Error loading patch release history", e);
+        }
+    }
+
+    private synchronized void schedule(Duration delay) {
+        if (stopped) return;
+        nextRun = scheduler.schedule(this, delay.toMillis(), TimeUnit.MILLISECONDS);
+        logger.debug("Next patch check in {} s", delay.toSeconds());
+    }
+
+    private Duration jitter(Duration delay) {
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Duration.ofMillis(Math.max(1000, (long) (delay.toMillis() * factor)));
+    }
+
+    public synchronized void shutdown() {
+        stopped = true;
+        if (nextRun != null) {
+            nextRun.cancel(false);
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
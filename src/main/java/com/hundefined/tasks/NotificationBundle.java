@@ -0,0 +1,133 @@
+package com.hundefined.tasks;
+
+import com.google.gson.Gson;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ordered messages announcing one patch, rendered once and sent unchanged to every channel.
+ *
+ * Embeds are kept as Discord JSON so the bundle can be written to disk or the database
+ * (Java serialization or toJson) and a restarted process can resume delivery without
+ * rendering again.
+ */
+public final class NotificationBundle implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Gson gson = new Gson();
+
+    private final String patchVersion;
+    private final List<Part> parts;
+
+    private NotificationBundle(String patchVersion, List<Part> parts) {
+        this.patchVersion = patchVersion;
+        this.parts = Collections.unmodifiableList(new ArrayList<>(parts));
+    }
+
+    public static Builder builder(String patchVersion) {
+        return new Builder(patchVersion);
+    }
+
+    public String getPatchVersion() {
+        return patchVersion;
+    }
+
+    public List<Part> getParts() {
+        return parts;
+    }
+
+    public String toJson() {
+        return gson.toJson(this);
+    }
+
+    public static NotificationBundle fromJson(String json) {
+        NotificationBundle bundle = gson.fromJson(json, NotificationBundle.class);
+        // Gson bypasses the constructor, so re-wrap the parts as read-only
+        return new NotificationBundle(bundle.patchVersion, bundle.parts);
+    }
+
+    /** A single message: optional text, optional embed and an optional link button */
+    public static final class Part implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String content;
+        private final String embedJson;
+        private final String buttonLabel;
+        private final String buttonUrl;
+
+        // Decoded once per process; not part of the serialized form
+        private transient volatile MessageCreateData message;
+
+        private Part(String content, String embedJson, String buttonLabel, String buttonUrl) {
+            this.content = content;
+            this.embedJson = embedJson;
+            this.buttonLabel = buttonLabel;
+            this.buttonUrl = buttonUrl;
+        }
+
+        private MessageEmbed getEmbed() {
+            return embedJson != null ? EmbedBuilder.fromData(DataObject.fromJson(embedJson)).build() : null;
+        }
+
+        public RestAction<?> sendTo(TextChannel channel) {
+            return channel.sendMessage(toMessage());
+        }
+
+        public MessageCreateData toMessage() {
+            MessageCreateData built = message;
+            if (built == null) {
+                MessageCreateBuilder builder = new MessageCreateBuilder();
+                if (content != null) {
+                    builder.setContent(content);
+                }
+                if (embedJson != null) {
+                    builder.setEmbeds(getEmbed());
+                }
+                if (buttonUrl != null) {
+                    builder.addActionRow(Button.link(buttonUrl, buttonLabel));
+                }
+                built = builder.build();
+                message = built;
+            }
+            return built;
+        }
+    }
+
+    public static final class Builder {
+        private final String patchVersion;
+        private final List<Part> parts = new ArrayList<>();
+
+        private Builder(String patchVersion) {
+            this.patchVersion = patchVersion;
+        }
+
+        public Builder text(String content) {
+            parts.add(new Part(content, null, null, null));
+            return this;
+        }
+
+        public Builder embed(MessageEmbed embed) {
+            parts.add(new Part(null, embed.toData().toString(), null, null));
+            return this;
+        }
+
+        public Builder embedWithLink(MessageEmbed embed, String buttonLabel, String buttonUrl) {
+            parts.add(new Part(null, embed.toData().toString(), buttonLabel, buttonUrl));
+            return this;
+        }
+
+        public NotificationBundle build() {
+            return new NotificationBundle(patchVersion, parts);
+        }
+    }
+}
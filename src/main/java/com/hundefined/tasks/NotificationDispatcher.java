@@ -0,0 +1,173 @@
+package com.hundefined.tasks;
+
+import com.hundefined.Database.DatabaseManager;
+import com.hundefined.services.MetricsService;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Fans a sequence of messages out to many channels concurrently.
+ *
+ * Each channel's messages are chained with submit(), so a channel receives its parts
+ * in order while other channels proceed in parallel. There are no fixed sleeps: JDA's
+ * requester queues every call on its per-route bucket and backs off on 429 and global
+ * limits, and a semaphore caps how many channels are in flight at once.
+ */
+public class NotificationDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final long PROGRESS_INTERVAL_MILLIS = 10_000;
+
+    private final JDA jda;
+    private final int maxConcurrentChannels;
+
+    public NotificationDispatcher(JDA jda, int maxConcurrentChannels) {
+        this.jda = jda;
+        this.maxConcurrentChannels = maxConcurrentChannels;
+    }
+
+    /**
+     * Send the messages built for each subscription's channel and wait for all channels to settle.
+     * A guild counts as delivered once every message of at least one of its channels succeeded.
+     */
+    public DispatchResult dispatch(String label, List<DatabaseManager.ServerSubscription> subscriptions,
+                                   Function<TextChannel, List<RestAction<?>>> messages) {
+        long start = System.nanoTime();
+        Semaphore inFlight = new Semaphore(maxConcurrentChannels);
+        Set<String> deliveredGuilds = ConcurrentHashMap.newKeySet();
+        Map<String, Throwable> failedChannels = new ConcurrentHashMap<>();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger messagesSent = new AtomicInteger();
+        AtomicLong lastProgress = new AtomicLong(start);
+        List<CompletableFuture<?>> channels = new ArrayList<>(subscriptions.size());
+
+        logger.info("Dispatching {} to {} channels ({} at a time)", label, subscriptions.size(), maxConcurrentChannels);
+
+        for (int i = 0; i < subscriptions.size(); i++) {
+            DatabaseManager.ServerSubscription subscription = subscriptions.get(i);
+            TextChannel channel = jda.getTextChannelById(subscription.channelId);
+
+            if (channel == null) {
+                logger.warn("Channel {} not found or bot lacks access in server {}",
+                        subscription.channelId, subscription.guildId);
+                failed.incrementAndGet();
+                failedChannels.put(subscription.channelId, new IllegalStateException("Channel not found or not accessible"));
+                continue;
+            }
+
+            // Wait for a free slot before the channel's first message is submitted
+            inFlight.acquireUninterruptibly();
+
+            // Building the actions can throw (e.g. missing permissions); that only fails this channel
+            CompletableFuture<Void> sending;
+            try {
+                sending = sendInOrder(messages.apply(channel), messagesSent);
+            } catch (RuntimeException e) {
+                sending = CompletableFuture.failedFuture(e);
+            }
+
+            channels.add(sending
+                    .whenComplete((ignored, failure) -> {
+                        inFlight.release();
+
+                        if (failure == null) {
+                            deliveredGuilds.add(subscription.guildId);
+                            completed.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                            failedChannels.put(subscription.channelId, rootCause(failure));
+                            logger.warn("Failed to deliver {} to server {} in channel {}: {}", label,
+                                    subscription.guildId, subscription.channelId, rootMessage(failure));
+                        }
+
+                        logProgress(label, start, lastProgress, completed.get() + failed.get(),
+                                subscriptions.size(), messagesSent.get());
+                    }));
+        }
+
+        CompletableFuture.allOf(channels.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+
+        long elapsedNanos = System.nanoTime() - start;
+        MetricsService metrics = MetricsService.getInstance();
+        metrics.timer("notification.dispatch").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        metrics.counter("notification.channels", "outcome", "delivered").increment(completed.get());
+        metrics.counter("notification.channels", "outcome", "failed").increment(failed.get());
+        metrics.counter("notification.messages").increment(messagesSent.get());
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        logger.info("Dispatched {}: {} channels delivered, {} failed, {} messages in {} ms ({} msg/s)",
+                label, completed.get(), failed.get(), messagesSent.get(), elapsedMillis,
+                String.format("%.1f", messagesSent.get() * 1000.0 / elapsedMillis));
+
+        return new DispatchResult(Set.copyOf(deliveredGuilds), Map.copyOf(failedChannels), completed.get(),
+                failed.get(), messagesSent.get(), elapsedMillis);
+    }
+
+    // Each message starts only after the previous one succeeded; the first failure ends the chain
+    private CompletableFuture<Void> sendInOrder(List<RestAction<?>> actions, AtomicInteger messagesSent) {
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (RestAction<?> action : actions) {
+            chain = chain.thenCompose(previous -> action.submit().thenAccept(sent -> messagesSent.incrementAndGet()));
+        }
+        return chain;
+    }
+
+    private void logProgress(String label, long start, AtomicLong lastProgress, int done, int total, int messagesSent) {
+        long now = System.nanoTime();
+        long last = lastProgress.get();
+        boolean finished = done == total;
+
+        if (!finished && TimeUnit.NANOSECONDS.toMillis(now - last) < PROGRESS_INTERVAL_MILLIS) return;
+        if (!lastProgress.compareAndSet(last, now)) return;
+
+        double elapsedSeconds = Math.max(0.001, (now - start) / 1_000_000_000.0);
+        logger.info("Dispatch progress for {}: {}/{} channels, {} messages ({} channels/s)",
+                label, done, total, messagesSent, String.format("%.1f", done / elapsedSeconds));
+    }
+
+    private static String rootMessage(Throwable failure) {
+        return rootCause(failure).getMessage();
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    public static class DispatchResult {
+        public final Set<String> deliveredGuilds;
+        public final Map<String, Throwable> failedChannels;
+        public final int delivered;
+        public final int failed;
+        public final int messagesSent;
+        public final long elapsedMillis;
+
+        public DispatchResult(Set<String> deliveredGuilds, Map<String, Throwable> failedChannels, int delivered,
+                              int failed, int messagesSent, long elapsedMillis) {
+            this.deliveredGuilds = deliveredGuilds;
+            this.failedChannels = failedChannels;
+            this.delivered = delivered;
+            this.failed = failed;
+            this.messagesSent = messagesSent;
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+}
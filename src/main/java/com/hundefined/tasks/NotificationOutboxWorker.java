@@ -0,0 +1,211 @@
+package com.hundefined.tasks;
+
+import com.hundefined.Database.DatabaseManager;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.exceptions.InsufficientPermissionException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Delivers queued patch notifications from the notification_outbox table.
+ *
+ * Every channel and message part is one row, marked SENT as soon as Discord accepts the
+ * message, so a restart resumes at the first unsent part instead of starting over or
+ * dropping the rest. Failed parts are retried with exponential backoff; channels that
+ * are gone or forbidden are given up on immediately.
+ */
+public class NotificationOutboxWorker implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxWorker.class);
+    private static final int MAX_CONCURRENT_CHANNELS = 25;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final int PENDING_BATCH_SIZE = 10_000;
+
+    private final DatabaseManager dbManager;
+    private final NotificationDispatcher dispatcher;
+    private final Map<Integer, NotificationBundle> bundles = new ConcurrentHashMap<>();
+    // SENT marks are JDBC writes; they run here instead of on JDA's callback thread
+    private final ExecutorService sentMarks = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-sent-marks");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationOutboxWorker(JDA jda, DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.dispatcher = new NotificationDispatcher(jda, MAX_CONCURRENT_CHANNELS);
+    }
+
+    /**
+     * Persist one outbox row per channel and part, then the bundle; nothing is sent until the next drain().
+     * The bundle is written last, so a stored bundle means the patch's notifications were fully queued.
+     */
+    public void enqueue(DatabaseManager.PatchInfo patch, NotificationBundle bundle,
+                        List<DatabaseManager.ServerSubscription> subscriptions) {
+        dbManager.enqueueNotifications(patch.id, subscriptions, bundle.getParts().size());
+        if (dbManager.saveNotificationBundle(patch.id, bundle.toJson())) {
+            bundles.put(patch.id, bundle);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            drain();
+        } catch (Exception e) {
+            logger.error("Error draining notification outbox", e);
+        }
+    }
+
+    /** Send every due part; runs on the worker's own schedule, never on the patch check thread */
+    public synchronized void drain() {
+        while (true) {
+            List<DatabaseManager.OutboxEntry> pending = dbManager.getPendingNotifications(PENDING_BATCH_SIZE);
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            int sent = 0;
+            for (Map.Entry<Integer, Map<String, List<DatabaseManager.OutboxEntry>>> patch : groupByPatchAndChannel(pending).entrySet()) {
+                sent += deliverPatch(patch.getKey(), patch.getValue());
+            }
+
+            // Every page holds only due channels; keep going while a full page made progress
+            if (pending.size() < PENDING_BATCH_SIZE || sent == 0) {
+                return;
+            }
+        }
+    }
+
+    private int deliverPatch(int patchId, Map<String, List<DatabaseManager.OutboxEntry>> channels) {
+        NotificationBundle bundle = loadBundle(patchId);
+        if (bundle == null) {
+            logger.error("No notification bundle stored for patch id {}, leaving {} channels queued", patchId, channels.size());
+            return 0;
+        }
+
+        // A channel is due when its first unsent part is due; later parts always follow it in order
+        LocalDateTime now = LocalDateTime.now();
+        List<DatabaseManager.ServerSubscription> due = new ArrayList<>();
+        for (List<DatabaseManager.OutboxEntry> entries : channels.values()) {
+            DatabaseManager.OutboxEntry first = entries.get(0);
+            if (!first.nextAttemptAt.isAfter(now)) {
+                due.add(new DatabaseManager.ServerSubscription(first.guildId, first.channelId));
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> sentEntries = ConcurrentHashMap.newKeySet();
+        Queue<CompletableFuture<?>> marks = new ConcurrentLinkedQueue<>();
+        NotificationDispatcher.DispatchResult result = dispatcher.dispatch("outbox patch " + bundle.getPatchVersion(), due,
+                channel -> remainingParts(channel, bundle, channels.get(channel.getId()), sentEntries, marks));
+
+        // Retries and the next pass read the outbox, so every SENT mark has to be written first
+        CompletableFuture.allOf(marks.toArray(new CompletableFuture<?>[0])).join();
+
+        for (Map.Entry<String, Throwable> failure : result.failedChannels.entrySet()) {
+            scheduleRetry(patchId, channels.get(failure.getKey()), sentEntries, failure.getValue());
+        }
+
+        int recorded = dbManager.markNotificationsSent(result.deliveredGuilds, patchId);
+        logger.info("Outbox pass for patch {}: {} parts sent, {} channels completed, {} channels failed, {} servers recorded",
+                bundle.getPatchVersion(), sentEntries.size(), result.delivered, result.failed, recorded);
+        return sentEntries.size();
+    }
+
+    // Each part is marked SENT the moment Discord accepts it, so a crash never re-sends it
+    private List<RestAction<?>> remainingParts(TextChannel channel, NotificationBundle bundle,
+                                               List<DatabaseManager.OutboxEntry> entries, Set<Long> sentEntries,
+                                               Queue<CompletableFuture<?>> marks) {
+        List<RestAction<?>> actions = new ArrayList<>(entries.size());
+        for (DatabaseManager.OutboxEntry entry : entries) {
+            NotificationBundle.Part part = bundle.getParts().get(entry.partIndex);
+            actions.add(part.sendTo(channel).onSuccess(message -> {
+                sentEntries.add(entry.id);
+                marks.add(CompletableFuture.runAsync(() -> dbManager.markOutboxSent(entry.id), sentMarks));
+            }));
+        }
+        return actions;
+    }
+
+    private void scheduleRetry(int patchId, List<DatabaseManager.OutboxEntry> entries, Set<Long> sentEntries, Throwable error) {
+        DatabaseManager.OutboxEntry failed = entries.stream()
+                .filter(entry -> !sentEntries.contains(entry.id))
+                .findFirst()
+                .orElse(null);
+        if (failed == null) {
+            return;
+        }
+
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        int attempts = failed.attempts + 1;
+
+        if (isPermanent(error) || attempts >= MAX_ATTEMPTS) {
+            int dropped = dbManager.failOutboxChannel(patchId, failed.channelId, message);
+            logger.warn("Giving up on channel {} after {} attempts ({} parts dropped): {}",
+                    failed.channelId, attempts, dropped, message);
+            return;
+        }
+
+        long backoffSeconds = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << (attempts - 1));
+        dbManager.rescheduleOutbox(failed.id, attempts, LocalDateTime.now().plusSeconds(backoffSeconds), message);
+        logger.info("Retrying channel {} part {} in {} s (attempt {})", failed.channelId, failed.partIndex,
+                backoffSeconds, attempts);
+    }
+
+    private boolean isPermanent(Throwable error) {
+        if (error instanceof InsufficientPermissionException) {
+            return true;
+        }
+        if (error instanceof ErrorResponseException) {
+            ErrorResponse response = ((ErrorResponseException) error).getErrorResponse();
+            return response == ErrorResponse.UNKNOWN_CHANNEL ||
+                    response == ErrorResponse.MISSING_ACCESS ||
+                    response == ErrorResponse.MISSING_PERMISSIONS;
+        }
+        return false;
+    }
+
+    private NotificationBundle loadBundle(int patchId) {
+        NotificationBundle bundle = bundles.get(patchId);
+        if (bundle != null) {
+            return bundle;
+        }
+
+        String json = dbManager.getNotificationBundle(patchId);
+        if (json == null) {
+            return null;
+        }
+
+        bundle = NotificationBundle.fromJson(json);
+        bundles.put(patchId, bundle);
+        return bundle;
+    }
+
+    // Rows arrive ordered by patch, channel and part, so insertion order is delivery order
+    private Map<Integer, Map<String, List<DatabaseManager.OutboxEntry>>> groupByPatchAndChannel(
+            List<DatabaseManager.OutboxEntry> pending) {
+        Map<Integer, Map<String, List<DatabaseManager.OutboxEntry>>> grouped = new LinkedHashMap<>();
+        for (DatabaseManager.OutboxEntry entry : pending) {
+            grouped.computeIfAbsent(entry.patchId, id -> new LinkedHashMap<>())
+                    .computeIfAbsent(entry.channelId, id -> new ArrayList<>())
+                    .add(entry);
+        }
+        return grouped;
+    }
+}
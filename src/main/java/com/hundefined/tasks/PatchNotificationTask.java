@@ -1,10 +1,13 @@
 package com.hundefined.tasks;
 
 import com.hundefined.Database.DatabaseManager;
+import com.hundefined.services.ChangeClassifier;
+import com.hundefined.services.MetricsService;
+import com.hundefined.services.PatchContentCache;
+import com.hundefined.services.PatchSnapshotStore;
 import com.hundefined.services.RiotApiService;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class PatchNotificationTask implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(PatchNotificationTask.class);
@@ -22,39 +26,51 @@ public class PatchNotificationTask implements Runnable {
     private final JDA jda;
     private final DatabaseManager dbManager;
     private final RiotApiService riotApi;
+    private final PatchSnapshotStore snapshotStore;
+    private final NotificationOutboxWorker outbox;
+    private final ChangeClassifier changeClassifier = new ChangeClassifier();
     private volatile boolean running = true;
 
-    public PatchNotificationTask(JDA jda, DatabaseManager dbManager) {
+    public PatchNotificationTask(JDA jda, DatabaseManager dbManager, NotificationOutboxWorker outbox) {
         this.jda = jda;
         this.dbManager = dbManager;
-        this.riotApi = new RiotApiService();
+        this.riotApi = RiotApiService.getInstance();
+        this.snapshotStore = PatchSnapshotStore.getInstance();
+        this.outbox = outbox;
     }
 
     @Override
     public void run() {
+        poll();
+    }
+
+    /** Run one patch check; true when a new patch was detected and stored */
+    public boolean poll() {
         if (!running) {
             logger.debug("Patch notification task is shutting down, skipping execution");
-            return;
+            return false;
         }
 
         try {
             logger.info("Starting patch notification check...");
-            checkForNewPatches();
+            boolean detected = checkForNewPatches();
             logger.info("Patch notification check completed");
+            return detected;
 
         } catch (Exception e) {
             logger.error("Error during patch notification check", e);
+            return false;
         }
     }
 
-    private void checkForNewPatches() {
+    private boolean checkForNewPatches() {
         try {
             // Use the improved method to get current patch version
             String patchVersion = riotApi.getCurrentPatchVersion();
 
             if (patchVersion == null) {
                 logger.warn("Could not determine current patch version");
-                return;
+                return false;
             }
 
             logger.info("Checking for patch version: {}", patchVersion);
@@ -68,7 +84,18 @@ public class PatchNotificationTask implements Runnable {
                 // Fetch full content
                 RiotApiService.PatchContent content = riotApi.fetchPatchContent(patchVersion);
 
+                if (content != null && content.isPartial()) {
+                    // Storing it would mark the patch as done; leave it unsaved so the next poll extracts it again
+                    logger.warn("Patch {} extracted only partially (failed phases: {}), retrying on the next check",
+                            patchVersion, content.failedPhases);
+                    return false;
+                }
+
                 if (content != null && hasValidContent(content)) {
+                    // Keep the parsed content so /latestpatch and the buttons can answer without scraping
+                    snapshotStore.saveLatest(content);
+                    PatchContentCache.getInstance().putLatest(content);
+
                     // Save to database
                     boolean saved = dbManager.savePatch(
                             patchVersion,
@@ -85,9 +112,13 @@ public class PatchNotificationTask implements Runnable {
                         DatabaseManager.PatchInfo newPatch = dbManager.getPatch(patchVersion);
 
                         if (newPatch != null) {
+                            // Store every change line so the patch can be served from the database
+                            dbManager.savePatchNotes(newPatch.id, content);
+
                             // Send notifications with full content
                             sendFullPatchNotifications(newPatch, content);
                         }
+                        return true;
                     } else {
                         logger.warn("Failed to save patch {} to database", patchVersion);
                     }
@@ -109,15 +140,70 @@ public class PatchNotificationTask implements Runnable {
                         if (basicPatch != null) {
                             sendBasicPatchNotifications(basicPatch);
                         }
+                        return true;
                     }
                 }
+            } else if (!dbManager.hasNotificationBundle(existingPatch.id)) {
+                // Saved, but the process stopped before its notifications were queued
+                logger.warn("Patch {} is stored but its notifications were never queued, queueing them now", patchVersion);
+                return resumeNotifications(existingPatch);
             } else {
                 logger.debug("Patch {} already exists in database", patchVersion);
+                refreshSnapshotIfStale(patchVersion);
             }
 
         } catch (Exception e) {
             logger.error("Error checking for new patches", e);
         }
+        return false;
+    }
+
+    // Queue the notifications of a stored patch; guilds already notified are skipped and queued rows are kept
+    private boolean resumeNotifications(DatabaseManager.PatchInfo patch) {
+        RiotApiService.PatchContent content = snapshotStore.get(patch.version);
+        if (content == null) {
+            content = dbManager.loadPatchContent(patch.version);
+        }
+        if (content == null) {
+            content = riotApi.fetchPatchContent(patch.version);
+        }
+
+        if (content != null && content.isPartial()) {
+            logger.warn("Patch {} extracted only partially (failed phases: {}), retrying on the next check",
+                    patch.version, content.failedPhases);
+            return false;
+        }
+
+        if (content != null && hasValidContent(content)) {
+            snapshotStore.saveLatest(content);
+            PatchContentCache.getInstance().putLatest(content);
+            dbManager.savePatchNotes(patch.id, content);
+            sendFullPatchNotifications(patch, content);
+        } else {
+            sendBasicPatchNotifications(patch);
+        }
+        return true;
+    }
+
+    // Known patch but no snapshot for it yet (first run or lost snapshot directory): extract once
+    private void refreshSnapshotIfStale(String patchVersion) {
+        if (patchVersion.equals(snapshotStore.getLatestVersion())) {
+            return;
+        }
+
+        RiotApiService.PatchContent content = snapshotStore.get(patchVersion);
+        if (content == null) {
+            content = dbManager.loadPatchContent(patchVersion);
+        }
+        if (content == null) {
+            logger.info("No snapshot for current patch {}, extracting it once", patchVersion);
+            content = riotApi.fetchPatchContent(patchVersion);
+        }
+
+        if (content != null && !content.isPartial() && hasValidContent(content)) {
+            snapshotStore.saveLatest(content);
+            PatchContentCache.getInstance().putLatest(content);
+        }
     }
 
     private boolean hasValidContent(RiotApiService.PatchContent content) {
@@ -130,161 +216,94 @@ public class PatchNotificationTask implements Runnable {
 
     private void sendFullPatchNotifications(DatabaseManager.PatchInfo patch, RiotApiService.PatchContent content) {
         try {
-            List<DatabaseManager.ServerSubscription> subscriptions = dbManager.getSubscribedServers();
-
-            if (subscriptions.isEmpty()) {
-                logger.info("No servers subscribed to patch notifications");
-                return;
-            }
+            // Queued even with nobody to notify: the stored bundle marks the patch as handled
+            List<DatabaseManager.ServerSubscription> pending = pendingSubscriptions(patch);
+            logger.info("Sending full patch notifications for {} to {} servers", patch.version, pending.size());
 
-            logger.info("Sending full patch notifications for {} to {} servers", patch.version, subscriptions.size());
+            // Rendered once for the whole fan-out and queued durably; the outbox worker sends it on its own thread
+            NotificationBundle bundle = MetricsService.getInstance().timer("notification.render", "kind", "full")
+                    .record(() -> renderFullBundle(patch, content));
+            outbox.enqueue(patch, bundle, pending);
 
-            int successCount = 0;
-            int failCount = 0;
-
-            for (DatabaseManager.ServerSubscription subscription : subscriptions) {
-                try {
-                    if (dbManager.wasNotificationSent(subscription.guildId, patch.id)) {
-                        logger.debug("Notification already sent to server {} for patch {}",
-                                subscription.guildId, patch.version);
-                        continue;
-                    }
+        } catch (Exception e) {
+            logger.error("Error sending patch notifications", e);
+        }
+    }
 
-                    TextChannel channel = jda.getTextChannelById(subscription.channelId);
-
-                    if (channel != null) {
-                        // Send announcement embed first
-                        EmbedBuilder announcementEmbed = createAnnouncementEmbed(patch, content);
-                        channel.sendMessageEmbeds(announcementEmbed.build()).queue(
-                                success -> {
-                                    logger.debug("Sent announcement embed to server {}", subscription.guildId);
-                                },
-                                failure -> logger.warn("Failed to send announcement to server {}: {}",
-                                        subscription.guildId, failure.getMessage())
-                        );
-
-                        // Send patch content messages
-                        List<String> messages = buildPatchNotesMessages(content);
-                        for (int i = 0; i < messages.size(); i++) {
-                            final String msg = messages.get(i);
-                            final int messageIndex = i;
-
-                            // Add delay between messages to avoid rate limits
-                            Thread.sleep(500 * (i + 1));
-
-                            channel.sendMessage(msg).queue(
-                                    msgSuccess -> logger.debug("Sent message {} to server {}",
-                                            messageIndex, subscription.guildId),
-                                    msgFailure -> logger.warn("Failed to send message {} to server {}: {}",
-                                            messageIndex, subscription.guildId, msgFailure.getMessage())
-                            );
-                        }
+    private void sendBasicPatchNotifications(DatabaseManager.PatchInfo patch) {
+        try {
+            List<DatabaseManager.ServerSubscription> pending = pendingSubscriptions(patch);
+            logger.info("Sending basic patch notifications for {} to {} servers", patch.version, pending.size());
 
-                        // Send summary embed with button
-                        Thread.sleep(1000);
-                        EmbedBuilder summaryEmbed = createContentSummaryEmbed(content);
-                        channel.sendMessageEmbeds(summaryEmbed.build())
-                                .setActionRow(
-                                        content.url != null ?
-                                                Button.link(content.url, "📖 View Official Patch Notes") :
-                                                Button.link("ENTER URL",
-                                                        "📖 League Patch Notes")
-                                )
-                                .queue(
-                                        summarySuccess -> {
-                                            // Mark notification as sent only after all messages are sent
-                                            dbManager.markNotificationSent(subscription.guildId, patch.id);
-                                            logger.info("Successfully sent full patch notification to server {} in channel {}",
-                                                    subscription.guildId, subscription.channelId);
-                                        },
-                                        summaryFailure -> logger.warn("Failed to send summary to server {}: {}",
-                                                subscription.guildId, summaryFailure.getMessage())
-                                );
-
-                        successCount++;
-                    } else {
-                        logger.warn("Channel {} not found or bot lacks access in server {}",
-                                subscription.channelId, subscription.guildId);
-                        failCount++;
-                    }
+            NotificationBundle bundle = MetricsService.getInstance().timer("notification.render", "kind", "basic")
+                    .record(() -> renderBasicBundle(patch));
+            outbox.enqueue(patch, bundle, pending);
 
-                    // Rate limiting delay between servers
-                    Thread.sleep(2000);
+        } catch (Exception e) {
+            logger.error("Error sending basic patch notifications", e);
+        }
+    }
 
-                } catch (Exception e) {
-                    logger.error("Error sending notification to server {}: {}",
-                            subscription.guildId, e.getMessage());
-                    failCount++;
-                }
-            }
+    // Announcement, patch notes chunks, then the summary with its link button
+    private NotificationBundle renderFullBundle(DatabaseManager.PatchInfo patch, RiotApiService.PatchContent content) {
+        NotificationBundle.Builder bundle = NotificationBundle.builder(patch.version)
+                .embed(createAnnouncementEmbed(patch, content).build());
 
-            logger.info("Patch notification summary: {} successful, {} failed", successCount, failCount);
+        for (String msg : buildPatchNotesMessages(content)) {
+            bundle.text(msg);
+        }
 
-        } catch (Exception e) {
-            logger.error("Error sending patch notifications", e);
+        if (content.url != null) {
+            bundle.embedWithLink(createContentSummaryEmbed(content).build(), "📖 View Official Patch Notes", content.url);
+        } else {
+            bundle.embedWithLink(createContentSummaryEmbed(content).build(), "📖 League Patch Notes", "ENTER URL");
         }
+        return bundle.build();
     }
 
-    private void sendBasicPatchNotifications(DatabaseManager.PatchInfo patch) {
-        try {
-            List<DatabaseManager.ServerSubscription> subscriptions = dbManager.getSubscribedServers();
-
-            if (subscriptions.isEmpty()) {
-                logger.info("No servers subscribed to patch notifications");
-                return;
-            }
+    private NotificationBundle renderBasicBundle(DatabaseManager.PatchInfo patch) {
+        EmbedBuilder embed = new EmbedBuilder()
+                .setTitle("🎮 New League of Legends Patch Released!")
+                .setDescription("**" + patch.title + "**")
+                .addField("📊 Version", patch.version, true)
+                .addField("📅 Release Date",
+                        patch.releaseDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")), true)
+                .addField("📝 Summary", patch.summary != null ? patch.summary :
+                        "New patch is now live! Check the official patch notes for details.", false)
+                .setColor(Color.GREEN)
+                .setFooter("League Patch Tracker • Use /unsubscribe to stop notifications", null)
+                .setTimestamp(java.time.Instant.now());
 
-            logger.info("Sending basic patch notifications for {} to {} servers", patch.version, subscriptions.size());
+        if (patch.url != null) {
+            return NotificationBundle.builder(patch.version)
+                    .embedWithLink(embed.build(), "📖 View Official Patch Notes", patch.url)
+                    .build();
+        }
+        return NotificationBundle.builder(patch.version)
+                .embedWithLink(embed.build(), "📖 League Patch Notes", "ENTER URL\n")
+                .build();
+    }
 
-            for (DatabaseManager.ServerSubscription subscription : subscriptions) {
-                try {
-                    if (dbManager.wasNotificationSent(subscription.guildId, patch.id)) {
-                        continue;
-                    }
+    // Active subscriptions whose guild has not been notified about this patch yet (one history query)
+    private List<DatabaseManager.ServerSubscription> pendingSubscriptions(DatabaseManager.PatchInfo patch) {
+        List<DatabaseManager.ServerSubscription> subscriptions = dbManager.getSubscribedServers();
 
-                    TextChannel channel = jda.getTextChannelById(subscription.channelId);
-
-                    if (channel != null) {
-                        EmbedBuilder embed = new EmbedBuilder()
-                                .setTitle("🎮 New League of Legends Patch Released!")
-                                .setDescription("**" + patch.title + "**")
-                                .addField("📊 Version", patch.version, true)
-                                .addField("📅 Release Date",
-                                        patch.releaseDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")), true)
-                                .addField("📝 Summary", patch.summary != null ? patch.summary :
-                                        "New patch is now live! Check the official patch notes for details.", false)
-                                .setColor(Color.GREEN)
-                                .setFooter("League Patch Tracker • Use /unsubscribe to stop notifications", null)
-                                .setTimestamp(java.time.Instant.now());
-
-                        channel.sendMessageEmbeds(embed.build())
-                                .setActionRow(
-                                        patch.url != null ?
-                                                Button.link(patch.url, "📖 View Official Patch Notes") :
-                                                Button.link("ENTER URL\n",
-                                                        "📖 League Patch Notes")
-                                )
-                                .queue(
-                                        success -> {
-                                            dbManager.markNotificationSent(subscription.guildId, patch.id);
-                                            logger.info("Sent basic patch notification to server {}", subscription.guildId);
-                                        },
-                                        failure -> logger.warn("Failed to send basic notification to server {}: {}",
-                                                subscription.guildId, failure.getMessage())
-                                );
-
-                        Thread.sleep(1000);
-                    }
+        if (subscriptions.isEmpty()) {
+            logger.info("No servers subscribed to patch notifications");
+            return subscriptions;
+        }
 
-                } catch (Exception e) {
-                    logger.error("Error sending basic notification to server {}: {}",
-                            subscription.guildId, e.getMessage());
-                }
+        Set<String> notifiedGuilds = dbManager.getNotifiedGuilds(patch.id);
+        List<DatabaseManager.ServerSubscription> pending = new ArrayList<>();
+        for (DatabaseManager.ServerSubscription subscription : subscriptions) {
+            if (notifiedGuilds.contains(subscription.guildId)) {
+                logger.debug("Notification already sent to server {} for patch {}",
+                        subscription.guildId, patch.version);
+            } else {
+                pending.add(subscription);
             }
-
-        } catch (Exception e) {
-            logger.error("Error sending basic patch notifications", e);
         }
+        return pending;
     }
 
     private List<String> buildPatchNotesMessages(RiotApiService.PatchContent content) {
@@ -309,7 +328,8 @@ public class PatchNotificationTask implements Runnable {
             for (RiotApiService.ChampionChange champion : content.championChanges) {
                 if (champCount >= 10) break; // Limit champions to avoid spam
 
-                patchNotes.append("\n**").append(champion.name).append("**\n");
+                patchNotes.append("\n").append(ChangeClassifier.icon(changeClassifier.classify(champion)))
+                        .append(" **").append(champion.name).append("**\n");
                 int changeCount = 0;
                 for (String change : champion.changes) {
                     if (changeCount >= 3) break; // Limit changes per champion
@@ -335,7 +355,8 @@ public class PatchNotificationTask implements Runnable {
             for (RiotApiService.ItemChange item : content.itemChanges) {
                 if (itemCount >= 8) break; // Limit items
 
-                patchNotes.append("\n**").append(item.name).append("**\n");
+                patchNotes.append("\n").append(ChangeClassifier.icon(changeClassifier.classify(item)))
+                        .append(" **").append(item.name).append("**\n");
                 int changeCount = 0;
                 for (String change : item.changes) {
                     if (changeCount >= 2) break; // Limit changes per item
@@ -486,9 +507,6 @@ public class PatchNotificationTask implements Runnable {
 
     public void shutdown() {
         running = false;
-        if (riotApi != null) {
-            riotApi.shutdown();
-        }
         logger.info("Patch notification task shutdown completed");
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.hundefined.tasks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Expected release window for the next patch, learned from past release dates.
+ *
+ * The next release is predicted as the last release plus the median gap between
+ * releases. The window around it widens with how irregular the history is, so a
+ * steady two-week cadence gives a tight window and an erratic one a wide window.
+ */
+public final class ReleaseCadence {
+    private static final int MIN_HISTORY = 3;
+    private static final Duration MIN_HALF_WINDOW = Duration.ofHours(12);
+    private static final Duration MAX_HALF_WINDOW = Duration.ofDays(3);
+
+    private final LocalDateTime expected;
+    private final Duration halfWindow;
+    private final Duration medianInterval;
+
+    private ReleaseCadence(LocalDateTime expected, Duration halfWindow, Duration medianInterval) {
+        this.expected = expected;
+        this.halfWindow = halfWindow;
+        this.medianInterval = medianInterval;
+    }
+
+    /** Null when there are too few releases to predict anything */
+    public static ReleaseCadence fromHistory(List<LocalDateTime> releaseDates) {
+        if (releaseDates == null || releaseDates.size() < MIN_HISTORY) {
+            return null;
+        }
+
+        List<LocalDateTime> sorted = new ArrayList<>(releaseDates);
+        Collections.sort(sorted);
+
+        List<Long> gaps = new ArrayList<>();
+        for (int i = 1; i < sorted.size(); i++) {
+            long minutes = Duration.between(sorted.get(i - 1), sorted.get(i)).toMinutes();
+            if (minutes > 0) {
+                gaps.add(minutes);
+            }
+        }
+        if (gaps.size() < MIN_HISTORY - 1) {
+            return null;
+        }
+
+        long median = median(gaps);
+
+        // Median absolute deviation: a hotfix or a skipped patch does not blow the window up
+        List<Long> deviations = new ArrayList<>(gaps.size());
+        for (long gap : gaps) {
+            deviations.add(Math.abs(gap - median));
+        }
+        Duration spread = Duration.ofMinutes(2 * median(deviations));
+
+        Duration halfWindow = spread.compareTo(MIN_HALF_WINDOW) < 0 ? MIN_HALF_WINDOW
+                : spread.compareTo(MAX_HALF_WINDOW) > 0 ? MAX_HALF_WINDOW : spread;
+        LocalDateTime last = sorted.get(sorted.size() - 1);
+
+        return new ReleaseCadence(last.plusMinutes(median), halfWindow, Duration.ofMinutes(median));
+    }
+
+    public LocalDateTime getExpected() {
+        return expected;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return expected.minus(halfWindow);
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return expected.plus(halfWindow);
+    }
+
+    public Duration getMedianInterval() {
+        return medianInterval;
+    }
+
+    public boolean isInWindow(LocalDateTime now) {
+        return !now.isBefore(getWindowStart()) && !now.isAfter(getWindowEnd());
+    }
+
+    /** Past the window without a release: the patch is late, not cancelled */
+    public boolean isOverdue(LocalDateTime now) {
+        return now.isAfter(getWindowEnd());
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "expected " + expected + " (window " + getWindowStart() + " to " + getWindowEnd() +
+                ", every ~" + medianInterval.toHours() + "h)";
+    }
+}
@@ -0,0 +1,138 @@
+package com.hundefined.services;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChangeClassifierTest {
+    private static final double DELTA = 1e-9;
+
+    private final ChangeClassifier classifier = new ChangeClassifier();
+
+    @Test
+    public void scoresParsedStatsOnce() {
+        assertEquals(ChangeClassifier.BUFF, classify("Q - Cooldown: 10/9/8 → 8/7/6"));
+        assertEquals(-1.5, classifier.score(lines("Q - Cooldown: 8 → 10"), stats("Q - Cooldown: 8 → 10")), DELTA);
+    }
+
+    @Test
+    public void scoresWordingOfArrowLinesWithoutStats() {
+        assertEquals(ChangeClassifier.NERF, classify("Q - Mana cost increased → now scales with rank"));
+    }
+
+    @Test
+    public void skipsWordingOnlyOnLinesThatProducedStats() {
+        // The second line has no numbers, so its wording still counts next to the first line's stat
+        List<String> lines = lines("Base AD: 60 → 62", "Attack speed increased");
+
+        assertEquals(1.25 + 0.75, classifier.score(lines, StatChangeParser.parseAll("Ahri", lines)), DELTA);
+    }
+
+    @Test
+    public void readsRatioLinesThroughTheirValues() {
+        assertEquals(ChangeClassifier.BUFF, classify("Q - Damage: 60/90/120 (+50% AP) → 70/100/130 (+50% AP)"));
+    }
+
+    @Test
+    public void lowerIsBuffForCostsAndCooldowns() {
+        assertEquals(ChangeClassifier.BUFF, classify("E - Mana Cost: 70 → 60"));
+        assertEquals(ChangeClassifier.NERF, classify("W - Cooldown: 8/7/6 seconds → 9/8/7 seconds"));
+        assertEquals(ChangeClassifier.NERF, classify("Damage Taken: 10% → 12%"));
+    }
+
+    @Test
+    public void higherIsBuffForReductionsAndRefunds() {
+        assertEquals(ChangeClassifier.BUFF, classify("W - Damage Taken Reduction: 20% → 25%"));
+        assertEquals(ChangeClassifier.NERF, classify("E - Damage Taken Reduction: 35% → 30%"));
+        assertEquals(ChangeClassifier.BUFF, classify("Passive - Cooldown Refund: 10 → 15"));
+        assertEquals(ChangeClassifier.NERF, classify("Cooldown Reduction per Stack: 25% → 20%"));
+        assertEquals(ChangeClassifier.BUFF, classify("E - Mana Refund: 10 → 20"));
+        assertEquals(ChangeClassifier.BUFF, classify("Cost Reduction: 10% → 15%"));
+    }
+
+    @Test
+    public void neutralStatsScoreNothing() {
+        assertEquals(0, classifier.score(single("Shield Decay: 10% → 20%")), DELTA);
+        assertEquals(ChangeClassifier.ADJUSTMENT, classify("Model Size: 1 → 1.1"));
+    }
+
+    @Test
+    public void unknownStatsLeanWeaklyToHigherIsBuff() {
+        assertEquals(0.5, classifier.score(single("Widgets: 1 → 2")), DELTA);
+    }
+
+    @Test
+    public void scoresTheShareOfRanksThatMoved() {
+        // One rank up, one unchanged, one down: no net direction
+        assertEquals(0, classifier.score(single("Damage: 10/10/10 → 12/10/8")), DELTA);
+        // Two of four ranks up
+        assertEquals(1.5 * 2 / 4, classifier.score(single("Damage: 10/10/10/10 → 12/12/10/10")), DELTA);
+    }
+
+    @Test
+    public void appliesASingleValueToEveryRank() {
+        assertEquals(-1.5, classifier.score(single("Cooldown: 10 → 12/11/10.5")), DELTA);
+    }
+
+    @Test
+    public void weightsEarlyRanksWhenConfigured() {
+        ChangeClassifier weighted = new ChangeClassifier(StatPolarityTable.DEFAULT, 2, 1);
+        StatChange stat = single("Damage: 10/10/10 → 12/10/8");
+
+        // (2 * up + 1 * same + 1 * down) / 4, the last weight carrying over to every later rank
+        assertEquals(1.5 * (2 - 1) / 4.0, weighted.score(stat), DELTA);
+        assertEquals(0, classifier.score(stat), DELTA);
+    }
+
+    @Test
+    public void readsWordingThroughTheTable() {
+        assertEquals(ChangeClassifier.NERF, classify("Mana cost increased"));
+        assertEquals(ChangeClassifier.BUFF, classify("Active cooldown lowered to make it easier to use"));
+        assertEquals(ChangeClassifier.NERF, classify("Healing and shielding increase reduced"));
+    }
+
+    @Test
+    public void addsDeveloperIntent() {
+        assertEquals(ChangeClassifier.BUFF, classify("Ahri has been struggling, so she gets a small buff"));
+        assertEquals(ChangeClassifier.NERF, classify("Ahri has been oppressive in pro play"));
+    }
+
+    @Test
+    public void balancedChangesAreAdjustments() {
+        assertEquals(ChangeClassifier.ADJUSTMENT, classify("Ability Power: 75 → 80", "Movement Speed: 8% → 4%"));
+        assertEquals(ChangeClassifier.ADJUSTMENT, classifier.classify(null, null));
+    }
+
+    @Test
+    public void usesACustomTable() {
+        StatPolarityTable table = StatPolarityTable.builder()
+                .lowerIsBuff(2, "size")
+                .build();
+        ChangeClassifier custom = new ChangeClassifier(table);
+
+        assertEquals(2, custom.score(single("Model Size: 1.2 → 1")), DELTA);
+        // Labels the table does not cover are neutral unless a fallback is set
+        assertEquals(0, custom.score(single("Damage: 10 → 20")), DELTA);
+    }
+
+    private String classify(String... lines) {
+        List<String> changes = lines(lines);
+        return classifier.classify(changes, StatChangeParser.parseAll("Ahri", changes));
+    }
+
+    private static List<String> lines(String... lines) {
+        return List.of(lines);
+    }
+
+    private static List<StatChange> stats(String line) {
+        return StatChangeParser.parse("Ahri", line);
+    }
+
+    private static StatChange single(String line) {
+        List<StatChange> stats = stats(line);
+        assertEquals(1, stats.size());
+        return stats.get(0);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hundefined.services;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LruCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void evictsLeastRecentlyUsedByWeight() {
+        LruCache<String, String> cache = LruCache.<String, String>builder("test")
+                .maximumWeight(10, String::length)
+                .ticker(now::get)
+                .build();
+
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.getIfPresent("a");
+        cache.put("c", "cccc");
+
+        assertEquals("aaaa", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("cccc", cache.getIfPresent("c"));
+        assertEquals(8, cache.weight());
+        assertEquals(1, cache.stats().evictions);
+    }
+
+    @Test
+    public void keepsAnEntryHeavierThanTheLimit() {
+        LruCache<String, String> cache = LruCache.<String, String>builder("test")
+                .maximumWeight(3, String::length)
+                .ticker(now::get)
+                .build();
+
+        cache.put("a", "aa");
+        cache.put("b", "bbbbbb");
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("bbbbbb", cache.getIfPresent("b"));
+    }
+
+    @Test
+    public void expiresAfterWrite() {
+        LruCache<String, String> cache = LruCache.<String, String>builder("test")
+                .expireAfterWrite(Duration.ofNanos(100))
+                .ticker(now::get)
+                .build();
+
+        cache.put("a", "value");
+        now.set(99);
+        assertEquals("value", cache.getIfPresent("a"));
+
+        now.set(100);
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertEquals(1, cache.stats().expirations);
+    }
+
+    @Test
+    public void refreshesStaleEntryOnceWhileServingIt() {
+        AtomicInteger loads = new AtomicInteger();
+        List<Runnable> queued = new ArrayList<>();
+        LruCache<String, String> cache = LruCache.<String, String>builder("test")
+                .refreshAfterWrite(Duration.ofNanos(10), key -> key + "-" + loads.incrementAndGet())
+                .refreshExecutor(queued::add)
+                .ticker(now::get)
+                .build();
+
+        cache.put("a", "stale");
+        now.set(10);
+        assertEquals("stale", cache.getIfPresent("a"));
+        assertEquals("stale", cache.getIfPresent("a"));
+        assertEquals(1, queued.size());
+
+        queued.get(0).run();
+        assertEquals(1, loads.get());
+        assertEquals("a-1", cache.getIfPresent("a"));
+        assertEquals(1, cache.stats().refreshes);
+
+        // The reload rewrote the entry, so it is fresh again until the interval passes
+        assertEquals(1, queued.size());
+        now.set(20);
+        cache.getIfPresent("a");
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    public void loadsMissesThroughTheLoader() {
+        AtomicInteger loads = new AtomicInteger();
+        LruCache<String, String> cache = LruCache.<String, String>builder("test")
+                .refreshAfterWrite(Duration.ofHours(1), key -> key + "-" + loads.incrementAndGet())
+                .ticker(now::get)
+                .build();
+
+        assertEquals("a-1", cache.get("a"));
+        assertEquals("a-1", cache.get("a"));
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,140 @@
+package com.hundefined.services;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StatChangeParserTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void readsRanksAbilityAndLabel() {
+        StatChange stat = single("Ahri", "Q - Damage: 55/80/105/130/155 → 50/75/100/125/150");
+
+        assertEquals("Q", stat.ability());
+        assertEquals("Damage", stat.stat());
+        assertArrayEquals(new double[]{55, 80, 105, 130, 155}, stat.oldValues(), DELTA);
+        assertArrayEquals(new double[]{50, 75, 100, 125, 150}, stat.newValues(), DELTA);
+        assertEquals("", stat.unit());
+    }
+
+    @Test
+    public void stripsSubjectAndPassive() {
+        StatChange stat = single("Ahri", "Ahri Passive: Heal: 9 → 12");
+
+        assertEquals("Passive", stat.ability());
+        assertEquals("Heal", stat.stat());
+    }
+
+    @Test
+    public void readsUnitsOnEitherSide() {
+        assertEquals("s", single(null, "W - Cooldown: 12 seconds → 10").unit());
+        assertEquals("%", single(null, "Attack Speed Ratio: 0.625 → 0.658%").unit());
+    }
+
+    @Test
+    public void readsSpacedSlashes() {
+        assertArrayEquals(new double[]{55, 80}, single(null, "Damage: 55 / 80 → 60 / 85").oldValues(), DELTA);
+    }
+
+    @Test
+    public void readsLevelRangesAsTwoValues() {
+        StatChange stat = single(null, "Base Shield: 140-310 → 150–320");
+
+        assertArrayEquals(new double[]{140, 310}, stat.oldValues(), DELTA);
+        assertArrayEquals(new double[]{150, 320}, stat.newValues(), DELTA);
+    }
+
+    @Test
+    public void skipsRatioGroups() {
+        List<StatChange> stats = StatChangeParser.parse(null,
+                "Q - Damage: 60/90/120 (+50% AP) → 70/100/130 (+50% AP); W - Cooldown: 10 → 9");
+
+        assertEquals(2, stats.size());
+        assertEquals("Damage", stats.get(0).stat());
+        assertArrayEquals(new double[]{60, 90, 120}, stats.get(0).oldValues(), DELTA);
+        assertArrayEquals(new double[]{70, 100, 130}, stats.get(0).newValues(), DELTA);
+        assertEquals("", stats.get(0).unit());
+        assertEquals("W", stats.get(1).ability());
+        assertEquals("Cooldown", stats.get(1).stat());
+    }
+
+    @Test
+    public void skipsRatioGroupAfterUnit() {
+        StatChange stat = single(null, "E - Shield: 10% (+2% per 100 AP) → 12% (+2% per 100 AP)");
+
+        assertArrayEquals(new double[]{10}, stat.oldValues(), DELTA);
+        assertArrayEquals(new double[]{12}, stat.newValues(), DELTA);
+        assertEquals("%", stat.unit());
+    }
+
+    @Test
+    public void readsNegativeValues() {
+        StatChange stat = single(null, "Armor Modifier: 5 → -5");
+        assertArrayEquals(new double[]{-5}, stat.newValues(), DELTA);
+
+        stat = single(null, "R - Slow: -20/-30/-40 → −25/−35/−45");
+        assertEquals("R", stat.ability());
+        assertEquals("Slow", stat.stat());
+        assertArrayEquals(new double[]{-20, -30, -40}, stat.oldValues(), DELTA);
+        assertArrayEquals(new double[]{-25, -35, -45}, stat.newValues(), DELTA);
+    }
+
+    @Test
+    public void keepsRangeDashesApartFromMinusSigns() {
+        StatChange stat = single(null, "Q - Damage: -10-20 → 5-25");
+
+        assertEquals("Damage", stat.stat());
+        assertArrayEquals(new double[]{-10, 20}, stat.oldValues(), DELTA);
+        assertArrayEquals(new double[]{5, 25}, stat.newValues(), DELTA);
+    }
+
+    @Test
+    public void readsLeadingDotDecimals() {
+        StatChange stat = single(null, "Bonus AD Ratio: .6 → .7");
+
+        assertEquals("Bonus AD Ratio", stat.stat());
+        assertArrayEquals(new double[]{0.6}, stat.oldValues(), DELTA);
+        assertArrayEquals(new double[]{0.7}, stat.newValues(), DELTA);
+    }
+
+    @Test
+    public void recordsTheLineEachChangeCameFrom() {
+        List<StatChange> stats = StatChangeParser.parseAll("Ahri", List.of(
+                "Ahri is getting more damage",
+                "Q - Damage: 40 → 45; Cooldown: 8 → 7",
+                "W now also grants movement speed",
+                "E - Mana Cost: 60 → 50"));
+
+        assertEquals(3, stats.size());
+        assertEquals(1, stats.get(0).line());
+        assertEquals(1, stats.get(1).line());
+        assertEquals(3, stats.get(2).line());
+    }
+
+    @Test
+    public void ignoresArrowsWithoutNumbers() {
+        assertTrue(StatChangeParser.parse(null, "Now grants stealth → on takedown").isEmpty());
+        assertTrue(StatChangeParser.parse(null, "Damage: 1..2 → 3").isEmpty());
+        assertTrue(StatChangeParser.parse(null, null).isEmpty());
+    }
+
+    @Test
+    public void labelsOnlyTheClauseBeforeTheValues() {
+        StatChange stat = single(null, "Bug fixed. Mana Cost: 50 → 40");
+
+        assertNull(stat.ability());
+        assertEquals("Mana Cost", stat.stat());
+    }
+
+    private static StatChange single(String subject, String line) {
+        List<StatChange> stats = StatChangeParser.parse(subject, line);
+        assertEquals(1, stats.size());
+        return stats.get(0);
+    }
+}